@@ -0,0 +1,30 @@
+package org.onlineshop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the write-behind buffer for cart quantity changes.
+ * While enabled, quantity changes are acknowledged before they reach the database. A crash of the instance
+ * loses the changes of at most the last {@code flushInterval} (plus the time to write one batch);
+ * a graceful shutdown writes everything out. The buffer is local to the instance, so it must stay disabled
+ * when requests of one user can be served by several instances.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "cart.write-behind")
+public class CartWriteBehindConfig {
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+    private static final int DEFAULT_STRIPES = 16;
+    private static final int DEFAULT_MAX_PENDING_ITEMS = 10_000;
+
+    private boolean enabled = false;
+    private Duration flushInterval = DEFAULT_FLUSH_INTERVAL;
+    private int stripes = DEFAULT_STRIPES;
+    private int maxPendingItems = DEFAULT_MAX_PENDING_ITEMS;
+}
@@ -0,0 +1,23 @@
+package org.onlineshop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "catalog.cache")
+public class CatalogCacheConfig {
+    private static final long DEFAULT_MAXIMUM_SIZE = 1000;
+    private static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+    private static final Duration DEFAULT_COUNT_EXPIRE_AFTER_WRITE = Duration.ofMinutes(1);
+
+    private boolean enabled = true;
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private Duration expireAfterWrite = DEFAULT_EXPIRE_AFTER_WRITE;
+    private Duration countExpireAfterWrite = DEFAULT_COUNT_EXPIRE_AFTER_WRITE;
+}
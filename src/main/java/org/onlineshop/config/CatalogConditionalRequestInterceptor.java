@@ -0,0 +1,96 @@
+package org.onlineshop.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.onlineshop.service.cache.CatalogVersion;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Answers conditional GET requests for catalog and category reads from the {@link CatalogVersion} marker.
+ * When the client's copy of the requested URI and parameters is current, a 304 is sent before the controller runs,
+ * so no listing query is executed. Successful responses carry the ETag and Last-Modified headers taken before
+ * the listing was read and {@code Cache-Control: no-cache}, so clients keep the body and revalidate it on the
+ * next request; error responses carry none of them.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class CatalogConditionalRequestInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private static final String VALIDATORS_ATTRIBUTE = CatalogConditionalRequestInterceptor.class.getName() + ".validators";
+
+    private final CatalogVersion catalogVersion;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        CatalogVersion.Validators validators = catalogVersion.validators(resource(request));
+        if (new ServletWebRequest(request).checkNotModified(validators.eTag(), validators.lastModified().toEpochMilli())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            response.setHeader(HttpHeaders.ETAG, validators.eTag());
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, validators.lastModified().toEpochMilli());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            return false;
+        }
+        request.setAttribute(VALIDATORS_ATTRIBUTE, validators);
+        return true;
+    }
+
+    /**
+     * Describes the requested resource by its URI and its parameters sorted by name, so the same listing gets
+     * the same tag whatever the order of the query parameters.
+     */
+    private static String resource(HttpServletRequest request) {
+        StringJoiner resource = new StringJoiner("&", request.getRequestURI() + "?", "")
+                .setEmptyValue(request.getRequestURI());
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            for (String value : values) {
+                resource.add(name + "=" + value);
+            }
+        });
+        return resource.toString();
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Adds the validators taken in {@link #preHandle} to a successful catalog response.
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletRequest.getServletRequest().getAttribute(VALIDATORS_ATTRIBUTE) instanceof CatalogVersion.Validators validators
+                && HttpStatusCode.valueOf(servletResponse.getServletResponse().getStatus()).is2xxSuccessful()) {
+            response.getHeaders().setETag(validators.eTag());
+            response.getHeaders().setLastModified(validators.lastModified());
+            response.getHeaders().setCacheControl(CacheControl.noCache());
+        }
+        return body;
+    }
+}
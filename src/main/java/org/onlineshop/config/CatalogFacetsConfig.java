@@ -0,0 +1,24 @@
+package org.onlineshop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "catalog.facets")
+public class CatalogFacetsConfig {
+    private static final List<BigDecimal> DEFAULT_PRICE_BUCKETS = List.of(
+            BigDecimal.ZERO, BigDecimal.valueOf(25), BigDecimal.valueOf(50),
+            BigDecimal.valueOf(100), BigDecimal.valueOf(250), BigDecimal.valueOf(500));
+
+    /**
+     * Lower bounds of the price buckets; each bucket ends where the next one starts and the last one is open.
+     */
+    private List<BigDecimal> priceBuckets = DEFAULT_PRICE_BUCKETS;
+}
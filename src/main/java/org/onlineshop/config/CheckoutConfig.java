@@ -0,0 +1,32 @@
+package org.onlineshop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the notification stage of the checkout pipeline.
+ * Confirmed orders wait in a queue of {@code notifyQueueCapacity} entries for one of {@code notifyThreads} workers.
+ * An order that could not be queued, or whose instance stopped before notifying, stays in PROCESSING and is
+ * queued again by the recovery scan once it has not been touched for {@code stalledAfter}.
+ * The scan runs on schedule unless {@code recoveryEnabled} is off.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "order.checkout")
+public class CheckoutConfig {
+    private static final int DEFAULT_NOTIFY_THREADS = 2;
+    private static final int DEFAULT_NOTIFY_QUEUE_CAPACITY = 1000;
+    private static final Duration DEFAULT_STALLED_AFTER = Duration.ofMinutes(5);
+    private static final int DEFAULT_RECOVERY_BATCH_SIZE = 100;
+
+    private int notifyThreads = DEFAULT_NOTIFY_THREADS;
+    private int notifyQueueCapacity = DEFAULT_NOTIFY_QUEUE_CAPACITY;
+    private Duration stalledAfter = DEFAULT_STALLED_AFTER;
+    private int recoveryBatchSize = DEFAULT_RECOVERY_BATCH_SIZE;
+    private boolean recoveryEnabled = true;
+}
@@ -0,0 +1,35 @@
+package org.onlineshop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the mail outbox dispatcher.
+ * Due messages are claimed in batches of {@code batchSize} and leased for {@code lease}; a message whose
+ * dispatcher stops before recording the result is claimed again once the lease has run out.
+ * A failed attempt is retried after a backoff that starts at {@code initialBackoff} and doubles up to
+ * {@code maxBackoff}; after {@code maxAttempts} attempts the message is marked FAILED.
+ * With {@code enabled} off, messages are still queued but only delivered when the dispatcher is called directly.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "mail.outbox")
+public class MailOutboxConfig {
+    private static final int DEFAULT_BATCH_SIZE = 50;
+    private static final int DEFAULT_MAX_ATTEMPTS = 5;
+    private static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(30);
+    private static final Duration DEFAULT_LEASE = Duration.ofMinutes(5);
+
+    private boolean enabled = true;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+    private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+    private Duration lease = DEFAULT_LEASE;
+}
@@ -0,0 +1,29 @@
+package org.onlineshop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the pooled SMTP transport.
+ * Up to {@code poolSize} SMTP sessions are kept open and a batch of emails is spread over them.
+ * A session is reopened after {@code maxMessagesPerSession} emails, since many mail servers limit the number
+ * of emails per connection, and when it has been idle for longer than {@code idleTimeout}, since mail servers
+ * drop idle connections.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "mail.transport")
+public class MailTransportConfig {
+    private static final int DEFAULT_POOL_SIZE = 2;
+    private static final int DEFAULT_MAX_MESSAGES_PER_SESSION = 100;
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+    private int poolSize = DEFAULT_POOL_SIZE;
+    private int maxMessagesPerSession = DEFAULT_MAX_MESSAGES_PER_SESSION;
+    private Duration idleTimeout = DEFAULT_IDLE_TIMEOUT;
+}
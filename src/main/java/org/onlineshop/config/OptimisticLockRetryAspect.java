@@ -0,0 +1,120 @@
+package org.onlineshop.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.StaleStateException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries methods annotated with {@link RetryOnOptimisticLock} when they fail with an optimistic-lock conflict.
+ * The aspect runs outside the transaction interceptor, so every attempt gets a new transaction and a fresh
+ * persistence context. Publishes per operation:
+ * <ul>
+ *     <li>{@code optimistic.lock.attempts} - attempts per call; its count is the number of calls</li>
+ *     <li>{@code optimistic.lock.conflicts} - conflicting attempts</li>
+ *     <li>{@code optimistic.lock.retries.exhausted} - calls that still failed after the last attempt</li>
+ * </ul>
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class OptimisticLockRetryAspect {
+
+    private final OptimisticLockRetryConfig config;
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(org.onlineshop.config.RetryOnOptimisticLock)")
+    public Object retryOnConflict(ProceedingJoinPoint point) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return point.proceed();
+        }
+        String operation = point.getSignature().getDeclaringType().getSimpleName() + "." + point.getSignature().getName();
+        int maxAttempts = Math.max(1, config.getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = point.proceed();
+                recordAttempts(operation, attempt);
+                return result;
+            } catch (RuntimeException e) {
+                if (!isConflict(e)) {
+                    recordAttempts(operation, attempt);
+                    throw e;
+                }
+                counter("optimistic.lock.conflicts", "Attempts that failed on an optimistic-lock conflict", operation)
+                        .increment();
+                if (attempt >= maxAttempts) {
+                    recordAttempts(operation, attempt);
+                    counter("optimistic.lock.retries.exhausted",
+                            "Calls that failed on an optimistic-lock conflict in every attempt", operation).increment();
+                    log.warn("{} failed on an optimistic-lock conflict after {} attempts", operation, attempt);
+                    throw e;
+                }
+                log.debug("{} hit an optimistic-lock conflict in attempt {}/{}, retrying",
+                        operation, attempt, maxAttempts);
+                if (!backOff(attempt)) {
+                    recordAttempts(operation, attempt);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sleeps before the next attempt.
+     *
+     * @return false if the thread was interrupted
+     */
+    private boolean backOff(int attempt) {
+        double cap = Math.min(config.getMaxBackoff().toMillis(),
+                config.getInitialBackoff().toMillis() * Math.pow(config.getMultiplier(), attempt - 1));
+        long delay = (long) (cap / 2 + ThreadLocalRandom.current().nextDouble() * cap / 2);
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void recordAttempts(String operation, int attempts) {
+        DistributionSummary.builder("optimistic.lock.attempts")
+                .description("Attempts per call of a write operation retried on optimistic-lock conflicts")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(attempts);
+    }
+
+    private Counter counter(String name, String description, String operation) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static boolean isConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException
+                    || cause instanceof OptimisticLockException
+                    || cause instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
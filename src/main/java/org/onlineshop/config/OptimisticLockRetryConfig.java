@@ -0,0 +1,29 @@
+package org.onlineshop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the retry of write operations that lost an optimistic-lock race.
+ * The n-th retry waits a random time between half and all of {@code initialBackoff * multiplier^(n-1)},
+ * capped at {@code maxBackoff}, so that the competing requests do not collide again in lockstep.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "retry.optimistic-lock")
+public class OptimisticLockRetryConfig {
+    private static final int DEFAULT_MAX_ATTEMPTS = 4;
+    private static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(10);
+    private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMillis(200);
+    private static final double DEFAULT_MULTIPLIER = 2.0;
+
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+    private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+    private double multiplier = DEFAULT_MULTIPLIER;
+}
@@ -0,0 +1,20 @@
+package org.onlineshop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "product.import")
+public class ProductImportConfig {
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int DEFAULT_IMAGE_VALIDATION_CONCURRENCY = 8;
+    private static final int DEFAULT_MAX_REPORTED_ERRORS = 1000;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int imageValidationConcurrency = DEFAULT_IMAGE_VALIDATION_CONCURRENCY;
+    private int maxReportedErrors = DEFAULT_MAX_REPORTED_ERRORS;
+}
@@ -0,0 +1,20 @@
+package org.onlineshop.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional write operation that is run again, in a new transaction, when it fails
+ * because a versioned entity it writes was changed concurrently.
+ * The whole method is repeated, so it must not have side effects outside the database.
+ * Calls that join a transaction started by the caller are not retried here; the outermost
+ * annotated method retries instead. See {@link OptimisticLockRetryAspect}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnOptimisticLock {
+}
@@ -0,0 +1,78 @@
+package org.onlineshop.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache regions backed by Caffeine through JCache.
+ * Every region is created here with its own size and expiry; Hibernate is configured to fail
+ * on regions that are not declared, so no region can silently grow unbounded.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "second-level-cache")
+public class SecondLevelCacheConfig {
+    public static final String CATEGORY_REGION = "category";
+    public static final String CATEGORY_BY_NAME_REGION = "category-by-name";
+    public static final String PRODUCT_REGION = "product";
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private Region category = new Region(500, Duration.ofHours(1));
+    private Region product = new Region(10_000, Duration.ofMinutes(30));
+    private Region query = new Region(1000, Duration.ofMinutes(10));
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("second-level-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(CATEGORY_REGION, category.toConfiguration());
+        cacheManager.createCache(CATEGORY_BY_NAME_REGION, category.toConfiguration());
+        cacheManager.createCache(PRODUCT_REGION, product.toConfiguration());
+        cacheManager.createCache(QUERY_RESULTS_REGION, query.toConfiguration());
+        // update timestamps must outlive every cached query result, so this region is never evicted
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class Region {
+        private long maximumSize;
+        private Duration expireAfterWrite;
+
+        public Region(long maximumSize, Duration expireAfterWrite) {
+            this.maximumSize = maximumSize;
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        private CaffeineConfiguration<Object, Object> toConfiguration() {
+            return new CaffeineConfiguration<>()
+                    .setMaximumSize(OptionalLong.of(maximumSize))
+                    .setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        }
+    }
+}
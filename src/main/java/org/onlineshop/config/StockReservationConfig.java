@@ -0,0 +1,21 @@
+package org.onlineshop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "order.reservation")
+public class StockReservationConfig {
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(30);
+    private static final int DEFAULT_EXPIRY_BATCH_SIZE = 100;
+
+    private Duration ttl = DEFAULT_TTL;
+    private int expiryBatchSize = DEFAULT_EXPIRY_BATCH_SIZE;
+    private boolean expiryEnabled = true;
+}
@@ -0,0 +1,27 @@
+package org.onlineshop.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CatalogConditionalRequestInterceptor catalogConditionalRequestInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogConditionalRequestInterceptor)
+                .addPathPatterns(
+                        "/v1/products",
+                        "/v1/products/cursor",
+                        "/v1/products/getProductsByCriteria/**",
+                        "/v1/products/filter/**",
+                        "/v1/products/facets",
+                        "/v1/products/getAllProductForUser/**",
+                        "/v1/products/getTopFiveProducts",
+                        "/v1/categories");
+    }
+}
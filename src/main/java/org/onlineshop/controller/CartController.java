@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.onlineshop.dto.cart.CartResponseDto;
+import org.onlineshop.dto.cart.CartSummaryDto;
 import org.onlineshop.service.CartService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -68,4 +69,29 @@ public class CartController {
                 .status(HttpStatus.OK)
                 .body(cartService.getCartFullData());
     }
+
+    /**
+     * Retrieves the summary of the current user's cart: the number of items, the subtotal
+     * and the total with discounts applied. The summary is read from the cart alone,
+     * without loading the cart items or their products.
+     *
+     * @return a response entity containing a CartSummaryDto object with an HTTP status of 200 (OK).
+     */
+    @Operation(
+            summary = "Get cart summary",
+            description = "Retrieves the item count, subtotal and discounted total of the current user's shopping cart."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Cart summary retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CartSummaryDto.class))
+            )
+    })
+    @GetMapping("/summary")
+    public ResponseEntity<CartSummaryDto> getCartSummary() {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(cartService.getCartSummary());
+    }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.onlineshop.dto.cart.CartResponseDto;
 import org.onlineshop.dto.cartItem.*;
 import org.onlineshop.service.CartItemService;
 import org.springframework.http.HttpStatus;
@@ -123,6 +124,41 @@ public class CartItemController {
                 .body(cartItemService.updateItemInCart(cartItemUpdateDto));
     }
 
+    /**
+     * Applies a list of add, update and remove operations to the current user's cart in one request.
+     *
+     * @param cartItemBatchRequestDto the operations to apply, in order
+     * @return a response entity containing the resulting cart and an HTTP status of 200 (OK)
+     */
+    @Operation(
+            summary = "Apply several cart changes at once",
+            description = "Applies a list of ADD, UPDATE and REMOVE operations to the current user's shopping cart " +
+                    "in one transaction and returns the resulting cart. If any operation fails, none is applied."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Operations successfully applied",
+                    content = @Content(schema = @Schema(implementation = CartResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request - invalid operation or product not found"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not found - updated or removed product not found in cart"
+            )
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<CartResponseDto> applyCartItemOperations(
+            @Parameter(description = "Cart item operations", required = true)
+            @Valid @RequestBody CartItemBatchRequestDto cartItemBatchRequestDto) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(cartItemService.applyOperations(cartItemBatchRequestDto));
+    }
+
     /**
      * Retrieves all items in the current user's cart.
      *
@@ -128,7 +128,7 @@ public class CategoryController {
     }
 
     /**
-     * Retrieves all categories from the system with pagination.
+     * Retrieves all categories from the system with pagination, together with their product counts.
      *
      * @param page the page number (0-based)
      * @param size the page size
@@ -137,7 +137,8 @@ public class CategoryController {
      */
     @Operation(
             summary = "Get all categories",
-            description = "Retrieves a paginated list of all categories available in the system."
+            description = "Retrieves a paginated list of all categories available in the system, " +
+                    "each with its total and discounted product counts."
     )
     @ApiResponses({
             @ApiResponse(
@@ -8,6 +8,7 @@ import org.onlineshop.dto.ApiError;
 import org.onlineshop.exception.*;
 import org.onlineshop.security.exception.InvalidJwtException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -213,8 +214,8 @@ public class GlobalExceptionHandler {
                 .body(Map.of("message", userMessage));
     }
 
-    @ExceptionHandler(OptimisticLockException.class)
-    public ResponseEntity<Map<String, String>> handleOptimisticLockException(OptimisticLockException ex) {
+    @ExceptionHandler({OptimisticLockException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<Map<String, String>> handleOptimisticLockException(RuntimeException ex) {
         return ResponseEntity
                 .status(HttpStatus.CONFLICT)
                 .body(Map.of("message", "Another user has updated this record since you last retrieved it. " +
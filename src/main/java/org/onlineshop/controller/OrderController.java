@@ -12,6 +12,8 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.onlineshop.dto.order.OrderResponseDto;
+import org.onlineshop.dto.order.OrderStatusResponseDto;
+import org.onlineshop.service.CheckoutService;
 import org.onlineshop.service.OrderService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -20,6 +22,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/v1/orders")
@@ -27,6 +31,7 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final CheckoutService checkoutService;
 
     /**
      * Retrieves an order by its ID.
@@ -176,23 +181,25 @@ public class OrderController {
     }
 
     /**
-     * Confirms payment for an order and sends a confirmation email with a PDF invoice to the user.
+     * Confirms payment for an order. The order is persisted in status PROCESSING and the confirmation email
+     * with a PDF invoice is sent in the background; the order turns PAID once the email is sent.
      * Users can only confirm payment for orders they own.
      * Different payment methods can be used, such as Credit Card, PayPal, or Bank Transfer.
      *
      * @param orderId   the unique identifier of the order for which payment is to be confirmed
      * @param payMethod the payment method used for the transaction, e.g., CREDIT_CARD, PAYPAL, or BANK_TRANSFER
-     * @return a ResponseEntity containing an OrderResponseDto with order details upon successful confirmation
+     * @return a ResponseEntity with HTTP status 202 (Accepted), the order status and its location
      */
     @Operation(
             summary = "Confirm order payment",
-            description = "Confirms payment for an order and sends order confirmation email with PDF invoice. Users can only confirm payment for their own orders."
+            description = "Confirms payment for an order and queues the order confirmation email with PDF invoice. " +
+                    "Poll the returned status location until the order is PAID. Users can only confirm payment for their own orders."
     )
     @ApiResponses({
             @ApiResponse(
-                    responseCode = "200",
-                    description = "Payment successfully confirmed",
-                    content = @Content(schema = @Schema(implementation = OrderResponseDto.class))
+                    responseCode = "202",
+                    description = "Payment accepted, confirmation in progress",
+                    content = @Content(schema = @Schema(implementation = OrderStatusResponseDto.class))
             ),
             @ApiResponse(
                     responseCode = "400",
@@ -205,14 +212,10 @@ public class OrderController {
             @ApiResponse(
                     responseCode = "404",
                     description = "Not found - order not found"
-            ),
-            @ApiResponse(
-                    responseCode = "500",
-                    description = "Internal server error - failed to send confirmation email"
             )
     })
     @PostMapping("/confirm/{orderId}/{payMethod}")
-    public ResponseEntity<OrderResponseDto> confirmOrder(
+    public ResponseEntity<OrderStatusResponseDto> confirmOrder(
             @Parameter(
                     description = "ID of the order to confirm payment for",
                     required = true,
@@ -239,10 +242,50 @@ public class OrderController {
             )
             @PathVariable String payMethod) {
 
-        OrderResponseDto orderResponse = orderService.confirmPayment(orderId, payMethod);
+        OrderStatusResponseDto orderStatus = checkoutService.confirmPayment(orderId, payMethod);
+
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .location(URI.create("/v1/orders/" + orderId + "/status"))
+                .body(orderStatus);
+    }
 
+    /**
+     * Retrieves the current status of an order, e.g. to follow a payment confirmation.
+     * Users can only access the status of orders they own.
+     *
+     * @param orderId the unique identifier of the order
+     * @return a ResponseEntity containing an OrderStatusResponseDto with HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Get order status",
+            description = "Retrieves the status of an order and the time of its last change. Users can only access their own orders."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Order status retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = OrderStatusResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - access to order denied"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not found - order not found"
+            )
+    })
+    @GetMapping("/{orderId}/status")
+    public ResponseEntity<OrderStatusResponseDto> getOrderStatus(
+            @Parameter(
+                    description = "ID of the order",
+                    required = true,
+                    example = "123"
+            )
+            @PathVariable Integer orderId) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(orderResponse);
+                .body(orderService.getOrderStatusDto(orderId));
     }
 }
\ No newline at end of file
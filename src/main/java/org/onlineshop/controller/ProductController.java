@@ -13,21 +13,33 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
+import org.onlineshop.dto.product.ProductBulkDiscountRequestDto;
+import org.onlineshop.dto.product.ProductBulkDiscountResponseDto;
+import org.onlineshop.dto.product.ProductCursorPageDto;
+import org.onlineshop.dto.product.ProductFacetsDto;
+import org.onlineshop.dto.product.ProductFilterRequestDto;
+import org.onlineshop.dto.product.ProductImportReportDto;
 import org.onlineshop.dto.product.ProductRequestDto;
 import org.onlineshop.dto.product.ProductResponseDto;
 import org.onlineshop.dto.product.ProductResponseForUserDto;
+import org.onlineshop.dto.product.ProductSliceDto;
 import org.onlineshop.dto.product.ProductUpdateDto;
+import org.onlineshop.service.ProductImportService;
 import org.onlineshop.service.ProductService;
+import org.onlineshop.service.util.ProductImportReader;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -40,6 +52,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
     /**
      * Adds a new product to the system based on the details provided in the request.
@@ -80,6 +93,43 @@ public class ProductController {
 
     }
 
+    /**
+     * Imports products in bulk from a streamed CSV or NDJSON upload.
+     * CSV uploads must start with a header naming the columns productName, productDescription, productCategory,
+     * productPrice, productDiscountPrice and image; NDJSON uploads contain one product object per line.
+     *
+     * @param body        the raw upload, read row by row
+     * @param contentType {@code text/csv} or {@code application/x-ndjson}
+     * @return a {@code ResponseEntity} with a report of imported and rejected rows
+     */
+    @Operation(
+            summary = "Import products",
+            description = "Streams a CSV or NDJSON upload and creates the products it contains. " +
+                    "Rows that fail validation or already exist are skipped and reported by line. Requires MANAGER or ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import processed",
+                    content = @Content(schema = @Schema(implementation = ProductImportReportDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request - unsupported content type or invalid CSV header"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - insufficient permissions"
+            )
+    })
+    @PostMapping(value = "/import", consumes = {ProductImportReader.CSV_CONTENT_TYPE, ProductImportReader.NDJSON_CONTENT_TYPE})
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<ProductImportReportDto> importProducts(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+        return ResponseEntity.ok(productImportService.importProducts(body, contentType));
+    }
+
     /**
      * Updates an existing product with the specified ID based on the details provided in the update request.
      * Only users with roles 'MANAGER' or 'ADMIN' are authorized to perform this operation.
@@ -192,6 +242,40 @@ public class ProductController {
                 .body(productService.setDiscountPrice(productId, newDiscount));
     }
 
+    /**
+     * Applies one discount to all products selected by category, price band and/or id list in a single update.
+     *
+     * @param request the discount and the product selectors; selectors are combined with AND
+     * @return a {@code ResponseEntity} with the number of updated products
+     */
+    @Operation(
+            summary = "Update product discounts in bulk",
+            description = "Sets the discount of every product matching the given category, price range and/or ids. " +
+                    "Requires MANAGER or ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Discounts successfully updated",
+                    content = @Content(schema = @Schema(implementation = ProductBulkDiscountResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request - invalid discount value or no selector provided"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not found - category not found"
+            )
+    })
+    @PutMapping("/bulkDiscount")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<ProductBulkDiscountResponseDto> updateProductDiscountInBulk(
+            @Parameter(description = "Discount and product selectors", required = true)
+            @Valid @RequestBody ProductBulkDiscountRequestDto request) {
+        return ResponseEntity.ok(productService.setDiscountPriceInBulk(request));
+    }
+
     /**
      * Retrieves a paginated list of all products with full details for Admin or Manager roles.
      * This method is secured and requires the user to have either MANAGER or ADMIN role.
@@ -216,8 +300,8 @@ public class ProductController {
             @Parameter(description = "Page size", example = "20")
             @Min(1) @Max(100) @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "Sort field")
-            @Pattern(regexp = "^(name|price|discountPrice|createdAt|id)$",
-                    message = "Sort field must be one of: name, price, discountPrice, createdAt, id")
+            @Pattern(regexp = "^(name|price|discountPrice|effectivePrice|createdAt|id)$",
+                    message = "Sort field must be one of: name, price, discountPrice, effectivePrice, createdAt, id")
             @RequestParam(defaultValue = "name") String sort,
             @Parameter(description = "Sort direction")
             @Pattern(regexp = "^(asc|desc)$", message = "Sort direction must be 'asc' or 'desc'")
@@ -227,11 +311,48 @@ public class ProductController {
         return ResponseEntity.ok(productService.getAllProducts(pageable));
     }
 
+    /**
+     * Retrieves a keyset page of all products with full details for Admin or Manager roles.
+     * Instead of a page number, the client passes the cursor returned with the previous page,
+     * so deep pages are as fast as the first one.
+     *
+     * @param cursor the cursor from the previous response; omit for the first page
+     * @param size the size of each page (default is 20).
+     * @param sort the field to sort the results by: createdAt, price, effectivePrice or id (default is "createdAt").
+     * @param direction in the direction of sorting, either "asc" or "desc" (default is "desc").
+     * @return a ResponseEntity containing the products of the page and the cursor for the next page.
+     */
+    @Operation(summary = "Get all products with cursor pagination (Admin/Manager)",
+            description = "Retrieves products page by page using an opaque cursor instead of a page number. " +
+                    "Returns nextCursor instead of a total count. Requires MANAGER or ADMIN role.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ProductCursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request - invalid cursor or sort parameters")
+    })
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<ProductCursorPageDto<ProductResponseDto>> getAllProductsForAdminWithCursor(
+            @Parameter(description = "Cursor returned with the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size", example = "20")
+            @Min(1) @Max(100) @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field")
+            @Pattern(regexp = "^(price|effectivePrice|createdAt|id)$",
+                    message = "Sort field must be one of: price, effectivePrice, createdAt, id")
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @Parameter(description = "Sort direction")
+            @Pattern(regexp = "^(asc|desc)$", message = "Sort direction must be 'asc' or 'desc'")
+            @RequestParam(defaultValue = "desc") String direction) {
+
+        return ResponseEntity.ok(productService.getAllProductsWithCursor(cursor, size, sort, Sort.Direction.fromString(direction)));
+    }
+
     /**
      * Retrieves products filtered and sorted by specified criteria.
-     * Available criteria include price, discount, category, name, and createDate.
+     * Available criteria include price, effectivePrice, discount, category, name, and createDate.
      *
-     * @param paramName the name of the filtering criteria (e.g., price, discount, category, name, createDate)
+     * @param paramName the name of the filtering criteria (e.g., price, effectivePrice, discount, category, name, createDate)
      * @param paramValue the value of the filtering criteria. For price, use the format: minPrice-maxPrice (e.g., 100-300)
      * @param sortDirection in the sort direction, either "asc" for ascending or "desc" for descending
      * @param page the page number (0-based index)
@@ -239,7 +360,7 @@ public class ProductController {
      * @return a ResponseEntity containing a pageable list of ProductResponseDto objects that match the specified criteria
      */
     @Operation(summary = "Get products by criteria",
-            description = "Retrieves products filtered and sorted by various criteria. Available criteria: price, discount, category, name, createDate")
+            description = "Retrieves products filtered and sorted by various criteria. Available criteria: price, effectivePrice, discount, category, name, createDate")
     @ApiResponses({
             @ApiResponse(responseCode = "200",
                     description = "Products retrieved successfully",
@@ -249,7 +370,7 @@ public class ProductController {
     })
     @GetMapping("/getProductsByCriteria")
     public ResponseEntity<Page<ProductResponseDto>> getProductsByCriteria(
-            @Parameter(description = "Criteria name: price, discount, category, name, createDate", required = true, examples = {
+            @Parameter(description = "Criteria name: price, effectivePrice, discount, category, name, createDate", required = true, examples = {
                     @ExampleObject(name = "Price range", value = "price"),
                     @ExampleObject(name = "Discount", value = "discount"),
                     @ExampleObject(name = "Category", value = "category")
@@ -273,6 +394,197 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductsByCriteria(paramName, paramValue, pageable));
     }
 
+    /**
+     * Retrieves a slice of products filtered and sorted by specified criteria.
+     * Accepts the same criteria as {@code getProductsByCriteria}, but reports only whether a next page exists
+     * instead of counting all matches.
+     *
+     * @param paramName the name of the filtering criteria (e.g., price, effectivePrice, discount, category, name, createDate)
+     * @param paramValue the value of the filtering criteria. For price, use the format: minPrice-maxPrice (e.g., 100-300)
+     * @param sortDirection in the sort direction, either "asc" for ascending or "desc" for descending
+     * @param page the page number (0-based index)
+     * @param size the number of items per page
+     * @param includeTotal whether to add an approximate total count
+     * @return a ResponseEntity containing a slice of ProductResponseDto objects that match the specified criteria
+     */
+    @Operation(summary = "Get products by criteria without total count",
+            description = "Retrieves a slice of products filtered by criteria. Only tells whether a next page exists; " +
+                    "an approximate total can be requested with includeTotal.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    description = "Products retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ProductSliceDto.class))),
+            @ApiResponse(responseCode = "400",
+                    description = "Bad request - invalid criteria parameters")
+    })
+    @GetMapping("/getProductsByCriteria/slice")
+    public ResponseEntity<ProductSliceDto<ProductResponseDto>> getProductsByCriteriaSlice(
+            @Parameter(description = "Criteria name: price, effectivePrice, discount, category, name, createDate", required = true)
+            @RequestParam String paramName,
+            @Parameter(description = "Criteria value (for price use format: minPrice-maxPrice, e.g., 100-300)", required = true)
+            @RequestParam String paramValue,
+            @Parameter(description = "Sort direction: asc (ascending) or desc (descending)", required = true)
+            @RequestParam String sortDirection,
+            @Parameter(description = "Page number (0-based)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Add an approximate total count") @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortDirection), getSortProperty(paramName)));
+        return ResponseEntity.ok(productService.getProductsByCriteriaSlice(paramName, paramValue, pageable, includeTotal));
+    }
+
+    /**
+     * Retrieves a keyset page of products filtered by specified criteria.
+     * Accepts the same criteria as {@code getProductsByCriteria}, but pages by cursor.
+     *
+     * @param paramName the name of the filtering criteria (e.g., price, effectivePrice, discount, category, name, createDate)
+     * @param paramValue the value of the filtering criteria. For price, use the format: minPrice-maxPrice (e.g., 100-300)
+     * @param sortDirection in the sort direction, either "asc" for ascending or "desc" for descending
+     * @param sort the field to sort by: createdAt, price, effectivePrice or id; derived from the criteria if omitted
+     * @param cursor the cursor from the previous response; omit for the first page
+     * @param size the number of items per page
+     * @return a ResponseEntity containing the matching products of the page and the cursor for the next page
+     */
+    @Operation(summary = "Get products by criteria with cursor pagination",
+            description = "Retrieves products filtered by criteria page by page using an opaque cursor. " +
+                    "Available criteria: price, effectivePrice, discount, category, name, createDate")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    description = "Products retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ProductCursorPageDto.class))),
+            @ApiResponse(responseCode = "400",
+                    description = "Bad request - invalid criteria, cursor or sort parameters")
+    })
+    @GetMapping("/getProductsByCriteria/cursor")
+    public ResponseEntity<ProductCursorPageDto<ProductResponseDto>> getProductsByCriteriaWithCursor(
+            @Parameter(description = "Criteria name: price, effectivePrice, discount, category, name, createDate", required = true)
+            @RequestParam String paramName,
+            @Parameter(description = "Criteria value (for price use format: minPrice-maxPrice, e.g., 100-300)", required = true)
+            @RequestParam String paramValue,
+            @Parameter(description = "Sort direction: asc (ascending) or desc (descending)", required = true)
+            @Pattern(regexp = "^(asc|desc)$", message = "Sort direction must be 'asc' or 'desc'")
+            @RequestParam String sortDirection,
+            @Parameter(description = "Sort field: price, createdAt, id")
+            @Pattern(regexp = "^(price|effectivePrice|createdAt|id)$",
+                    message = "Sort field must be one of: price, effectivePrice, createdAt, id")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size", example = "20")
+            @Min(1) @Max(100) @RequestParam(defaultValue = "20") int size) {
+
+        String sortField = sort != null ? sort : getCursorSortProperty(paramName);
+        return ResponseEntity.ok(productService.getProductsByCriteriaWithCursor(
+                paramName, paramValue, cursor, size, sortField, Sort.Direction.fromString(sortDirection)));
+    }
+
+    /**
+     * Retrieves products matching any combination of category, price range, price range after discount,
+     * discount flag, name fragment and creation date range. All criteria are applied in a single query;
+     * criteria that are not passed are ignored.
+     *
+     * @param filter the filter criteria bound from the query parameters
+     * @param page the page number (0-based index, default is 0)
+     * @param size the number of items per page (default is 20)
+     * @param sort the field to sort the results by (default is "name")
+     * @param direction in the direction of sorting, either "asc" or "desc" (default is "asc")
+     * @return a ResponseEntity containing a pageable list of matching ProductResponseDto objects
+     */
+    @Operation(summary = "Filter products by several criteria",
+            description = "Retrieves products matching all given criteria: category, minPrice, maxPrice, " +
+                    "minEffectivePrice, maxEffectivePrice (price after discount), discounted, " +
+                    "name, createdFrom, createdTo. Dates use ISO format, e.g. 2025-01-31T00:00:00")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    description = "Products retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ProductResponseDto.class))),
+            @ApiResponse(responseCode = "400",
+                    description = "Bad request - invalid filter parameters"),
+            @ApiResponse(responseCode = "404",
+                    description = "Not found - category not found")
+    })
+    @GetMapping("/filter")
+    public ResponseEntity<Page<ProductResponseDto>> getProductsByFilter(
+            @Valid @ModelAttribute ProductFilterRequestDto filter,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @Min(0) @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20")
+            @Min(1) @Max(100) @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field")
+            @Pattern(regexp = "^(name|price|discountPrice|effectivePrice|createdAt|id)$",
+                    message = "Sort field must be one of: name, price, discountPrice, effectivePrice, createdAt, id")
+            @RequestParam(defaultValue = "name") String sort,
+            @Parameter(description = "Sort direction")
+            @Pattern(regexp = "^(asc|desc)$", message = "Sort direction must be 'asc' or 'desc'")
+            @RequestParam(defaultValue = "asc") String direction) {
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(direction), sort));
+        return ResponseEntity.ok(productService.getProductsByFilter(filter, pageable));
+    }
+
+    /**
+     * Retrieves facet counts for the products matching the filter: products per category,
+     * products per price bucket and the number of discounted products.
+     *
+     * @param filter the filter criteria bound from the query parameters
+     * @return a ResponseEntity containing the facet counts
+     */
+    @Operation(summary = "Get product facets",
+            description = "Counts the products matching the given criteria per category, per price bucket " +
+                    "and with a discount. Accepts the same criteria as the filter endpoint.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    description = "Facets retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ProductFacetsDto.class))),
+            @ApiResponse(responseCode = "400",
+                    description = "Bad request - invalid filter parameters"),
+            @ApiResponse(responseCode = "404",
+                    description = "Not found - category not found")
+    })
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetsDto> getProductFacets(@Valid @ModelAttribute ProductFilterRequestDto filter) {
+        return ResponseEntity.ok(productService.getProductFacets(filter));
+    }
+
+    /**
+     * Retrieves a keyset page of products matching any combination of filter criteria.
+     *
+     * @param filter the filter criteria bound from the query parameters
+     * @param cursor the cursor from the previous response; omit for the first page
+     * @param size the number of items per page (default is 20)
+     * @param sort the field to sort by: createdAt, price, effectivePrice or id (default is "createdAt")
+     * @param direction in the direction of sorting, either "asc" or "desc" (default is "desc")
+     * @return a ResponseEntity containing the matching products of the page and the cursor for the next page
+     */
+    @Operation(summary = "Filter products by several criteria with cursor pagination",
+            description = "Same criteria as /filter, paged by an opaque cursor instead of a page number.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    description = "Products retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ProductCursorPageDto.class))),
+            @ApiResponse(responseCode = "400",
+                    description = "Bad request - invalid filter, cursor or sort parameters"),
+            @ApiResponse(responseCode = "404",
+                    description = "Not found - category not found")
+    })
+    @GetMapping("/filter/cursor")
+    public ResponseEntity<ProductCursorPageDto<ProductResponseDto>> getProductsByFilterWithCursor(
+            @Valid @ModelAttribute ProductFilterRequestDto filter,
+            @Parameter(description = "Cursor returned with the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size", example = "20")
+            @Min(1) @Max(100) @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field")
+            @Pattern(regexp = "^(price|effectivePrice|createdAt|id)$",
+                    message = "Sort field must be one of: price, effectivePrice, createdAt, id")
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @Parameter(description = "Sort direction")
+            @Pattern(regexp = "^(asc|desc)$", message = "Sort direction must be 'asc' or 'desc'")
+            @RequestParam(defaultValue = "desc") String direction) {
+
+        return ResponseEntity.ok(productService.getProductsByFilterWithCursor(
+                filter, cursor, size, sort, Sort.Direction.fromString(direction)));
+    }
+
     /**
      * Retrieves a paginated list of all products with user-friendly details,
      * excluding internal IDs and timestamps.
@@ -301,6 +613,70 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductsForUser(pageable));
     }
 
+    /**
+     * Retrieves a slice of products with user-friendly details, without counting all products.
+     *
+     * @param page the page number (0-based index), default is 0
+     * @param size the number of products per page, default is 20
+     * @param sort the field to sort by, default is "name"
+     * @param direction in the direction of sorting, either "asc" or "desc", default is "asc"
+     * @param includeTotal whether to add an approximate total count
+     * @return a ResponseEntity containing a slice of ProductResponseForUserDto objects
+     */
+    @Operation(summary = "Get all products for users without total count",
+            description = "Retrieves a slice of products with user-friendly details. Only tells whether a next page exists; " +
+                    "an approximate total can be requested with includeTotal.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    description = "Products retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ProductSliceDto.class)))
+    })
+    @GetMapping("/getAllProductForUser/slice")
+    public ResponseEntity<ProductSliceDto<ProductResponseForUserDto>> getAllProductForUserSlice(
+            @Parameter(description = "Page number (0-based)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "name") String sort,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Add an approximate total count") @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(direction), sort));
+        return ResponseEntity.ok(productService.getProductsForUserSlice(pageable, includeTotal));
+    }
+
+    /**
+     * Retrieves a keyset page of products with user-friendly details.
+     *
+     * @param cursor the cursor from the previous response; omit for the first page
+     * @param size the number of products per page, default is 20
+     * @param sort the field to sort by: createdAt, price, effectivePrice or id, default is "createdAt"
+     * @param direction in the direction of sorting, either "asc" or "desc", default is "desc"
+     * @return a ResponseEntity containing the products of the page and the cursor for the next page
+     */
+    @Operation(summary = "Get all products for users with cursor pagination",
+            description = "Retrieves products with user-friendly details page by page using an opaque cursor.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    description = "Products retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ProductCursorPageDto.class))),
+            @ApiResponse(responseCode = "400",
+                    description = "Bad request - invalid cursor or sort parameters")
+    })
+    @GetMapping("/getAllProductForUser/cursor")
+    public ResponseEntity<ProductCursorPageDto<ProductResponseForUserDto>> getAllProductForUserWithCursor(
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size", example = "20")
+            @Min(1) @Max(100) @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field")
+            @Pattern(regexp = "^(price|effectivePrice|createdAt|id)$",
+                    message = "Sort field must be one of: price, effectivePrice, createdAt, id")
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @Parameter(description = "Sort direction")
+            @Pattern(regexp = "^(asc|desc)$", message = "Sort direction must be 'asc' or 'desc'")
+            @RequestParam(defaultValue = "desc") String direction) {
+
+        return ResponseEntity.ok(productService.getProductsForUserWithCursor(cursor, size, sort, Sort.Direction.fromString(direction)));
+    }
+
     /**
      * Retrieves the top five products with the highest discounts available for the current day.
      *
@@ -317,8 +693,10 @@ public class ProductController {
                     description = "No discounted products found")
     })
     @GetMapping("/getTopFiveProducts")
-    public ResponseEntity<List<ProductResponseForUserDto>> getTopFiveDiscountedProductsOfTheDay() {
-        return ResponseEntity.ok(productService.getTopFiveDiscountedProductsOfTheDay());
+    public ResponseEntity<byte[]> getTopFiveDiscountedProductsOfTheDay() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(productService.getTopFiveDiscountedProductsOfTheDayJson());
     }
 
     /**
@@ -331,6 +709,7 @@ public class ProductController {
     private String getSortProperty(String paramName) {
         return switch (paramName) {
             case "price" -> "price";
+            case "effectivePrice" -> "effectivePrice";
             case "discount" -> "discountPrice";
             case "category" -> "category.categoryName";
             case "name" -> "name";
@@ -338,4 +717,21 @@ public class ProductController {
             default -> "id";
         };
     }
+
+    /**
+     * Determines the keyset sort property for the given criteria.
+     * Only fields backed by an index that ends with the product id are supported.
+     *
+     * @param paramName the name of the criteria
+     * @return "price" for price criteria, "effectivePrice" for effectivePrice criteria, "createdAt" for createDate,
+     * otherwise "id"
+     */
+    private String getCursorSortProperty(String paramName) {
+        return switch (paramName) {
+            case "price" -> "price";
+            case "effectivePrice" -> "effectivePrice";
+            case "createDate" -> "createdAt";
+            default -> "id";
+        };
+    }
 }
\ No newline at end of file
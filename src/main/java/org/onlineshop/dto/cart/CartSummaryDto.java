@@ -0,0 +1,25 @@
+package org.onlineshop.dto.cart;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class CartSummaryDto {
+
+    @JsonIgnore
+    private Integer cartId;
+
+    private Integer itemCount;
+
+    private BigDecimal subtotal;
+
+    private BigDecimal discountedTotal;
+}
@@ -0,0 +1,22 @@
+package org.onlineshop.dto.cartItem;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class CartItemBatchRequestDto {
+
+    @NotEmpty(message = "Operations cannot be empty")
+    @Size(max = 100, message = "No more than 100 operations are allowed in one request")
+    private List<@Valid CartItemOperationDto> operations;
+}
@@ -0,0 +1,31 @@
+package org.onlineshop.dto.cartItem;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class CartItemOperationDto {
+
+    public enum Type {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+
+    @NotNull(message = "Operation type cannot be null")
+    private Type type;
+
+    @NotNull(message = "Product ID cannot be null")
+    @Min(value = 1, message = "Product ID must be at least 1")
+    private Integer productId;
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+}
@@ -0,0 +1,19 @@
+package org.onlineshop.dto.category;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryProductCountDto {
+
+    private Integer categoryId;
+
+    private long products;
+
+    private long discountedProducts;
+}
@@ -17,4 +17,8 @@ public class CategoryResponseDto {
 
     private String image;
 
+    private Long productCount;
+
+    private Long discountedProductCount;
+
 }
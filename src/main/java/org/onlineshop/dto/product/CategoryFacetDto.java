@@ -0,0 +1,17 @@
+package org.onlineshop.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryFacetDto {
+
+    private String categoryName;
+
+    private long products;
+}
@@ -0,0 +1,24 @@
+package org.onlineshop.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceBucketFacetDto {
+
+    private BigDecimal fromPrice;
+
+    /**
+     * Exclusive upper bound; null for the last bucket.
+     */
+    private BigDecimal toPrice;
+
+    private long products;
+}
@@ -0,0 +1,36 @@
+package org.onlineshop.dto.product;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkDiscountRequestDto {
+
+    @NotNull(message = "Discount price cannot be null")
+    @DecimalMin(value = "0", message = "Discount price cannot be negative")
+    @DecimalMax(value = "100", message = "Discount price cannot be greater than 100%")
+    private BigDecimal discountPrice;
+
+    private String category;
+
+    @DecimalMin(value = "0", message = "Minimum price cannot be negative")
+    private BigDecimal minPrice;
+
+    @DecimalMin(value = "0", message = "Maximum price cannot be negative")
+    private BigDecimal maxPrice;
+
+    @Size(max = 1000, message = "No more than 1000 product ids can be updated at once")
+    private List<Integer> productIds;
+}
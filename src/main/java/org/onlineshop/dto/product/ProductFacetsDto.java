@@ -0,0 +1,23 @@
+package org.onlineshop.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsDto {
+
+    private long totalProducts;
+
+    private long discountedProducts;
+
+    private List<CategoryFacetDto> categories;
+
+    private List<PriceBucketFacetDto> priceBuckets;
+}
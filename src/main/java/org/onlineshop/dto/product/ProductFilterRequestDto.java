@@ -0,0 +1,44 @@
+package org.onlineshop.dto.product;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterRequestDto {
+
+    private String category;
+
+    @DecimalMin(value = "0", message = "Minimum price cannot be negative")
+    private BigDecimal minPrice;
+
+    @DecimalMin(value = "0", message = "Maximum price cannot be negative")
+    private BigDecimal maxPrice;
+
+    @DecimalMin(value = "0", message = "Minimum effective price cannot be negative")
+    private BigDecimal minEffectivePrice;
+
+    @DecimalMin(value = "0", message = "Maximum effective price cannot be negative")
+    private BigDecimal maxEffectivePrice;
+
+    private Boolean discounted;
+
+    @Size(max = 50, message = "Name fragment must be less than 50 characters")
+    private String name;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+}
@@ -0,0 +1,25 @@
+package org.onlineshop.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportReportDto {
+
+    private long totalRows;
+
+    private long importedRows;
+
+    private long failedRows;
+
+    private List<ProductImportErrorDto> errors;
+
+    private boolean errorsTruncated;
+}
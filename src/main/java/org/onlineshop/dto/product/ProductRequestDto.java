@@ -1,6 +1,8 @@
 package org.onlineshop.dto.product;
 
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -29,9 +31,13 @@ public class ProductRequestDto {
 
     @NotNull(message = "Discount price cannot be null")
     @DecimalMin(value = "0", message = "Discount price cannot be negative")
+    @DecimalMax(value = "100.00", message = "Discount price cannot be greater than 100%")
     private BigDecimal productDiscountPrice;
 
     @NotBlank(message = "Image URL cannot be null or Blank")
     @Size(max = 256, message = "Image URL must be less than 256 characters")
     private String image;
+
+    @Min(value = 0, message = "Stock cannot be negative")
+    private Integer productStock;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package org.onlineshop.dto.product;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class ProductResponseDto {
 
     private Integer productId;
@@ -22,6 +24,8 @@ public class ProductResponseDto {
 
     private BigDecimal productDiscountPrice;
 
+    private Integer productStock;
+
     private String image;
 
     private LocalDateTime createdAt;
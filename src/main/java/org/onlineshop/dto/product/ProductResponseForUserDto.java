@@ -1,5 +1,6 @@
 package org.onlineshop.dto.product;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -7,6 +8,7 @@ import java.math.BigDecimal;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class ProductResponseForUserDto {
 
     private String productName;
@@ -0,0 +1,21 @@
+package org.onlineshop.dto.product;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ProductSliceDto<T> {
+
+    private List<T> content;
+
+    private int page;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private Long approximateTotal;
+}
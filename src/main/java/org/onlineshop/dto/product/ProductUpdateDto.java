@@ -2,6 +2,7 @@ package org.onlineshop.dto.product;
 
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
@@ -32,4 +33,7 @@ public class ProductUpdateDto {
     @Size(max = 256, message = "Image URL must be less than 256 characters")
     private String image;
 
+    @Min(value = 0, message = "Stock cannot be negative")
+    private Integer productStock;
+
 }
@@ -2,7 +2,9 @@ package org.onlineshop.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -28,4 +30,21 @@ public class Cart {
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private Set<CartItem> cartItems = new HashSet<>();
+
+    /*
+     * Summary of the cart items, maintained by CartRepository statements in the transactions that change
+     * the items or the prices of their products. Never written by entity updates.
+     */
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer itemCount;
+
+    @ColumnDefault("0")
+    @Column(precision = 12, scale = 2, nullable = false, insertable = false, updatable = false)
+    private BigDecimal subtotal;
+
+    @ColumnDefault("0")
+    @Column(precision = 12, scale = 2, nullable = false, insertable = false, updatable = false)
+    private BigDecimal discountedTotal;
 }
@@ -3,6 +3,11 @@ package org.onlineshop.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.onlineshop.config.SecondLevelCacheConfig;
 import org.hibernate.validator.constraints.URL;
 
 import java.util.ArrayList;
@@ -15,6 +20,8 @@ import java.util.List;
 @Table
 @Entity
 @ToString(exclude = "products")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CATEGORY_REGION)
+@NaturalIdCache(region = SecondLevelCacheConfig.CATEGORY_BY_NAME_REGION)
 public class Category {
 
     @Id
@@ -22,6 +29,7 @@ public class Category {
     private Integer categoryId;
 
     @Size(min = 3, max = 20, message = "Category name must be between 3 and 20 characters")
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     private String categoryName;
 
@@ -51,6 +51,12 @@ public class Order {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    /**
+     * True while the order holds stock taken at checkout that has to be returned if the order is cancelled.
+     */
+    @Column(nullable = false)
+    private boolean stockReserved;
+
     @ToString.Exclude
     @Builder.Default
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
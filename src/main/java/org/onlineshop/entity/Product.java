@@ -4,12 +4,17 @@ package org.onlineshop.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GeneratedColumn;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.validator.constraints.URL;
+import org.onlineshop.config.SecondLevelCacheConfig;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -20,7 +25,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString(exclude = "category")
-@Table(name = "products")
+@Table(name = "products",
+        uniqueConstraints = @UniqueConstraint(name = "idx_product_name_category_unique", columnNames = {"name", "category_id"}))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PRODUCT_REGION)
 public class Product {
 
     @Id
@@ -53,6 +60,23 @@ public class Product {
     @DecimalMax(value = "100.00", message = "Discount price cannot be greater than 100%")
     private BigDecimal discountPrice;
 
+    /**
+     * The price after discount, maintained by the database from {@code price} and {@code discount_price}
+     * with the rounding of {@code PriceCalculator}, so listings can be filtered and sorted by it.
+     */
+    @GeneratedColumn("round(price * (100 - coalesce(discount_price, 0)) / 100, 2)")
+    @Column(precision = 10, scale = 2, insertable = false, updatable = false)
+    private BigDecimal effectivePrice;
+
+    /**
+     * Units available for sale; null if the product's inventory is not tracked.
+     * Not written by entity updates: the stock is only changed by the single-row statements of
+     * {@code StockReservationService}, so an edit based on a stale copy cannot overwrite reservations.
+     */
+    @Min(0)
+    @Column(updatable = false)
+    private Integer stock;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -3,12 +3,67 @@ package org.onlineshop.repository;
 import org.onlineshop.entity.Cart;
 import org.onlineshop.entity.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface CartItemRepository extends JpaRepository<CartItem,Integer> {
+public interface CartItemRepository extends JpaRepository<CartItem,Integer>, CartItemRepositoryCustom {
 
     List<CartItem> findByCart(Cart cart);//показать содержимое корзие
     Optional<CartItem> findByCartAndProduct(Cart cart, CartItem cartItem);//проверить если уже такой товар в корзине
+
+    /**
+     * Adds a product to the cart of the user with the given email in a single statement.
+     * A new cart item is inserted, or, if the cart already holds the product, the quantity is added to the
+     * existing one; the unique constraint {@code uq_cart_items_cart_product} makes concurrent adds of the
+     * same product serialize on the row instead of creating duplicates.
+     * The same statement adds the quantity to the summary of the cart.
+     * A missing product violates the foreign key of {@code product_id}.
+     *
+     * @param email     the email of the cart owner
+     * @param productId the product to add
+     * @param quantity  the quantity to add
+     * @return the product name and the resulting quantity, or empty if the user has no cart
+     */
+    @Query(value = """
+            WITH added AS (
+                INSERT INTO cart_items (cart_id, product_id, quantity, version)
+                SELECT u.cart_id, :productId, :quantity, 0
+                FROM users u
+                WHERE u.email = :email AND u.cart_id IS NOT NULL
+                ON CONFLICT (cart_id, product_id)
+                DO UPDATE SET quantity = cart_items.quantity + EXCLUDED.quantity,
+                              version = cart_items.version + 1
+                RETURNING cart_id, product_id, quantity
+            ), summary AS (
+                UPDATE carts c
+                SET item_count = c.item_count + :quantity,
+                    subtotal = c.subtotal + p.price * :quantity,
+                    discounted_total = c.discounted_total + p.effective_price * :quantity
+                FROM added a
+                JOIN products p ON p.id = a.product_id
+                WHERE c.cart_id = a.cart_id
+            )
+            SELECT p.name AS productName, a.quantity AS quantity
+            FROM added a
+            JOIN products p ON p.id = a.product_id
+            """,
+            nativeQuery = true)
+    Optional<AddedCartItem> addToCart(@Param("email") String email,
+                                      @Param("productId") Integer productId,
+                                      @Param("quantity") Integer quantity);
+
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.product WHERE ci.cart.cartId = :cartId")
+    List<CartItem> findByCartIdWithProduct(@Param("cartId") Integer cartId);
+
+    @Query("SELECT ci.quantity FROM CartItem ci WHERE ci.cart.cartId = :cartId AND ci.product.id = :productId")
+    Optional<Integer> findQuantity(@Param("cartId") Integer cartId, @Param("productId") Integer productId);
+
+    interface AddedCartItem {
+        String getProductName();
+
+        Integer getQuantity();
+    }
 }
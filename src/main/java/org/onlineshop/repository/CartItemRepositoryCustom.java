@@ -0,0 +1,46 @@
+package org.onlineshop.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface CartItemRepositoryCustom {
+
+    /**
+     * Adds the quantity to the cart item of the product, inserting the item if the cart does not hold it yet.
+     * Parameters: cart id, product id, quantity.
+     */
+    String ADD_QUANTITY_SQL = """
+            INSERT INTO cart_items (cart_id, product_id, quantity, version) VALUES (?, ?, ?, 0)
+            ON CONFLICT (cart_id, product_id)
+            DO UPDATE SET quantity = cart_items.quantity + EXCLUDED.quantity, version = cart_items.version + 1
+            """;
+
+    /**
+     * Sets the quantity of the cart item of the product, inserting the item if the cart does not hold it yet.
+     * Parameters: cart id, product id, quantity.
+     */
+    String SET_QUANTITY_SQL = """
+            INSERT INTO cart_items (cart_id, product_id, quantity, version) VALUES (?, ?, ?, 0)
+            ON CONFLICT (cart_id, product_id)
+            DO UPDATE SET quantity = EXCLUDED.quantity, version = cart_items.version + 1
+            """;
+
+    /**
+     * Adds quantities to the items of one cart with a single JDBC batch.
+     *
+     * @param quantitiesByProductId the quantities to add per product id
+     */
+    void addQuantities(Integer cartId, Map<Integer, Integer> quantitiesByProductId);
+
+    /**
+     * Sets the quantities of the items of one cart with a single JDBC batch.
+     *
+     * @param quantitiesByProductId the new quantities per product id
+     */
+    void setQuantities(Integer cartId, Map<Integer, Integer> quantitiesByProductId);
+
+    /**
+     * Deletes the items of the given products from one cart with a single JDBC batch.
+     */
+    void deleteProducts(Integer cartId, Collection<Integer> productIds);
+}
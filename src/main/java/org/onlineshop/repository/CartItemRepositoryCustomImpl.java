@@ -0,0 +1,56 @@
+package org.onlineshop.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Rows are written in the order of their product ids, so two batches for the same cart cannot deadlock.
+ */
+@RequiredArgsConstructor
+class CartItemRepositoryCustomImpl implements CartItemRepositoryCustom {
+
+    private static final String DELETE_SQL = "DELETE FROM cart_items WHERE cart_id = ? AND product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void addQuantities(Integer cartId, Map<Integer, Integer> quantitiesByProductId) {
+        writeQuantities(ADD_QUANTITY_SQL, cartId, quantitiesByProductId);
+    }
+
+    @Override
+    @Transactional
+    public void setQuantities(Integer cartId, Map<Integer, Integer> quantitiesByProductId) {
+        writeQuantities(SET_QUANTITY_SQL, cartId, quantitiesByProductId);
+    }
+
+    @Override
+    @Transactional
+    public void deleteProducts(Integer cartId, Collection<Integer> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(productIds.size());
+        new TreeSet<>(productIds).forEach(productId -> rows.add(new Object[]{cartId, productId}));
+        jdbcTemplate.batchUpdate(DELETE_SQL, rows);
+    }
+
+    private void writeQuantities(String sql, Integer cartId, Map<Integer, Integer> quantitiesByProductId) {
+        if (quantitiesByProductId.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(quantitiesByProductId.size());
+        new TreeMap<>(quantitiesByProductId).forEach((productId, quantity) ->
+                rows.add(new Object[]{cartId, productId, quantity}));
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+}
@@ -1,9 +1,15 @@
 package org.onlineshop.repository;
 
+import org.onlineshop.dto.cart.CartSummaryDto;
 import org.onlineshop.entity.Cart;
 import org.onlineshop.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CartRepository extends JpaRepository<Cart, Integer> {
@@ -11,4 +17,67 @@ public interface CartRepository extends JpaRepository<Cart, Integer> {
 
     boolean existsByUser(User user);
 
+    /**
+     * Reads the maintained summary of the user's cart from the carts row alone.
+     */
+    @Query("SELECT new org.onlineshop.dto.cart.CartSummaryDto(c.cartId, c.itemCount, c.subtotal, c.discountedTotal) " +
+            "FROM User u JOIN u.cart c WHERE u.email = :email")
+    Optional<CartSummaryDto> findSummaryByUserEmail(@Param("email") String email);
+
+    /**
+     * Adds the given quantity of a product, which may be negative, to the summary of a cart.
+     * Pending entity changes are flushed first, so cart item rows are always locked before the cart row.
+     *
+     * @return the number of updated carts
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE carts
+            SET item_count = item_count + :quantity,
+                subtotal = subtotal + p.price * :quantity,
+                discounted_total = discounted_total + p.effective_price * :quantity
+            FROM products p
+            WHERE carts.cart_id = :cartId AND p.id = :productId
+            """,
+            nativeQuery = true)
+    int adjustSummary(@Param("cartId") Integer cartId,
+                      @Param("productId") Integer productId,
+                      @Param("quantity") int quantity);
+
+    /**
+     * Locks the cart rows in the order of their ids. Called before {@link #recalculateSummaries}, so that
+     * the recalculation reads the items after every concurrent summary change has committed.
+     * Pending entity changes must be flushed first, so cart item rows are always locked before cart rows.
+     */
+    @Query(value = "SELECT cart_id FROM carts WHERE cart_id IN (:cartIds) ORDER BY cart_id FOR NO KEY UPDATE",
+            nativeQuery = true)
+    List<Integer> lockCarts(@Param("cartIds") Collection<Integer> cartIds);
+
+    /**
+     * Recalculates the summaries of the given carts from their items.
+     *
+     * @return the number of updated carts
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE carts c
+            SET item_count = s.item_count,
+                subtotal = s.subtotal,
+                discounted_total = s.discounted_total
+            FROM (SELECT c2.cart_id,
+                         COALESCE(SUM(ci.quantity), 0) AS item_count,
+                         COALESCE(SUM(p.price * ci.quantity), 0) AS subtotal,
+                         COALESCE(SUM(p.effective_price * ci.quantity), 0) AS discounted_total
+                  FROM carts c2
+                  LEFT JOIN cart_items ci ON ci.cart_id = c2.cart_id
+                  LEFT JOIN products p ON p.id = ci.product_id
+                  WHERE c2.cart_id IN (:cartIds)
+                  GROUP BY c2.cart_id) s
+            WHERE c.cart_id = s.cart_id
+            """,
+            nativeQuery = true)
+    int recalculateSummaries(@Param("cartIds") Collection<Integer> cartIds);
+
+    @Query(value = "SELECT DISTINCT cart_id FROM cart_items WHERE product_id IN (:productIds)", nativeQuery = true)
+    List<Integer> findCartIdsByProductIds(@Param("productIds") Collection<Integer> productIds);
 }
@@ -1,18 +1,34 @@
 package org.onlineshop.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.onlineshop.dto.category.CategoryProductCountDto;
 import org.onlineshop.entity.Category;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface CategoryRepository extends JpaRepository<Category, Integer> {
+public interface CategoryRepository extends JpaRepository<Category, Integer>, CategoryRepositoryCustom {
 
-    Optional<Category> findByCategoryId(Integer categoryId);
-
-    Optional<Category> findByCategoryName(String name);
+    @Override
+    @QueryHints(value = @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"), forCounting = true)
+    Page<Category> findAll(Pageable pageable);
 
     List<Category> findByCategoryNameContainingIgnoreCase(String name);
 
     boolean existsByCategoryName(String categoryName);
+
+    /**
+     * Counts the products and the discounted products of every category in one aggregate query.
+     * The join is served by {@code idx_products_category_id}; categories without products are counted as zero.
+     */
+    @Query("SELECT new org.onlineshop.dto.category.CategoryProductCountDto(c.categoryId, COUNT(p.id), " +
+            "COUNT(p.id) FILTER (WHERE p.discountPrice > 0)) " +
+            "FROM Category c LEFT JOIN c.products p GROUP BY c.categoryId")
+    List<CategoryProductCountDto> countProductsByCategory();
 }
@@ -0,0 +1,14 @@
+package org.onlineshop.repository;
+
+import org.onlineshop.entity.Category;
+
+import java.util.Optional;
+
+public interface CategoryRepositoryCustom {
+
+    /**
+     * Looks a category up by its natural id, so repeated lookups are served from the
+     * natural-id and entity regions of the second-level cache instead of a query.
+     */
+    Optional<Category> findByCategoryName(String categoryName);
+}
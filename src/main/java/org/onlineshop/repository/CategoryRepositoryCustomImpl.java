@@ -0,0 +1,26 @@
+package org.onlineshop.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.onlineshop.entity.Category;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+class CategoryRepositoryCustomImpl implements CategoryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Category> findByCategoryName(String categoryName) {
+        if (categoryName == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Category.class)
+                .loadOptional(categoryName);
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -29,4 +30,53 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
     @Query("SELECT o FROM Order o WHERE o.status IN :statuses")
     @EntityGraph(attributePaths = {"orderItems", "orderItems.product"})
     Page<Order> findOrdersForStatusUpdate(@Param("statuses") List<Order.Status> statuses, Pageable pageable);
+
+    /**
+     * Finds orders that still hold reserved stock and have not been touched since the cutoff.
+     * Served by the partial index {@code idx_orders_pending_reservation_updated_at}.
+     */
+    @Query("SELECT o.orderId FROM Order o WHERE o.status = :status AND o.stockReserved = true " +
+            "AND o.updatedAt < :cutoff ORDER BY o.updatedAt")
+    List<Integer> findExpiredReservations(@Param("status") Order.Status status,
+                                          @Param("cutoff") LocalDateTime cutoff,
+                                          Pageable pageable);
+
+    /**
+     * Cancels an order whose reservation has expired, unless it was paid, cancelled or touched in the meantime.
+     * The conditions are checked by the UPDATE itself, so of two concurrent attempts only one can succeed.
+     *
+     * @return 1 if the order was cancelled by this call, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :cancelled, o.stockReserved = false, o.updatedAt = :now, " +
+            "o.version = o.version + 1 " +
+            "WHERE o.orderId = :orderId AND o.status = :pending AND o.stockReserved = true AND o.updatedAt < :cutoff")
+    int cancelExpiredReservation(@Param("orderId") Integer orderId,
+                                 @Param("pending") Order.Status pending,
+                                 @Param("cancelled") Order.Status cancelled,
+                                 @Param("cutoff") LocalDateTime cutoff,
+                                 @Param("now") LocalDateTime now);
+
+    /**
+     * Finds orders that have stayed in the given status since the cutoff.
+     * Served by the partial index {@code idx_orders_processing_updated_at} for PROCESSING.
+     */
+    @Query("SELECT o.orderId FROM Order o WHERE o.status = :status AND o.updatedAt < :cutoff ORDER BY o.updatedAt")
+    List<Integer> findStalledOrders(@Param("status") Order.Status status,
+                                    @Param("cutoff") LocalDateTime cutoff,
+                                    Pageable pageable);
+
+    /**
+     * Marks a stalled order as touched, unless it changed status or was touched since the cutoff.
+     * Of two concurrent attempts only one can succeed.
+     *
+     * @return 1 if the order was touched by this call, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.orderId = :orderId AND o.status = :status AND o.updatedAt < :cutoff")
+    int touchStalledOrder(@Param("orderId") Integer orderId,
+                          @Param("status") Order.Status status,
+                          @Param("cutoff") LocalDateTime cutoff,
+                          @Param("now") LocalDateTime now);
 }
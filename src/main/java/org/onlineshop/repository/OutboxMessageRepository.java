@@ -0,0 +1,62 @@
+package org.onlineshop.repository;
+
+import org.onlineshop.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Claims up to {@code batchSize} due messages for delivery in a single statement.
+     * Rows locked by a concurrent claim are skipped, so dispatchers never wait for each other or pick up
+     * the same message. A claimed message is leased until {@code leaseUntil}: its attempt is counted and it is
+     * not due again before then, so it is retried if the dispatcher stops before recording the result.
+     * Served by the partial index {@code idx_outbox_pending_next_attempt_at}.
+     *
+     * @return the claimed messages
+     */
+    @Query(value = """
+            WITH claimed AS (
+                UPDATE outbox
+                SET next_attempt_at = :leaseUntil,
+                    attempts = attempts + 1
+                WHERE id IN (SELECT id FROM outbox
+                             WHERE status = 'PENDING' AND next_attempt_at <= :now
+                             ORDER BY next_attempt_at, id
+                             LIMIT :batchSize
+                             FOR UPDATE SKIP LOCKED)
+                RETURNING *
+            )
+            SELECT * FROM claimed ORDER BY id
+            """,
+            nativeQuery = true)
+    List<OutboxMessage> claimBatch(@Param("now") LocalDateTime now,
+                                   @Param("leaseUntil") LocalDateTime leaseUntil,
+                                   @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :sent, m.sentAt = :now, m.lastError = null WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("sent") OutboxMessage.Status sent,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Records a failed attempt. The message becomes due again at {@code nextAttemptAt} while the status
+     * stays PENDING, or is given up for good with the status FAILED.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :status, m.nextAttemptAt = :nextAttemptAt, m.lastError = :error " +
+            "WHERE m.id = :id")
+    int markAttemptFailed(@Param("id") Long id,
+                          @Param("status") OutboxMessage.Status status,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                          @Param("error") String error);
+
+    long countByStatus(OutboxMessage.Status status);
+}
@@ -1,22 +1,185 @@
 package org.onlineshop.repository;
 
+import org.onlineshop.dto.product.ProductResponseDto;
+import org.onlineshop.dto.product.ProductResponseForUserDto;
 import org.onlineshop.entity.Category;
 import org.onlineshop.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
+
+    /**
+     * Selects listing rows straight into {@link ProductResponseDto}, joining the category name
+     * in the same statement. No entities are loaded into the persistence context.
+     */
+    String RESPONSE_DTO_SELECT = "SELECT new org.onlineshop.dto.product.ProductResponseDto(" +
+            "p.id, p.name, p.description, c.categoryName, p.price, COALESCE(p.discountPrice, 0BD), p.stock, " +
+            "p.image, p.createdAt, p.updatedAt) FROM Product p JOIN p.category c";
+
+    /**
+     * Selects listing rows straight into {@link ProductResponseForUserDto}.
+     */
+    String USER_DTO_SELECT = "SELECT new org.onlineshop.dto.product.ProductResponseForUserDto(" +
+            "p.name, p.description, c.categoryName, p.price, COALESCE(p.discountPrice, 0BD), p.image) " +
+            "FROM Product p JOIN p.category c";
 
     Page<Product> findByNameContainingIgnoreCase(String partOfName, Pageable pageable);
 
-    Page<Product> findByPriceBetween(BigDecimal startPrice, BigDecimal endPrice, Pageable pageable);
+    /**
+     * Finds the ids of products whose name contains the given pattern or is similar to the search query.
+     * Both conditions are served by the {@code idx_products_name_trgm} GIN index.
+     * Each row carries two ranking columns that can be used in the pageable sort:
+     * {@code name_match} (the name contains the pattern) and {@code relevance} (trigram word similarity).
+     * The listing rows of the page are then loaded with {@link #findResponseDtosByIdIn}.
+     *
+     * @param pattern  the escaped lower-case LIKE pattern, e.g. {@code %phone%}
+     * @param query    the lower-case search query
+     * @param pageable the pagination information; sort properties must be column names
+     * @return a page of matching product ids in ranking order
+     */
+    @Query(value = """
+            SELECT p.id FROM (
+                SELECT p.*,
+                       LOWER(p.name) LIKE :pattern ESCAPE '\\' AS name_match,
+                       word_similarity(:query, LOWER(p.name)) AS relevance
+                FROM products p
+                WHERE LOWER(p.name) LIKE :pattern ESCAPE '\\'
+                   OR :query <% LOWER(p.name)
+            ) p
+            """,
+            countQuery = """
+            SELECT COUNT(*) FROM products p
+            WHERE LOWER(p.name) LIKE :pattern ESCAPE '\\'
+               OR :query <% LOWER(p.name)
+            """,
+            nativeQuery = true)
+    Page<Integer> searchIdsByName(@Param("pattern") String pattern, @Param("query") String query, Pageable pageable);
+
+    @Query(RESPONSE_DTO_SELECT + " WHERE p.id IN :ids")
+    List<ProductResponseDto> findResponseDtosByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(value = RESPONSE_DTO_SELECT, countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductResponseDto> findAllResponseDtos(Pageable pageable);
+
+    @Query(value = USER_DTO_SELECT, countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductResponseForUserDto> findAllUserDtos(Pageable pageable);
+
+    @Query(value = RESPONSE_DTO_SELECT + " WHERE p.price BETWEEN :startPrice AND :endPrice",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.price BETWEEN :startPrice AND :endPrice")
+    Page<ProductResponseDto> findResponseDtosByPriceBetween(@Param("startPrice") BigDecimal startPrice,
+                                                            @Param("endPrice") BigDecimal endPrice,
+                                                            Pageable pageable);
+
+    @Query(value = RESPONSE_DTO_SELECT + " WHERE p.effectivePrice BETWEEN :startPrice AND :endPrice",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.effectivePrice BETWEEN :startPrice AND :endPrice")
+    Page<ProductResponseDto> findResponseDtosByEffectivePriceBetween(@Param("startPrice") BigDecimal startPrice,
+                                                                     @Param("endPrice") BigDecimal endPrice,
+                                                                     Pageable pageable);
+
+    @Query(value = RESPONSE_DTO_SELECT + " WHERE p.discountPrice > :discountPrice",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.discountPrice > :discountPrice")
+    Page<ProductResponseDto> findResponseDtosByDiscountPriceGreaterThan(@Param("discountPrice") BigDecimal discountPrice,
+                                                                        Pageable pageable);
+
+    @Query(USER_DTO_SELECT + " WHERE p.discountPrice > :discountPrice")
+    List<ProductResponseForUserDto> findUserDtosByDiscountPriceGreaterThan(@Param("discountPrice") BigDecimal discountPrice,
+                                                                           Pageable pageable);
+
+    @Query(value = RESPONSE_DTO_SELECT + " WHERE p.category = :category",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category = :category")
+    Page<ProductResponseDto> findResponseDtosByCategory(@Param("category") Category category, Pageable pageable);
+
+    /*
+     * Slice variants of the listings above: one row past the page is fetched to tell whether
+     * a next page exists, and no COUNT query is issued.
+     */
+
+    @Query(value = """
+            SELECT p.id FROM (
+                SELECT p.*,
+                       LOWER(p.name) LIKE :pattern ESCAPE '\\' AS name_match,
+                       word_similarity(:query, LOWER(p.name)) AS relevance
+                FROM products p
+                WHERE LOWER(p.name) LIKE :pattern ESCAPE '\\'
+                   OR :query <% LOWER(p.name)
+            ) p
+            """,
+            nativeQuery = true)
+    Slice<Integer> searchIdSliceByName(@Param("pattern") String pattern, @Param("query") String query, Pageable pageable);
+
+    @Query(RESPONSE_DTO_SELECT)
+    Slice<ProductResponseDto> findAllResponseDtosSlice(Pageable pageable);
+
+    @Query(USER_DTO_SELECT)
+    Slice<ProductResponseForUserDto> findAllUserDtosSlice(Pageable pageable);
+
+    @Query(RESPONSE_DTO_SELECT + " WHERE p.price BETWEEN :startPrice AND :endPrice")
+    Slice<ProductResponseDto> findResponseDtosSliceByPriceBetween(@Param("startPrice") BigDecimal startPrice,
+                                                                  @Param("endPrice") BigDecimal endPrice,
+                                                                  Pageable pageable);
+
+    @Query(RESPONSE_DTO_SELECT + " WHERE p.effectivePrice BETWEEN :startPrice AND :endPrice")
+    Slice<ProductResponseDto> findResponseDtosSliceByEffectivePriceBetween(@Param("startPrice") BigDecimal startPrice,
+                                                                           @Param("endPrice") BigDecimal endPrice,
+                                                                           Pageable pageable);
+
+    @Query(RESPONSE_DTO_SELECT + " WHERE p.discountPrice > :discountPrice")
+    Slice<ProductResponseDto> findResponseDtosSliceByDiscountPriceGreaterThan(@Param("discountPrice") BigDecimal discountPrice,
+                                                                              Pageable pageable);
+
+    @Query(RESPONSE_DTO_SELECT + " WHERE p.category = :category")
+    Slice<ProductResponseDto> findResponseDtosSliceByCategory(@Param("category") Category category, Pageable pageable);
+
+    @Query(value = """
+            SELECT COUNT(*) FROM products p
+            WHERE LOWER(p.name) LIKE :pattern ESCAPE '\\'
+               OR :query <% LOWER(p.name)
+            """,
+            nativeQuery = true)
+    long countByNameSearch(@Param("pattern") String pattern, @Param("query") String query);
+
+    long countByCategory(Category category);
+
+    long countByPriceBetween(BigDecimal startPrice, BigDecimal endPrice);
+
+    long countByEffectivePriceBetween(BigDecimal startPrice, BigDecimal endPrice);
+
+    long countByDiscountPriceGreaterThan(BigDecimal discountPrice);
+
+    /**
+     * Returns the planner's row estimate for the products table, or a negative value if the table
+     * has not been analyzed yet.
+     */
+    @Query(value = "SELECT reltuples::bigint FROM pg_class WHERE oid = 'products'::regclass", nativeQuery = true)
+    long estimateRowCount();
 
-    Page<Product> findByDiscountPriceGreaterThan(BigDecimal discountPrice, Pageable pageable);
+    /**
+     * Moves all products of one category to another with a single UPDATE, without loading them.
+     * Hibernate evicts the product region of the second-level cache after the statement.
+     *
+     * @return the number of moved products
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.category = :target, p.updatedAt = :updatedAt, p.version = p.version + 1 " +
+            "WHERE p.category = :source")
+    int reassignCategory(@Param("source") Category source,
+                         @Param("target") Category target,
+                         @Param("updatedAt") LocalDateTime updatedAt);
 
-    Page<Product> findByCategory(Category category, Pageable pageable);
+    boolean existsByCategory(Category category);
 
     boolean existsByNameIgnoreCaseAndCategory(String name, Category category);
 
@@ -0,0 +1,36 @@
+package org.onlineshop.repository;
+
+import org.onlineshop.dto.product.ProductFacetsDto;
+import org.onlineshop.entity.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Sets the discount price of every product matching the specification with a single UPDATE statement,
+     * incrementing the version and refreshing the update timestamp of each row.
+     *
+     * @return the number of updated products
+     */
+    int updateDiscountPrice(Specification<Product> specification, BigDecimal discountPrice);
+
+    /**
+     * Finds the carts holding any product matching the specification, in a single statement
+     * that matches the cart items against a subquery of the products.
+     *
+     * @return the distinct cart ids
+     */
+    List<Integer> findCartIdsWithProducts(Specification<Product> specification);
+
+    /**
+     * Counts the products matching the specification per category, per price bucket and with a discount,
+     * in a single aggregate statement grouped by category.
+     *
+     * @param priceBuckets ascending lower bounds of the price buckets; the last bucket is open
+     * @return the facet counts
+     */
+    ProductFacetsDto countFacets(Specification<Product> specification, List<BigDecimal> priceBuckets);
+}
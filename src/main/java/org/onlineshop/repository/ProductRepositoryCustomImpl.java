@@ -0,0 +1,129 @@
+package org.onlineshop.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaPredicate;
+import org.onlineshop.dto.product.CategoryFacetDto;
+import org.onlineshop.dto.product.PriceBucketFacetDto;
+import org.onlineshop.dto.product.ProductFacetsDto;
+import org.onlineshop.entity.CartItem;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateDiscountPrice(Specification<Product> specification, BigDecimal discountPrice) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = cb.createCriteriaUpdate(Product.class);
+        Root<Product> root = update.from(Product.class);
+        update.set(root.<BigDecimal>get("discountPrice"), discountPrice)
+                .set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now())
+                .set(root.<Integer>get("version"), cb.sum(root.<Integer>get("version"), 1))
+                .where(specification.toPredicate(root, null, cb));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Integer> findCartIdsWithProducts(Specification<Product> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> query = cb.createQuery(Integer.class);
+        Root<CartItem> cartItem = query.from(CartItem.class);
+        Subquery<Integer> productIds = query.subquery(Integer.class);
+        Root<Product> product = productIds.from(Product.class);
+        productIds.select(product.<Integer>get("id"));
+        Predicate predicate = specification.toPredicate(product, query, cb);
+        if (predicate != null) {
+            productIds.where(predicate);
+        }
+        query.select(cartItem.get("cart").<Integer>get("cartId"))
+                .distinct(true)
+                .where(cartItem.get("product").get("id").in(productIds));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Selects one row per category: the category name, its product count, one
+     * {@code COUNT(*) FILTER (WHERE ...)} column per price bucket and the discounted count.
+     * Bucket and discount totals are the sums of the per-category rows.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductFacetsDto countFacets(Specification<Product> specification, List<BigDecimal> priceBuckets) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Join<Product, Category> category = root.join("category");
+        Expression<BigDecimal> price = root.get("price");
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(category.<String>get("categoryName"));
+        selections.add(cb.count(root));
+        for (int i = 0; i < priceBuckets.size(); i++) {
+            JpaPredicate inBucket = cb.greaterThanOrEqualTo(price, priceBuckets.get(i));
+            if (i + 1 < priceBuckets.size()) {
+                inBucket = cb.and(inBucket, cb.lessThan(price, priceBuckets.get(i + 1)));
+            }
+            selections.add(cb.count(root, inBucket));
+        }
+        selections.add(cb.count(root, cb.greaterThan(root.<BigDecimal>get("discountPrice"), BigDecimal.ZERO)));
+
+        query.multiselect(selections)
+                .groupBy(category.get("categoryName"))
+                .orderBy(cb.asc(category.get("categoryName")));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        long total = 0;
+        long discounted = 0;
+        long[] bucketCounts = new long[priceBuckets.size()];
+        List<CategoryFacetDto> categories = new ArrayList<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            long products = row.get(1, Long.class);
+            categories.add(new CategoryFacetDto(row.get(0, String.class), products));
+            total += products;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                bucketCounts[i] += row.get(2 + i, Long.class);
+            }
+            discounted += row.get(2 + bucketCounts.length, Long.class);
+        }
+
+        List<PriceBucketFacetDto> buckets = new ArrayList<>();
+        for (int i = 0; i < bucketCounts.length; i++) {
+            BigDecimal toPrice = i + 1 < priceBuckets.size() ? priceBuckets.get(i + 1) : null;
+            buckets.add(new PriceBucketFacetDto(priceBuckets.get(i), toPrice, bucketCounts[i]));
+        }
+        return ProductFacetsDto.builder()
+                .totalProducts(total)
+                .discountedProducts(discounted)
+                .categories(categories)
+                .priceBuckets(buckets)
+                .build();
+    }
+}
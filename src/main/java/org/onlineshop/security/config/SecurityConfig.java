@@ -68,6 +68,8 @@ public class SecurityConfig {
                         .requestMatchers("/v1/orderItems/**").hasAnyRole("ADMIN", "MANAGER", "USER")
                         .requestMatchers("/v1/statistics/**").hasRole("ADMIN")
                         .requestMatchers("/v1/categories/**").hasAnyRole("ADMIN", "MANAGER")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/v3/api-docs/**").permitAll()
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .anyRequest().authenticated()
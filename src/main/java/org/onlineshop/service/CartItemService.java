@@ -2,6 +2,8 @@ package org.onlineshop.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.config.RetryOnOptimisticLock;
+import org.onlineshop.dto.cart.CartResponseDto;
 import org.onlineshop.dto.cartItem.*;
 import org.onlineshop.entity.Cart;
 import org.onlineshop.entity.CartItem;
@@ -10,14 +12,25 @@ import org.onlineshop.entity.User;
 import org.onlineshop.exception.BadRequestException;
 import org.onlineshop.exception.NotFoundException;
 import org.onlineshop.repository.CartItemRepository;
+import org.onlineshop.service.cache.CartWriteBuffer;
 import org.onlineshop.service.converter.CartItemConverter;
 import org.onlineshop.service.interfaces.CartItemServiceInterface;
+import org.onlineshop.service.util.PriceCalculator;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * Service class responsible for managing cart items for specific users.
@@ -25,6 +38,9 @@ import java.util.Set;
  * within a user's shopping cart. This class handles business logic
  * related to cart item persistence and integration with upstream services
  * such as ProductService, UserService, and CartService.
+ * <p>
+ * With {@code cart.write-behind.enabled}, quantity changes are recorded in the {@link CartWriteBuffer}
+ * and written in batches; reads merge the pending changes with the stored cart items.
  */
 @Slf4j
 @Service
@@ -36,17 +52,24 @@ public class CartItemService implements CartItemServiceInterface {
     private final CartItemConverter cartItemConverter;
     private final CartService cartService;
     private final ProductService productService;
+    private final CartWriteBuffer cartWriteBuffer;
+    private final PriceCalculator priceCalculator;
 
     /**
      * Adds an item to the user's cart. If the item already exists in the cart, its quantity is updated.
      * If the item is not present in the cart, it is added as a new entry.
+     * Both cases are handled by one INSERT ... ON CONFLICT DO UPDATE statement, so the cost does not depend
+     * on the size of the cart, and two concurrent adds of the same product add up instead of failing.
+     * In write-behind mode the addition is only recorded in the buffer.
      *
      * @param cartItemRequestDto the DTO containing information about the product to add to the cart, such as product ID and quantity.
      * @return a DTO representing the added or updated cart item, including product details and quantity.
      * @throws IllegalArgumentException if the product ID or quantity is null or invalid.
-     * @throws NotFoundException        if a product with the specified id is not found in the database
+     * @throws BadRequestException      if a product with the specified id is not found in the database,
+     *                                  or the current user has no cart
      */
     @Transactional
+    @RetryOnOptimisticLock
     @Override
     public CartItemSimpleResponseDto addItemToCart(CartItemRequestDto cartItemRequestDto) {
         if (cartItemRequestDto.getProductId() == null) {
@@ -58,41 +81,28 @@ public class CartItemService implements CartItemServiceInterface {
         if (cartItemRequestDto.getQuantity() < 1) {
             throw new BadRequestException("Quantity must be at least 1");
         }
-        if (productService.getProductById(cartItemRequestDto.getProductId()).isEmpty()) {
-            throw new BadRequestException("Product with ID: " + cartItemRequestDto.getProductId() + " not found");
+        if (cartWriteBuffer.isEnabled()) {
+            return addItemToBufferedCart(cartItemRequestDto);
         }
-        User user = userService.getCurrentUser();
-        Cart cart = user.getCart();
-        Set<CartItem> cartItems = cart.getCartItems();
-        Optional<CartItem> existingCartItem = getCartItemFromCart(cartItemRequestDto.getProductId());
-        CartItem savedCartItem;
-        if (existingCartItem.isPresent()) {
-            CartItem cartItem = existingCartItem.get();
-            cartItem.setQuantity(cartItem.getQuantity() + cartItemRequestDto.getQuantity());
-            savedCartItem = cartItemRepository.save(cartItem);
-        } else {
-            Product product = productService.getProductById(cartItemRequestDto.getProductId())
-                    .orElseThrow(() -> new NotFoundException("Product not found"));
-
-            CartItem newCartItem = CartItem.builder()
-                    .product(product)
-                    .quantity(cartItemRequestDto.getQuantity())
-                    .cart(cart)
-                    .build();
-
-            savedCartItem = cartItemRepository.save(newCartItem);
-            cartItems.add(savedCartItem);
+        CartItemRepository.AddedCartItem addedCartItem;
+        try {
+            addedCartItem = cartItemRepository.addToCart(userService.getCurrentUserEmail(),
+                            cartItemRequestDto.getProductId(), cartItemRequestDto.getQuantity())
+                    .orElseThrow(() -> new BadRequestException("Cart is empty"));
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("Product with ID: " + cartItemRequestDto.getProductId() + " not found");
         }
-
-        cartService.saveCart(cart);
-        log.info("Cart item added to cart: {}", savedCartItem);
-        return cartItemConverter.toSimpleDto(savedCartItem);
+        log.info("Cart item added to cart: product {}, quantity {}", addedCartItem.getProductName(), addedCartItem.getQuantity());
+        return CartItemSimpleResponseDto.builder()
+                .productName(addedCartItem.getProductName())
+                .quantity(addedCartItem.getQuantity())
+                .build();
     }
 
     /**
      * Removes an item from the user's cart based on the provided product ID.
      * If the product is not found in the cart, an exception is thrown.
-     * The cart is then updated and persisted.
+     * The cart is then updated and persisted. Buffered quantity changes of the cart are written first.
      *
      * @param productId the ID of the product to be removed from the cart
      * @return a DTO representing the cart item that was removed, including product details and quantity
@@ -100,18 +110,21 @@ public class CartItemService implements CartItemServiceInterface {
      * @throws NotFoundException        if the product with the specified ID cannot be found in the cart
      */
     @Transactional
+    @RetryOnOptimisticLock
     @Override
     public CartItemResponseDto removeItemFromCart(Integer productId) {
         if (productId == null) {
             throw new IllegalArgumentException("Product Id cannot be null");
         }
         Cart cart = cartService.getCurrentCart();
+        cartWriteBuffer.flush(cart.getCartId());
         CartItem cartItemToRemove = cart.getCartItems().stream()
                 .filter(cartItem -> cartItem.getProduct().getId().equals(productId))
                 .findFirst().orElseThrow(() -> new NotFoundException("Product with ID: " + productId + " not found in cart"));
         cart.getCartItems().remove(cartItemToRemove);
         cartItemRepository.delete(cartItemToRemove);
         cartService.saveCart(cart);
+        cartService.adjustSummary(cart.getCartId(), productId, -cartItemToRemove.getQuantity());
         log.info("Cart item removed from cart: {}", cartItemToRemove);
         return cartItemConverter.toDto(cartItemToRemove);
     }
@@ -120,6 +133,7 @@ public class CartItemService implements CartItemServiceInterface {
      * Updates an existing item in the cart with new details provided in the input.
      * Validates the input and ensures that the product exists and is present in the user's cart.
      * If the product is not found in the cart or does not exist, appropriate exceptions are thrown.
+     * In write-behind mode the new quantity is only recorded in the buffer.
      *
      * @param cartItemUpdateDto the DTO containing the product ID and the new quantity to update in the cart
      * @return a data transfer object representing the updated cart item
@@ -127,6 +141,7 @@ public class CartItemService implements CartItemServiceInterface {
      * @throws NotFoundException        if the product does not exist in the system or is not found in the user's cart
      */
     @Transactional
+    @RetryOnOptimisticLock
     @Override
     public CartItemResponseDto updateItemInCart(CartItemUpdateDto cartItemUpdateDto) {
         if (cartItemUpdateDto.getProductId() == null) {
@@ -138,20 +153,116 @@ public class CartItemService implements CartItemServiceInterface {
         if (cartItemUpdateDto.getQuantity() < 1) {
             throw new IllegalArgumentException("Quantity must be at least 1");
         }
-        if (productService.getProductById(cartItemUpdateDto.getProductId()).isEmpty()) {
-            throw new NotFoundException("Product with ID: " + cartItemUpdateDto.getProductId() + " not found");
+        Product product = productService.getProductById(cartItemUpdateDto.getProductId()).orElseThrow(() ->
+                new NotFoundException("Product with ID: " + cartItemUpdateDto.getProductId() + " not found"));
+        if (cartWriteBuffer.isEnabled()) {
+            return updateItemInBufferedCart(product, cartItemUpdateDto.getQuantity());
         }
         CartItem cartItemToUpdate = getCartItemFromCart(cartItemUpdateDto.getProductId()).orElseThrow(() ->
                 new NotFoundException("Product with ID: " + cartItemUpdateDto.getProductId() + " not found in users cart"));
+        int previousQuantity = cartItemToUpdate.getQuantity();
         cartItemToUpdate.setQuantity(cartItemUpdateDto.getQuantity());
         CartItem savedCartItem = cartItemRepository.save(cartItemToUpdate);
+        cartService.adjustSummary(cartItemToUpdate.getCart().getCartId(), product.getId(),
+                cartItemUpdateDto.getQuantity() - previousQuantity);
         log.info("Cart item updated: {}", savedCartItem);
         return cartItemConverter.toDto(savedCartItem);
     }
 
+    /**
+     * Applies a list of add, update and remove operations to the current user's cart in one transaction.
+     * The operations are applied in the given order. The cart items and the products referenced by additions
+     * are loaded once, the operations are folded into one change per product, and the changes are written
+     * with JDBC batches. Additions are written as increments, so an addition made concurrently by another
+     * request is not lost. Buffered quantity changes of the cart are written first.
+     *
+     * @param cartItemBatchRequestDto the operations to apply
+     * @return the resulting cart: its items and the total price with discounts applied
+     * @throws BadRequestException if an addition or update has no quantity, an added product does not exist,
+     *                             or the current user has no cart
+     * @throws NotFoundException   if an updated or removed product is not in the cart at that point
+     */
+    @Transactional
+    @RetryOnOptimisticLock
+    @Override
+    public CartResponseDto applyOperations(CartItemBatchRequestDto cartItemBatchRequestDto) {
+        User user = userService.getCurrentUser();
+        if (user.getCart() == null) {
+            throw new BadRequestException("Cart is empty");
+        }
+        Integer cartId = user.getCart().getCartId();
+        cartWriteBuffer.flush(cartId);
+        List<CartItemOperationDto> operations = cartItemBatchRequestDto.getOperations();
+
+        Map<Integer, Integer> storedQuantities = new HashMap<>();
+        Map<Integer, Product> products = new HashMap<>();
+        for (CartItem cartItem : cartItemRepository.findByCartIdWithProduct(cartId)) {
+            storedQuantities.put(cartItem.getProduct().getId(), cartItem.getQuantity());
+            products.put(cartItem.getProduct().getId(), cartItem.getProduct());
+        }
+        Set<Integer> missingProductIds = operations.stream()
+                .filter(operation -> operation.getType() == CartItemOperationDto.Type.ADD)
+                .map(CartItemOperationDto::getProductId)
+                .filter(productId -> !products.containsKey(productId))
+                .collect(Collectors.toSet());
+        productService.getProductsByIds(missingProductIds).forEach(product -> products.put(product.getId(), product));
+
+        Map<Integer, CartWriteBuffer.PendingChange> changes = new HashMap<>();
+        Set<Integer> removed = new HashSet<>();
+        for (CartItemOperationDto operation : operations) {
+            Integer productId = operation.getProductId();
+            boolean inCart = !removed.contains(productId)
+                    && (storedQuantities.containsKey(productId) || changes.containsKey(productId));
+            switch (operation.getType()) {
+                case ADD -> {
+                    int quantity = requireQuantity(operation);
+                    if (!products.containsKey(productId)) {
+                        throw new BadRequestException("Product with ID: " + productId + " not found");
+                    }
+                    if (removed.remove(productId)) {
+                        changes.put(productId, CartWriteBuffer.PendingChange.set(quantity));
+                    } else {
+                        changes.merge(productId, CartWriteBuffer.PendingChange.add(quantity),
+                                CartWriteBuffer.PendingChange::then);
+                    }
+                }
+                case UPDATE -> {
+                    int quantity = requireQuantity(operation);
+                    if (!inCart) {
+                        throw new NotFoundException("Product with ID: " + productId + " not found in users cart");
+                    }
+                    changes.put(productId, CartWriteBuffer.PendingChange.set(quantity));
+                }
+                case REMOVE -> {
+                    if (!inCart) {
+                        throw new NotFoundException("Product with ID: " + productId + " not found in cart");
+                    }
+                    changes.remove(productId);
+                    removed.add(productId);
+                }
+            }
+        }
+
+        Map<Integer, Integer> additions = new HashMap<>();
+        Map<Integer, Integer> replacements = new HashMap<>();
+        changes.forEach((productId, change) ->
+                (change.absolute() ? replacements : additions).put(productId, change.quantity()));
+        cartItemRepository.deleteProducts(cartId, removed);
+        cartItemRepository.addQuantities(cartId, additions);
+        cartItemRepository.setQuantities(cartId, replacements);
+        cartService.recalculateSummaries(List.of(cartId));
+
+        Map<Integer, Integer> quantities = new TreeMap<>(storedQuantities);
+        removed.forEach(quantities::remove);
+        changes.forEach((productId, change) -> quantities.put(productId, change.applyTo(quantities.get(productId))));
+        log.info("Applied {} operations to cart {}", operations.size(), cartId);
+        return toCartResponse(user, quantities, products);
+    }
+
     /**
      * Retrieves the items in the current user's shopping cart.
      * Converts the cart items to a set of CartItemResponseDto.
+     * In write-behind mode the pending quantity changes are applied to the stored items.
      *
      * @return a set of CartItemResponseDto representing the items in the cart
      */
@@ -160,6 +271,10 @@ public class CartItemService implements CartItemServiceInterface {
     @Lazy
     public Set<CartItemFullResponseDto> getCartItems() {
         Cart cart = cartService.getCurrentCart();
+        if (cartWriteBuffer.isEnabled()) {
+            return cartWriteBuffer.withCart(cart.getCartId(), pendingCart ->
+                    cartItemConverter.toFullDtos(mergePendingChanges(cart, pendingCart)));
+        }
         Set<CartItem> cartItems = cart.getCartItems();
         return cartItemConverter.toFullDtos(cartItems);
     }
@@ -179,4 +294,101 @@ public class CartItemService implements CartItemServiceInterface {
                 .filter(item -> item.getProduct().getId().equals(productId))
                 .findFirst();
     }
+
+    private CartItemSimpleResponseDto addItemToBufferedCart(CartItemRequestDto cartItemRequestDto) {
+        Integer productId = cartItemRequestDto.getProductId();
+        Product product = productService.getProductById(productId).orElseThrow(() ->
+                new BadRequestException("Product with ID: " + productId + " not found"));
+        Integer cartId = getCurrentCartId();
+        int quantity = cartWriteBuffer.withCart(cartId, pendingCart -> pendingCart
+                .record(productId, CartWriteBuffer.PendingChange.add(cartItemRequestDto.getQuantity()))
+                .applyTo(cartItemRepository.findQuantity(cartId, productId).orElse(null)));
+        log.info("Cart item buffered: product {}, quantity {}", product.getName(), quantity);
+        return CartItemSimpleResponseDto.builder()
+                .productName(product.getName())
+                .quantity(quantity)
+                .build();
+    }
+
+    private CartItemResponseDto updateItemInBufferedCart(Product product, Integer quantity) {
+        Integer cartId = getCurrentCartId();
+        cartWriteBuffer.withCart(cartId, pendingCart -> {
+            if (pendingCart.get(product.getId()).isEmpty()
+                    && cartItemRepository.findQuantity(cartId, product.getId()).isEmpty()) {
+                throw new NotFoundException("Product with ID: " + product.getId() + " not found in users cart");
+            }
+            return pendingCart.record(product.getId(), CartWriteBuffer.PendingChange.set(quantity));
+        });
+        log.info("Cart item update buffered: product {}, quantity {}", product.getName(), quantity);
+        return CartItemResponseDto.builder()
+                .product(product)
+                .quantity(quantity)
+                .build();
+    }
+
+    private Integer getCurrentCartId() {
+        Cart cart = userService.getCurrentUser().getCart();
+        if (cart == null) {
+            throw new BadRequestException("Cart is empty");
+        }
+        return cart.getCartId();
+    }
+
+    /**
+     * Builds detached copies of the stored cart items with the pending changes applied,
+     * plus items for products that are only in the buffer so far.
+     */
+    private Set<CartItem> mergePendingChanges(Cart cart, CartWriteBuffer.PendingCart pendingCart) {
+        Map<Integer, CartWriteBuffer.PendingChange> pending = pendingCart.getAll();
+        Set<CartItem> merged = new HashSet<>();
+        Set<Integer> storedProductIds = new HashSet<>();
+        for (CartItem cartItem : cart.getCartItems()) {
+            Integer productId = cartItem.getProduct().getId();
+            storedProductIds.add(productId);
+            CartWriteBuffer.PendingChange change = pending.get(productId);
+            merged.add(CartItem.builder()
+                    .cartItemId(cartItem.getCartItemId())
+                    .cart(cart)
+                    .product(cartItem.getProduct())
+                    .quantity(change == null ? cartItem.getQuantity() : change.applyTo(cartItem.getQuantity()))
+                    .build());
+        }
+        pending.forEach((productId, change) -> {
+            if (!storedProductIds.contains(productId)) {
+                productService.getProductById(productId).ifPresent(product -> merged.add(CartItem.builder()
+                        .cart(cart)
+                        .product(product)
+                        .quantity(change.applyTo(null))
+                        .build()));
+            }
+        });
+        return merged;
+    }
+
+    private static int requireQuantity(CartItemOperationDto operation) {
+        if (operation.getQuantity() == null) {
+            throw new BadRequestException("Quantity cannot be null for product with ID: " + operation.getProductId());
+        }
+        return operation.getQuantity();
+    }
+
+    private CartResponseDto toCartResponse(User user, Map<Integer, Integer> quantities, Map<Integer, Product> products) {
+        List<CartItemSimpleResponseDto> cartItems = new ArrayList<>(quantities.size());
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            BigDecimal discount = product.getDiscountPrice() != null ? product.getDiscountPrice() : BigDecimal.ZERO;
+            BigDecimal unitPrice = priceCalculator.calculateDiscountedPrice(product.getPrice(), discount);
+            totalPrice = totalPrice.add(unitPrice.multiply(BigDecimal.valueOf(entry.getValue())));
+            cartItems.add(CartItemSimpleResponseDto.builder()
+                    .productName(product.getName())
+                    .quantity(entry.getValue())
+                    .build());
+        }
+        return CartResponseDto.builder()
+                .userId(user.getUserId())
+                .cartSympleItems(cartItems)
+                .totalPrice(totalPrice)
+                .build();
+    }
 }
@@ -3,6 +3,7 @@ package org.onlineshop.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.onlineshop.dto.cart.CartResponseDto;
+import org.onlineshop.dto.cart.CartSummaryDto;
 import org.onlineshop.dto.cartItem.CartItemResponseDto;
 import org.onlineshop.dto.cartItem.CartItemSimpleResponseDto;
 import org.onlineshop.entity.Cart;
@@ -11,6 +12,7 @@ import org.onlineshop.entity.Product;
 import org.onlineshop.entity.User;
 import org.onlineshop.exception.BadRequestException;
 import org.onlineshop.repository.CartRepository;
+import org.onlineshop.service.cache.CartWriteBuffer;
 import org.onlineshop.service.converter.CartItemConverter;
 import org.onlineshop.service.interfaces.CartServiceInterface;
 import org.onlineshop.service.interfaces.UserServiceInterface;
@@ -19,6 +21,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -30,6 +33,7 @@ public class CartService implements CartServiceInterface {
     private final CartItemConverter cartItemConverter;
     private final CartRepository cartRepository;
     private final PriceCalculator priceCalculator;
+    private final CartWriteBuffer cartWriteBuffer;
 
     /**
      * Clears the current user's shopping cart by removing all cart items.
@@ -37,20 +41,23 @@ public class CartService implements CartServiceInterface {
      * </p>
      * This method retrieves the current user, accesses their cart, and removes
      * all associated cart items. The updated user data is then saved to persist
-     * the changes in the database.
+     * the changes in the database. Buffered quantity changes of the cart are dropped
+     * and the cart summary is reset.
      */
     @Transactional
     @Override
     public void clearCart() {
         User user = userService.getCurrentUser();
+        cartWriteBuffer.discard(user.getCart().getCartId());
         user.getCart().getCartItems().clear();
         userService.saveUser(user);
+        recalculateSummaries(List.of(user.getCart().getCartId()));
         log.info("Cart cleared for user: {}", user.getUsername());
     }
 
     /**
      * Retrieves the full data of the current user's shopping cart, including cart items
-     * and the total price with applied discounts.
+     * and the total price with applied discounts. Buffered quantity changes of the cart are written first.
      *
      * @return a {@link CartResponseDto} containing the user ID, a list of cart item details,
      * and the total price of the items in the cart with discounts applied.
@@ -60,6 +67,7 @@ public class CartService implements CartServiceInterface {
     public CartResponseDto getCartFullData() {
         User user = userService.getCurrentUser();
         Cart cart = getCurrentCart();
+        cartWriteBuffer.flush(cart.getCartId());
         Set<CartItem> items = cart.getCartItems();
         List<CartItemResponseDto> cartItemDtos = items.stream()
                 .map(cartItemConverter::toDto)
@@ -91,6 +99,83 @@ public class CartService implements CartServiceInterface {
                 .build();
     }
 
+    /**
+     * Retrieves the summary of the current user's cart: the number of items, the subtotal and the total
+     * with discounts applied. The summary is maintained by every change of the cart items and of the prices
+     * of their products, so it is read from the carts row alone, without touching the cart items or the products.
+     * In write-behind mode, buffered quantity changes of the cart are written first.
+     *
+     * @return the cart summary
+     * @throws BadRequestException if the current user has no cart
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public CartSummaryDto getCartSummary() {
+        String email = userService.getCurrentUserEmail();
+        CartSummaryDto summary = cartRepository.findSummaryByUserEmail(email)
+                .orElseThrow(() -> new BadRequestException("Cart is empty"));
+        if (cartWriteBuffer.hasPendingChanges(summary.getCartId())) {
+            cartWriteBuffer.flush(summary.getCartId());
+            summary = cartRepository.findSummaryByUserEmail(email)
+                    .orElseThrow(() -> new BadRequestException("Cart is empty"));
+        }
+        return summary;
+    }
+
+    /**
+     * Adds the given quantity of a product, which may be negative, to the summary of a cart.
+     * Must run in the transaction that changes the cart item.
+     *
+     * @param cartId    the cart id
+     * @param productId the product whose quantity changed
+     * @param quantity  the change of the quantity
+     */
+    @Transactional
+    public void adjustSummary(Integer cartId, Integer productId, int quantity) {
+        if (quantity != 0) {
+            cartRepository.adjustSummary(cartId, productId, quantity);
+        }
+    }
+
+    /**
+     * Recalculates the summaries of the given carts from their items, e.g. after several items
+     * or the prices of their products changed. The cart rows are locked first, so that summary
+     * changes made concurrently by other transactions are not lost.
+     *
+     * @param cartIds the ids of the carts
+     */
+    @Transactional
+    public void recalculateSummaries(Collection<Integer> cartIds) {
+        if (cartIds.isEmpty()) {
+            return;
+        }
+        cartRepository.flush();
+        cartRepository.lockCarts(cartIds);
+        cartRepository.recalculateSummaries(cartIds);
+    }
+
+    /**
+     * Recalculates the summaries of all carts that hold any of the given products.
+     *
+     * @param productIds the ids of the products whose price or discount changed
+     */
+    @Transactional
+    public void recalculateSummariesOfProducts(Collection<Integer> productIds) {
+        recalculateSummaries(getCartIdsWithProducts(productIds));
+    }
+
+    /**
+     * @param productIds the product ids
+     * @return the ids of the carts that hold any of the given products
+     */
+    @Transactional(readOnly = true)
+    public List<Integer> getCartIdsWithProducts(Collection<Integer> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return cartRepository.findCartIdsByProductIds(productIds);
+    }
+
     /**
      * Retrieves the current user's shopping cart.
      * If the cart is empty, an exception is thrown.
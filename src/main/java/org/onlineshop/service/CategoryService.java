@@ -2,6 +2,7 @@ package org.onlineshop.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.dto.category.CategoryProductCountDto;
 import org.onlineshop.dto.category.CategoryRequestDto;
 import org.onlineshop.dto.category.CategoryResponseDto;
 import org.onlineshop.dto.category.CategoryUpdateDto;
@@ -9,22 +10,40 @@ import org.onlineshop.entity.Category;
 import org.onlineshop.exception.BadRequestException;
 import org.onlineshop.exception.NotFoundException;
 import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.service.cache.CategoryNameIndex;
+import org.onlineshop.service.cache.ProductCatalogCache;
+import org.onlineshop.service.cache.ProductCatalogChangedEvent;
 import org.onlineshop.service.converter.CategoryConverter;
 import org.onlineshop.service.interfaces.CategoryServiceInterface;
 import org.onlineshop.service.util.CategoryServiceHelper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CategoryService implements CategoryServiceInterface {
 
+    private static final String OTHER_CATEGORY = "Other";
+
     private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
     private final CategoryConverter categoryConverter;
     private final CategoryServiceHelper helper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryNameIndex categoryIndex;
+    private final ProductCatalogCache catalogCache;
 
     /**
      * Adds a new category based on the provided category request data.
@@ -57,6 +76,7 @@ public class CategoryService implements CategoryServiceInterface {
                 .build();
 
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(false, savedCategory.getCategoryName()));
         log.info("Category {} saved successfully", savedCategory.getCategoryName());
         return categoryConverter.toDto(savedCategory);
     }
@@ -100,12 +120,14 @@ public class CategoryService implements CategoryServiceInterface {
             categoryForUpdate.setImage(newImage);
         }
         Category savedCategory = categoryRepository.save(categoryForUpdate);
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.all());
         log.info("Category {} updated successfully", savedCategory.getCategoryName());
         return categoryConverter.toDto(savedCategory);
     }
 
     /**
      * Deletes an existing category based on the provided category ID.
+     * Products of the category are moved to the category 'Other' by a single UPDATE without being loaded.
      *
      * @param categoryId the ID of the category to be deleted from the database
      * @return a CategoryResponseDto containing the details of the deleted category
@@ -126,16 +148,24 @@ public class CategoryService implements CategoryServiceInterface {
         if (categoryToDelete.getCategoryName().equals("Other")) {
             throw new BadRequestException("Category with name 'Other' cannot be deleted");
         }
-        categoryToDelete.getProducts()
-                .forEach(product -> product.setCategory(categoryRepository.findByCategoryName("Other")
-                        .orElseThrow(() -> new NotFoundException("Other category not found"))));
+        if (productRepository.existsByCategory(categoryToDelete)) {
+            Category otherCategory = categoryIndex.findId(OTHER_CATEGORY)
+                    .flatMap(categoryRepository::findById)
+                    .or(() -> categoryRepository.findByCategoryName(OTHER_CATEGORY))
+                    .orElseThrow(() -> new NotFoundException("Other category not found"));
+            int reassigned = productRepository.reassignCategory(categoryToDelete, otherCategory, LocalDateTime.now());
+            log.info("{} products moved from category {} to {}", reassigned, categoryToDelete.getCategoryName(), OTHER_CATEGORY);
+        }
         categoryRepository.delete(categoryToDelete);
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(true, categoryToDelete.getCategoryName(), "Other"));
         log.info("Category {} deleted successfully", categoryToDelete.getCategoryName());
         return categoryConverter.toDto(categoryToDelete);
     }
 
     /**
-     * Retrieves a page of all categories from the database.
+     * Retrieves a page of all categories.
+     * Unsorted pages are cut from the in-memory category index ordered by id; sorted pages are read from the database.
+     * Every category carries its total and discounted product counts.
      *
      * @param pageable the pagination information
      * @return a page of CategoryResponseDto objects, each containing details of a category
@@ -143,8 +173,35 @@ public class CategoryService implements CategoryServiceInterface {
     @Override
     @Transactional(readOnly = true)
     public Page<CategoryResponseDto> getAllCategories(Pageable pageable) {
-        return categoryRepository.findAll(pageable)
-                .map(categoryConverter::toDto);
+        Page<CategoryResponseDto> page;
+        if (pageable.getSort().isSorted()) {
+            page = categoryRepository.findAll(pageable)
+                    .map(categoryConverter::toDto);
+        } else {
+            List<CategoryResponseDto> categories = categoryIndex.getAll();
+            int from = (int) Math.min(pageable.getOffset(), categories.size());
+            int to = Math.min(from + pageable.getPageSize(), categories.size());
+            page = new PageImpl<>(categories.subList(from, to), pageable, categories.size());
+        }
+        Map<Integer, CategoryProductCountDto> counts = getProductCounts();
+        page.forEach(category -> {
+            CategoryProductCountDto count = counts.get(category.getCategoryId());
+            category.setProductCount(count != null ? count.getProducts() : 0L);
+            category.setDiscountedProductCount(count != null ? count.getDiscountedProducts() : 0L);
+        });
+        return page;
+    }
+
+    /**
+     * Returns the product counts of all categories, computed by one aggregate query and cached in the
+     * catalog cache until the next product or category change.
+     *
+     * @return the counts keyed by category id
+     */
+    private Map<Integer, CategoryProductCountDto> getProductCounts() {
+        return catalogCache.get(ProductCatalogCache.Region.CATEGORY_COUNTS, null, null,
+                () -> categoryRepository.countProductsByCategory().stream()
+                        .collect(Collectors.toUnmodifiableMap(CategoryProductCountDto::getCategoryId, count -> count)));
     }
 
     /**
@@ -157,20 +214,33 @@ public class CategoryService implements CategoryServiceInterface {
     @Override
     @Transactional(readOnly = true)
     public Category getCategoryById(Integer categoryId) {
-        return categoryRepository.findByCategoryId(categoryId)
+        return categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new NotFoundException("Category with id: " + categoryId + " not found"));
     }
 
     /**
-     * Retrieves a specific category based on the provided category name.
+     * Retrieves a specific category based on the provided category name, ignoring case.
+     * The name is resolved to an id by the in-memory category index and the category is loaded by id,
+     * which is served from the second-level cache. A name missing from the index, or an index entry that no
+     * longer matches the database, falls back to the natural-id lookup and refreshes the index.
      *
-     * @param categoryName the name of the category to be retrieved from the database
+     * @param categoryName the name of the category to be retrieved
      * @return the Category object corresponding to the specified name
      * @throws NotFoundException if a category with the specified name is not found in the database
      */
     @Transactional(readOnly = true)
     public Category getCategoryByName(String categoryName) {
-        return categoryRepository.findByCategoryName(categoryName)
+        return categoryIndex.findId(categoryName)
+                .flatMap(categoryRepository::findById)
+                .filter(category -> CategoryNameIndex.normalize(category.getCategoryName())
+                        .equals(CategoryNameIndex.normalize(categoryName)))
+                .or(() -> findCategoryMissingFromIndex(categoryName))
                 .orElseThrow(() -> new NotFoundException("Category with name: " + categoryName + " not found"));
     }
+
+    private Optional<Category> findCategoryMissingFromIndex(String categoryName) {
+        Optional<Category> category = categoryRepository.findByCategoryName(categoryName);
+        category.ifPresent(categoryIndex::put);
+        return category;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package org.onlineshop.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.config.CheckoutConfig;
+import org.onlineshop.dto.order.OrderResponseDto;
+import org.onlineshop.dto.order.OrderStatusResponseDto;
+import org.onlineshop.entity.Order;
+import org.onlineshop.repository.OrderRepository;
+import org.onlineshop.service.interfaces.CheckoutServiceInterface;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checkout pipeline: validate, price and persist run on the request thread in one transaction
+ * ({@link OrderService#confirmPayment}); the order is then handed to the notify stage and the caller gets the
+ * order status right away. The notify stage generates the invoice, sends the confirmation email and marks the
+ * order PAID on a bounded pool of workers, so the checkout latency does not depend on the mail server.
+ */
+@Slf4j
+@Service
+public class CheckoutService implements CheckoutServiceInterface {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final CheckoutConfig config;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor notifyExecutor;
+    private final Set<Integer> queuedOrderIds = ConcurrentHashMap.newKeySet();
+
+    public CheckoutService(OrderService orderService, OrderRepository orderRepository, CheckoutConfig config,
+                           PlatformTransactionManager transactionManager) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.config = config;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        int threads = Math.max(1, config.getNotifyThreads());
+        this.notifyExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getNotifyQueueCapacity())),
+                new NotifyThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Confirms the payment of an order and queues its confirmation email.
+     * The order is committed in status PROCESSING before it is queued; it turns PAID once the email is sent,
+     * or back to PENDING_PAYMENT if sending fails.
+     *
+     * @param orderId       the ID of the order to confirm payment for
+     * @param paymentMethod the method of payment used
+     * @return the status of the order right after it was persisted
+     */
+    @Override
+    public OrderStatusResponseDto confirmPayment(Integer orderId, String paymentMethod) {
+        OrderResponseDto order = orderService.confirmPayment(orderId, paymentMethod);
+        submitNotification(orderId);
+        return new OrderStatusResponseDto(order.getStatus(), order.getUpdatedAt());
+    }
+
+    /**
+     * Queues the notify stage of a confirmed order. An order that is already queued is not queued twice.
+     *
+     * @param orderId the ID of the order in status PROCESSING
+     * @return false if the queue is full; the order is then picked up by {@link #recoverStalledCheckouts()}
+     */
+    @Override
+    public boolean submitNotification(Integer orderId) {
+        if (!queuedOrderIds.add(orderId)) {
+            return true;
+        }
+        try {
+            notifyExecutor.execute(() -> notifyOrder(orderId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            queuedOrderIds.remove(orderId);
+            log.warn("Checkout notification queue is full, order {} is left for the recovery scan", orderId);
+            return false;
+        }
+    }
+
+    /**
+     * Queues the orders that have stayed in PROCESSING longer than {@code order.checkout.stalled-after},
+     * e.g. because the queue was full or the instance stopped. Each order is claimed by a conditional UPDATE
+     * first, so of several instances only one queues it.
+     *
+     * @return the number of queued orders
+     */
+    @Override
+    public int recoverStalledCheckouts() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(config.getStalledAfter());
+        List<Integer> orderIds = orderRepository.findStalledOrders(Order.Status.PROCESSING, cutoff,
+                PageRequest.of(0, config.getRecoveryBatchSize()));
+
+        int queued = 0;
+        for (Integer orderId : orderIds) {
+            if (queuedOrderIds.contains(orderId)) {
+                continue;
+            }
+            Integer claimed = transactionTemplate.execute(status -> orderRepository.touchStalledOrder(orderId,
+                    Order.Status.PROCESSING, cutoff, LocalDateTime.now()));
+            if (claimed != null && claimed == 1 && submitNotification(orderId)) {
+                queued++;
+                log.info("Order {} stalled in PROCESSING, notification queued again", orderId);
+            }
+        }
+        return queued;
+    }
+
+    @Scheduled(fixedDelayString = "${order.checkout.recovery-interval:PT1M}")
+    void recoverStalledCheckoutsOnSchedule() {
+        if (config.isRecoveryEnabled()) {
+            recoverStalledCheckouts();
+        }
+    }
+
+    /**
+     * @return the number of orders waiting for or running the notify stage
+     */
+    public int pendingNotifications() {
+        return queuedOrderIds.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        notifyExecutor.shutdown();
+        if (!notifyExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("{} checkout notifications left for the recovery scan", notifyExecutor.shutdownNow().size());
+        }
+    }
+
+    private void notifyOrder(Integer orderId) {
+        try {
+            orderService.processOrderPayment(orderId);
+        } finally {
+            queuedOrderIds.remove(orderId);
+        }
+    }
+
+    private static final class NotifyThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "checkout-notify-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.onlineshop.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.config.RetryOnOptimisticLock;
 import org.onlineshop.dto.orderItem.OrderItemResponseDto;
 import org.onlineshop.dto.orderItem.OrderItemUpdateDto;
 import org.onlineshop.entity.Order;
@@ -38,6 +39,7 @@ public class OrderItemService implements OrderItemServiceInterface {
      * @throws NotFoundException   if no order item is found with the specified ID
      */
     @Transactional
+    @RetryOnOptimisticLock
     @Override
     public void deleteItemFromOrder(Integer orderItemId) {
         if (orderItemId == null) {
@@ -79,6 +81,7 @@ public class OrderItemService implements OrderItemServiceInterface {
      * @throws NotFoundException        if no order item is found with the specified ID
      */
     @Transactional
+    @RetryOnOptimisticLock
     @Override
     public OrderItemResponseDto updateItemQuantityInOrder(OrderItemUpdateDto dto) {
         if (dto == null) {
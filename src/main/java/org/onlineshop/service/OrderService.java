@@ -3,6 +3,7 @@ package org.onlineshop.service;
 import lombok.Generated;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.config.RetryOnOptimisticLock;
 import org.onlineshop.dto.order.OrderRequestDto;
 import org.onlineshop.dto.order.OrderResponseDto;
 import org.onlineshop.dto.order.OrderStatusResponseDto;
@@ -11,6 +12,7 @@ import org.onlineshop.exception.BadRequestException;
 import org.onlineshop.exception.NotFoundException;
 import org.onlineshop.repository.OrderRepository;
 import org.onlineshop.repository.UserRepository;
+import org.onlineshop.service.cache.CartWriteBuffer;
 import org.onlineshop.service.converter.CartItemConverter;
 import org.onlineshop.service.converter.OrderConverter;
 import org.onlineshop.service.interfaces.OrderServiceInterface;
@@ -43,27 +45,34 @@ public class OrderService implements OrderServiceInterface {
     private final CartService cartService;
     private final CartItemConverter cartItemConverter;
     private final PriceCalculator priceCalculator;
+    private final StockReservationService stockReservationService;
+    private final CartWriteBuffer cartWriteBuffer;
 
     /**
      * Transfers the contents of the current user's shopping cart to a new order
      * and updates the order repository and user information.
      * <p>
      * This method performs the following steps:
-     * 1. Retrieves the current cart and validates it is not empty.
+     * 1. Retrieves the current cart, writes its buffered quantity changes and validates it is not empty.
      * 2. Converts cart items to order items while validating the presence of product discounts.
      * 3. Checks that the user does not already have an order in the PENDING_PAYMENT status.
-     * 4. Creates a new order with the appropriate status and delivery method and saves it to the repository.
-     * 5. Associates the converted order items with the newly created order.
-     * 6. Updates the user's order list and persists the changes.
+     * 4. Reserves the ordered quantities of the products' stock.
+     * 5. Creates a new order with the appropriate status and delivery method and saves it to the repository.
+     * 6. Associates the converted order items with the newly created order.
+     * 7. Updates the user's order list and persists the changes.
      *
      * @throws BadRequestException if the cart is empty, any product lacks a discount price,
-     *                             or if the user already has an order in PENDING_PAYMENT status.
+     *                             if the user already has an order in PENDING_PAYMENT status,
+     *                             or if any product does not have enough stock left.
      */
     @Transactional
+    @RetryOnOptimisticLock
     @Override
     public void transferCartToOrder() {
 
         Cart cart = cartService.getCurrentCart();
+        // the items are loaded lazily, so they are read after the buffered changes are committed
+        cartWriteBuffer.flush(cart.getCartId());
         Set<CartItem> cartItems = cart.getCartItems();
         if (cartItems.isEmpty()) {
             throw new BadRequestException("User's cart is empty. Nothing to transfer.");
@@ -86,11 +95,13 @@ public class OrderService implements OrderServiceInterface {
         if (currentOrder != null) {
             throw new BadRequestException("User already has an order in PENDING_PAYMENT status.");
         }
+        stockReservationService.reserve(orderItems);
         Order newOrder = new Order();
         LocalDateTime now = LocalDateTime.now();
         newOrder.setUser(user);
         newOrder.setStatus(Order.Status.PENDING_PAYMENT);
         newOrder.setDeliveryMethod(Order.DeliveryMethod.PICKUP);
+        newOrder.setStockReserved(true);
         newOrder.setCreatedAt(now);
         newOrder.setUpdatedAt(now);
         Order savedOrder = orderRepository.save(newOrder);
@@ -162,6 +173,7 @@ public class OrderService implements OrderServiceInterface {
      */
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public OrderResponseDto updateOrderStatus(Integer orderId, String newStatus) {
         if (!isAccessToOrderAllowed(orderId)) {
             throw new AccessDeniedException("Access denied");
@@ -172,6 +184,9 @@ public class OrderService implements OrderServiceInterface {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new NotFoundException("Order not found with ID: " + orderId));
         Order.Status updatedStatus = Order.Status.valueOf(newStatus.toUpperCase());
+        if (updatedStatus == Order.Status.CANCELLED) {
+            releaseReservedStock(order);
+        }
         order.setStatus(updatedStatus);
         orderRepository.save(order);
         log.info("Order {} status updated to {}", orderId, updatedStatus);
@@ -179,7 +194,7 @@ public class OrderService implements OrderServiceInterface {
     }
 
     /**
-     * Cancel an order.
+     * Cancel an order and return its reserved stock.
      *
      * @param orderId the ID of the order to be canceled - must not be null
      * @throws NotFoundException     if the order with the specified ID is not found
@@ -187,6 +202,7 @@ public class OrderService implements OrderServiceInterface {
      */
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public void cancelOrder(Integer orderId) {
         if (orderId == null) {
             throw new IllegalArgumentException("OrderId cannot be null");
@@ -200,13 +216,29 @@ public class OrderService implements OrderServiceInterface {
         if (!order.getStatus().equals(Order.Status.PENDING_PAYMENT)) {
             throw new BadRequestException("You can't CANCEL order for an order that is not in PENDING_PAYMENT status");
         }
+        releaseReservedStock(order);
         order.setStatus(Order.Status.CANCELLED);
         orderRepository.save(order);
         log.info("Order {} canceled successfully", orderId);
     }
 
     /**
-     * Confirms the payment for a given order, updates the order status, and processes the payment.
+     * Returns the stock reserved at checkout, if the order still holds it.
+     * The flag is cleared in the same transaction, so the stock is released at most once.
+     *
+     * @param order the order being cancelled
+     */
+    private void releaseReservedStock(Order order) {
+        if (order.isStockReserved()) {
+            stockReservationService.release(order.getOrderItems());
+            order.setStockReserved(false);
+        }
+    }
+
+    /**
+     * Confirms the payment for a given order: validates it, recalculates its price, moves it to PROCESSING
+     * and clears the cart. The confirmation email is sent afterwards by the notify stage of the
+     * {@link CheckoutService}, which moves the order to PAID.
      * The method ensures the user has access to the specified order and validates the payment method.
      *
      * @param orderId       the ID of the order to confirm payment for
@@ -218,6 +250,7 @@ public class OrderService implements OrderServiceInterface {
      */
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public OrderResponseDto confirmPayment(Integer orderId, String paymentMethod) {
         if (orderId == null) {
             throw new IllegalArgumentException("OrderId cannot be null");
@@ -240,32 +273,30 @@ public class OrderService implements OrderServiceInterface {
         cartService.clearCart();
         log.info("Order {} in payment confirmation process. Cart cleared.", orderId);
 
-        processOrderPayment(orderId);
-        log.info("Order {} payment processed successfully", orderId);
-
         return orderConverter.toDto(order);
     }
 
     /**
-     * Processes the payment for the specified order by attempting to send a confirmation email.
-     * If the email is successfully sent, the order status is updated to PAID.
+     * Processes the payment for the specified order by queuing the order paid email with the PDF invoice.
+     * If the email is queued, the order status is updated to PAID; the email itself is delivered
+     * by the mail outbox, see {@link org.onlineshop.service.mail.MailOutboxDispatcher}.
      * Otherwise, the order status is reverted to PENDING_PAYMENT.
      * Handles exceptions such as order not found and unexpected errors.
+     * Runs on a worker of the checkout notify stage, see {@link CheckoutService}.
      *
      * @param orderId the unique identifier of the order to be processed
      */
-    @Async
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void processOrderPayment(Integer orderId) {
         try {
-            boolean emailSent = sendEmailWithRetry(orderId);
+            boolean emailQueued = queueOrderPaidEmail(orderId);
 
-            if (emailSent) {
+            if (emailQueued) {
                 updateOrderStatus(orderId, Order.Status.PAID);
                 log.info("Order {} processed successfully - status updated to PAID", orderId);
             } else {
                 updateOrderStatus(orderId, Order.Status.PENDING_PAYMENT);
-                log.error("Order {} email sending failed - status reverted to PENDING_PAYMENT", orderId);
+                log.error("Order {} email could not be queued - status reverted to PENDING_PAYMENT", orderId);
             }
 
         } catch (NotFoundException e) {
@@ -278,42 +309,24 @@ public class OrderService implements OrderServiceInterface {
     }
 
     /**
-     * Attempts to send an email with a generated PDF attachment regarding the specified order.
-     * The method retries a predefined number of times in case of failure, implementing exponential backoff.
+     * Generates the PDF invoice of the specified order and queues the order paid email in the mail outbox.
+     * Delivery and its retries are left to the outbox, so no SMTP call happens in this transaction.
      *
      * @param orderId the unique identifier of the order for which the email will be sent
-     * @return true if the email is successfully sent within the retry limit, otherwise false
+     * @return true if the email is queued, otherwise false
      */
     @Transactional
-    protected boolean sendEmailWithRetry(Integer orderId) {
+    protected boolean queueOrderPaidEmail(Integer orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new NotFoundException("Order not found: " + orderId));
-
-        int maxAttempts = 3;
-
-        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
-            try {
-                byte[] pdfBytes = PdfOrderGenerator.generatePdfOrder(order);
-                mailUtil.sendOrderPaidEmail(order.getUser(), order, pdfBytes);
-                log.info("Email sent successfully for order {} (attempt {})", orderId, attempt);
-                return true;
-
-            } catch (Exception e) {
-                log.warn("Email attempt {}/{} failed for order {}: {}",
-                        attempt, maxAttempts, orderId, e.getMessage());
-
-                if (attempt < maxAttempts) {
-                    try {
-                        Thread.sleep(5000L * attempt);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        return false;
-                    }
-                }
-            }
+        try {
+            byte[] pdfBytes = PdfOrderGenerator.generatePdfOrder(order);
+            mailUtil.sendOrderPaidEmail(order.getUser(), order, pdfBytes);
+            return true;
+        } catch (Exception e) {
+            log.warn("Email for order {} could not be queued: {}", orderId, e.getMessage());
+            return false;
         }
-
-        return false;
     }
 
     /**
@@ -363,6 +376,7 @@ public class OrderService implements OrderServiceInterface {
      */
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public OrderResponseDto updateOrderDelivery(Integer orderId, OrderRequestDto orderRequestDto) {
         if (!isAccessToOrderAllowed(orderId)) {
             throw new AccessDeniedException("Access denied");
@@ -0,0 +1,287 @@
+package org.onlineshop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.config.ProductImportConfig;
+import org.onlineshop.dto.category.CategoryResponseDto;
+import org.onlineshop.dto.product.ProductImportErrorDto;
+import org.onlineshop.dto.product.ProductImportReportDto;
+import org.onlineshop.dto.product.ProductRequestDto;
+import org.onlineshop.exception.BadRequestException;
+import org.onlineshop.service.cache.CategoryNameIndex;
+import org.onlineshop.service.cache.ProductCatalogChangedEvent;
+import org.onlineshop.service.interfaces.ProductImportServiceInterface;
+import org.onlineshop.service.util.ProductImportReader;
+import org.onlineshop.service.util.ProductServiceHelper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportService implements ProductImportServiceInterface {
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products " +
+            "(name, description, price, discount_price, stock, image, category_id, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0) ON CONFLICT DO NOTHING";
+
+    private static final String SELECT_EXISTING_PRODUCTS = "SELECT category_id, LOWER(name) FROM products " +
+            "WHERE LOWER(name) IN (%s)";
+
+    private final CategoryNameIndex categoryIndex;
+    private final ProductServiceHelper helper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ProductImportConfig config;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private ExecutorService imageValidationExecutor;
+
+    @PostConstruct
+    void startImageValidationExecutor() {
+        imageValidationExecutor = Executors.newFixedThreadPool(config.getImageValidationConcurrency());
+    }
+
+    @PreDestroy
+    void stopImageValidationExecutor() {
+        imageValidationExecutor.shutdownNow();
+    }
+
+    /**
+     * Imports products from a CSV or NDJSON stream.
+     * Rows are read and processed in batches of {@code product.import.batch-size}, so memory use does not depend
+     * on the size of the upload. Categories are resolved through the in-memory {@link CategoryNameIndex} ignoring case,
+     * names already taken in the category are looked up with one query per batch ignoring case, image URLs of a
+     * batch are validated in parallel on a bounded pool, and each batch is inserted with a single JDBC batch in its
+     * own transaction. Invalid rows, unknown categories and duplicates are skipped and reported by line number.
+     *
+     * @param inputStream the uploaded file content
+     * @param contentType {@code text/csv} or {@code application/x-ndjson}
+     * @return a report with row counts and the errors of the rejected rows
+     * @throws BadRequestException if the content type is not supported, the CSV header is invalid
+     *                             or the upload cannot be read
+     */
+    @Override
+    public ProductImportReportDto importProducts(InputStream inputStream, String contentType) {
+        ProductImportReader.Format format = ProductImportReader.Format.fromContentType(contentType);
+        ImportProgress progress = new ImportProgress(config.getMaxReportedErrors());
+
+        try (ProductImportReader reader = new ProductImportReader(inputStream, format, objectMapper)) {
+            List<ProductImportReader.Row> batch = new ArrayList<>(config.getBatchSize());
+            ProductImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                batch.add(row);
+                if (batch.size() == config.getBatchSize()) {
+                    importBatch(batch, progress);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                importBatch(batch, progress);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Import file could not be read: " + e.getMessage());
+        } finally {
+            if (!progress.categoryNames.isEmpty()) {
+                eventPublisher.publishEvent(ProductCatalogChangedEvent.of(progress.discounted,
+                        progress.categoryNames.toArray(String[]::new)));
+            }
+        }
+        log.info("Product import finished: {} rows, {} imported, {} failed",
+                progress.totalRows, progress.importedRows, progress.failedRows);
+        return progress.toReport();
+    }
+
+    private void importBatch(List<ProductImportReader.Row> batch, ImportProgress progress) {
+        List<ValidRow> validRows = new ArrayList<>(batch.size());
+        for (ProductImportReader.Row row : batch) {
+            progress.totalRows++;
+            if (row.getError() != null) {
+                progress.fail(row.getLine(), row.getError());
+                continue;
+            }
+            String error = validate(row.getProduct());
+            Optional<CategoryResponseDto> category = categoryIndex.find(row.getProduct().getProductCategory());
+            if (error == null && category.isEmpty()) {
+                error = "Category with name: " + row.getProduct().getProductCategory() + " not found";
+            }
+            if (error != null) {
+                progress.fail(row.getLine(), error);
+            } else {
+                validRows.add(new ValidRow(row, category.get()));
+            }
+        }
+        validRows = withoutDuplicates(validRows, progress);
+
+        List<Future<String>> images = validRows.stream()
+                .map(row -> imageValidationExecutor.submit(() -> helper.resolveImageUrl(row.product().getImage())))
+                .toList();
+        List<ValidRow> rowsToInsert = new ArrayList<>(validRows.size());
+        List<Object[]> parameters = new ArrayList<>(validRows.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < validRows.size(); i++) {
+            ValidRow row = validRows.get(i);
+            try {
+                String image = images.get(i).get();
+                ProductRequestDto product = row.product();
+                rowsToInsert.add(row);
+                parameters.add(new Object[]{product.getProductName().trim(), product.getProductDescription(),
+                        product.getProductPrice(), product.getProductDiscountPrice(), product.getProductStock(), image,
+                        row.category().getCategoryId(), now, now});
+            } catch (ExecutionException e) {
+                progress.fail(row.line(), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Product import was interrupted", e);
+            }
+        }
+        if (rowsToInsert.isEmpty()) {
+            return;
+        }
+
+        int[] insertedCounts;
+        try {
+            insertedCounts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_PRODUCT, parameters));
+        } catch (DataAccessException e) {
+            log.warn("Product import batch starting at line {} failed", rowsToInsert.get(0).line(), e);
+            rowsToInsert.forEach(row -> progress.fail(row.line(), "Batch could not be saved: " + e.getMostSpecificCause().getMessage()));
+            return;
+        }
+        for (int i = 0; i < rowsToInsert.size(); i++) {
+            ValidRow row = rowsToInsert.get(i);
+            if (insertedCounts[i] == 0) {
+                progress.fail(row.line(), duplicateMessage(row));
+            } else {
+                progress.importedRows++;
+                progress.categoryNames.add(row.category().getCategoryName());
+                progress.discounted |= row.product().getProductDiscountPrice().compareTo(BigDecimal.ZERO) > 0;
+            }
+        }
+    }
+
+    /**
+     * Rejects the rows whose name, ignoring case, is already taken in their category, either by a stored product
+     * or by an earlier row of the same batch. Stored names of the whole batch are looked up with one query;
+     * earlier batches are committed by then, so duplicates across batches are found as well.
+     */
+    private List<ValidRow> withoutDuplicates(List<ValidRow> rows, ImportProgress progress) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        List<String> names = rows.stream()
+                .map(row -> row.product().getProductName().trim().toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+        Set<String> takenNames = new HashSet<>();
+        jdbcTemplate.query(SELECT_EXISTING_PRODUCTS.formatted(String.join(", ", Collections.nCopies(names.size(), "?"))),
+                resultSet -> {
+                    takenNames.add(productKey(resultSet.getInt(1), resultSet.getString(2)));
+                },
+                names.toArray());
+
+        List<ValidRow> uniqueRows = new ArrayList<>(rows.size());
+        for (ValidRow row : rows) {
+            String key = productKey(row.category().getCategoryId(),
+                    row.product().getProductName().trim().toLowerCase(Locale.ROOT));
+            if (takenNames.add(key)) {
+                uniqueRows.add(row);
+            } else {
+                progress.fail(row.line(), duplicateMessage(row));
+            }
+        }
+        return uniqueRows;
+    }
+
+    private static String productKey(Integer categoryId, String lowerCaseName) {
+        return categoryId + ":" + lowerCaseName;
+    }
+
+    private static String duplicateMessage(ValidRow row) {
+        return "Product with name '" + row.product().getProductName().trim()
+                + "' already exists in category '" + row.category().getCategoryName() + "'";
+    }
+
+    private String validate(ProductRequestDto product) {
+        Set<ConstraintViolation<ProductRequestDto>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return null;
+    }
+
+    /**
+     * A row that passed validation, with its category resolved to the stored one.
+     */
+    private record ValidRow(ProductImportReader.Row row, CategoryResponseDto category) {
+
+        long line() {
+            return row.getLine();
+        }
+
+        ProductRequestDto product() {
+            return row.getProduct();
+        }
+    }
+
+    private static class ImportProgress {
+        private final int maxReportedErrors;
+        private final List<ProductImportErrorDto> errors = new ArrayList<>();
+        private final Set<String> categoryNames = new HashSet<>();
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+        private boolean discounted;
+
+        private ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void fail(long line, String message) {
+            failedRows++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportErrorDto(line, message));
+            }
+        }
+
+        private ProductImportReportDto toReport() {
+            return ProductImportReportDto.builder()
+                    .totalRows(totalRows)
+                    .importedRows(importedRows)
+                    .failedRows(failedRows)
+                    .errors(errors)
+                    .errorsTruncated(failedRows > errors.size())
+                    .build();
+        }
+    }
+}
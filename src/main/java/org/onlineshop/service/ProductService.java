@@ -3,39 +3,79 @@ package org.onlineshop.service;
 import lombok.Generated;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.config.CatalogFacetsConfig;
+import org.onlineshop.dto.product.ProductBulkDiscountRequestDto;
+import org.onlineshop.dto.product.ProductBulkDiscountResponseDto;
+import org.onlineshop.dto.product.ProductCursorPageDto;
+import org.onlineshop.dto.product.ProductFacetsDto;
+import org.onlineshop.dto.product.ProductFilterRequestDto;
 import org.onlineshop.dto.product.ProductRequestDto;
 import org.onlineshop.dto.product.ProductResponseDto;
 import org.onlineshop.dto.product.ProductResponseForUserDto;
+import org.onlineshop.dto.product.ProductSliceDto;
 import org.onlineshop.dto.product.ProductUpdateDto;
 import org.onlineshop.entity.Category;
 import org.onlineshop.entity.Product;
+import org.onlineshop.exception.BadRequestException;
 import org.onlineshop.exception.NotFoundException;
 import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.service.cache.ProductCatalogCache;
+import org.onlineshop.service.cache.ProductCountEstimator;
+import org.onlineshop.service.cache.TopDiscountedProductsSnapshot;
+import org.onlineshop.service.cache.ProductCatalogChangedEvent;
 import org.onlineshop.service.converter.ProductConverter;
 import org.onlineshop.service.interfaces.ProductServiceInterface;
+import org.onlineshop.service.util.ProductCursor;
 import org.onlineshop.service.util.ProductServiceHelper;
+import org.onlineshop.service.util.ProductSpecifications;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class ProductService implements ProductServiceInterface {
 
+    private static final Map<String, String> NATIVE_SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "price", "price",
+            "effectivePrice", "effective_price",
+            "discountPrice", "discount_price",
+            "createdAt", "created_at");
+
     private final ProductRepository productRepository;
     private final CategoryService categoryService;
     private final ProductConverter productConverter;
     private final ProductServiceHelper helper;
+    private final ProductCatalogCache catalogCache;
+    private final TopDiscountedProductsSnapshot topDiscountedProducts;
+    private final ProductCountEstimator countEstimator;
+    private final CatalogFacetsConfig facetsConfig;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CartService cartService;
+    private final StockReservationService stockReservationService;
 
     /**
      * Adds a new product to the system based on the provided product details.
@@ -69,6 +109,7 @@ public class ProductService implements ProductServiceInterface {
                 .description(productRequestDto.getProductDescription())
                 .price(productRequestDto.getProductPrice())
                 .discountPrice(productRequestDto.getProductDiscountPrice())
+                .stock(productRequestDto.getProductStock())
                 .image(finalImage)
                 .category(category)
                 .createdAt(now)
@@ -77,6 +118,8 @@ public class ProductService implements ProductServiceInterface {
 
         try {
             Product savedProduct = productRepository.save(productToSave);
+            eventPublisher.publishEvent(ProductCatalogChangedEvent.of(
+                    isDiscounted(savedProduct.getDiscountPrice()), category.getCategoryName()));
             log.info("Product {} successfully added", savedProduct.getName());
             return productConverter.toDto(savedProduct);
         } catch (DataIntegrityViolationException e) {
@@ -112,6 +155,10 @@ public class ProductService implements ProductServiceInterface {
         }
         Product productToUpdate = productRepository.findById(productId)
                 .orElseThrow(() -> new NotFoundException("Product with id = " + productId + " not found"));
+        String previousCategoryName = productToUpdate.getCategory().getCategoryName();
+        boolean wasDiscounted = isDiscounted(productToUpdate.getDiscountPrice());
+        BigDecimal previousPrice = productToUpdate.getPrice();
+        BigDecimal previousDiscountPrice = productToUpdate.getDiscountPrice();
 
         String targetName = (productUpdateDto.getProductName() != null && !productUpdateDto.getProductName().isBlank())
                 ? productUpdateDto.getProductName().trim()
@@ -175,6 +222,17 @@ public class ProductService implements ProductServiceInterface {
         productToUpdate.setUpdatedAt(LocalDateTime.now());
 
         Product updatedProduct = productRepository.save(productToUpdate);
+        if (productUpdateDto.getProductStock() != null) {
+            stockReservationService.replaceStock(updatedProduct.getId(), productUpdateDto.getProductStock());
+            updatedProduct.setStock(productUpdateDto.getProductStock());
+        }
+        if (!isSameAmount(previousPrice, updatedProduct.getPrice())
+                || !isSameAmount(previousDiscountPrice, updatedProduct.getDiscountPrice())) {
+            cartService.recalculateSummariesOfProducts(List.of(updatedProduct.getId()));
+        }
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(
+                wasDiscounted || isDiscounted(updatedProduct.getDiscountPrice()),
+                previousCategoryName, updatedProduct.getCategory().getCategoryName()));
         log.info("Product {} successfully updated", updatedProduct.getName());
         return productConverter.toDto(updatedProduct);
     }
@@ -208,10 +266,60 @@ public class ProductService implements ProductServiceInterface {
         product.setUpdatedAt(LocalDateTime.now());
 
         Product updatedProduct = productRepository.save(product);
+        cartService.recalculateSummariesOfProducts(List.of(updatedProduct.getId()));
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(true, updatedProduct.getCategory().getCategoryName()));
         log.info("Discount price for product {} successfully updated", updatedProduct.getName());
         return productConverter.toDto(updatedProduct);
     }
 
+    /**
+     * Sets the same discount price for every product selected by a category, a price band and/or an id list.
+     * The selectors are combined with AND and applied with a single UPDATE statement that also increments
+     * the version and the update timestamp of every affected product.
+     *
+     * @param request the discount to apply and the product selectors
+     * @return a {@code ProductBulkDiscountResponseDto} with the number of updated products
+     * @throws IllegalArgumentException if the request is null
+     * @throws BadRequestException      if no selector is provided
+     * @throws NotFoundException        if the given category does not exist
+     */
+    @Transactional
+    @Override
+    public ProductBulkDiscountResponseDto setDiscountPriceInBulk(ProductBulkDiscountRequestDto request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Bulk discount request cannot be null");
+        }
+        boolean byCategory = request.getCategory() != null && !request.getCategory().isBlank();
+        boolean byIds = request.getProductIds() != null && !request.getProductIds().isEmpty();
+        boolean byPrice = request.getMinPrice() != null || request.getMaxPrice() != null;
+        if (!byCategory && !byIds && !byPrice) {
+            throw new BadRequestException("At least one of category, price range or product ids must be provided");
+        }
+
+        Specification<Product> specification = toSpecification(ProductFilterRequestDto.builder()
+                .minPrice(request.getMinPrice())
+                .maxPrice(request.getMaxPrice())
+                .build());
+        Category category = null;
+        if (byCategory) {
+            category = categoryService.getCategoryByName(request.getCategory().trim());
+            specification = specification.and(ProductSpecifications.inCategory(category));
+        }
+        if (byIds) {
+            specification = specification.and(ProductSpecifications.idIn(request.getProductIds()));
+        }
+
+        int updatedProducts = productRepository.updateDiscountPrice(specification, request.getDiscountPrice());
+        if (updatedProducts > 0) {
+            cartService.recalculateSummaries(productRepository.findCartIdsWithProducts(specification));
+            eventPublisher.publishEvent(byCategory && !byIds && !byPrice
+                    ? ProductCatalogChangedEvent.of(true, category.getCategoryName())
+                    : ProductCatalogChangedEvent.all());
+        }
+        log.info("Discount price {} applied to {} products", request.getDiscountPrice(), updatedProducts);
+        return new ProductBulkDiscountResponseDto(updatedProducts);
+    }
+
     /**
      * Deletes a product with the specified ID.
      *
@@ -227,7 +335,11 @@ public class ProductService implements ProductServiceInterface {
         }
         Product productToDelete = productRepository.findById(productId)
                 .orElseThrow(() -> new NotFoundException("Product with id = " + productId + " not found"));
+        List<Integer> affectedCartIds = cartService.getCartIdsWithProducts(List.of(productId));
         productRepository.delete(productToDelete);
+        cartService.recalculateSummaries(affectedCartIds);
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(
+                isDiscounted(productToDelete.getDiscountPrice()), productToDelete.getCategory().getCategoryName()));
         log.info("Product {} successfully deleted", productToDelete.getName());
         return productConverter.toDto(productToDelete);
     }
@@ -243,8 +355,8 @@ public class ProductService implements ProductServiceInterface {
     /**
      * Retrieves a paginated list of products based on the specified search criteria.
      *
-     * @param paramName  the name of the search parameter to filter products, such as "price", "discount", "category", "name", or "createDate"
-     * @param paramValue the value of the search parameter to apply, such as a price range for "price" or a category name for "category"
+     * @param paramName  the name of the search parameter to filter products, such as "price", "effectivePrice", "discount", "category", "name", or "createDate"
+     * @param paramValue the value of the search parameter to apply, such as a price range for "price" and "effectivePrice" or a category name for "category"
      * @param pageable   the pagination information, including page number and size
      * @return a paginated list of products that match the specified search criteria
      */
@@ -253,25 +365,13 @@ public class ProductService implements ProductServiceInterface {
     public Page<ProductResponseDto> getProductsByCriteria(String paramName, String paramValue, Pageable pageable) {
         switch (paramName) {
             case "price":
-                String[] priceRange = paramValue.split("-");
-                if (priceRange.length != 2) {
-                    throw new IllegalArgumentException("Price range must be specified as a minimum and maximum price separated by a dash");
-                }
-                if (priceRange[0].isBlank() || priceRange[1].isBlank()) {
-                    throw new IllegalArgumentException("Price range must contain both minimum and maximum prices");
-                }
-                BigDecimal minPrice;
-                BigDecimal maxPrice;
-                try {
-                    minPrice = new BigDecimal(priceRange[0].trim());
-                    maxPrice = new BigDecimal(priceRange[1].trim());
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("Both prices must be valid numbers. Error: " + e.getMessage());
-                }
-                if (minPrice.compareTo(BigDecimal.ZERO) < 0 || maxPrice.compareTo(BigDecimal.ZERO) < 0) {
-                    throw new IllegalArgumentException("Prices cannot be negative");
-                }
-                return getProductsByPriceRange(minPrice, maxPrice, pageable);
+                BigDecimal[] priceRange = parsePriceRange(paramValue);
+                return getProductsByPriceRange(priceRange[0], priceRange[1], pageable);
+            case "effectivePrice": {
+                BigDecimal[] effectivePriceRange = parsePriceRange(paramValue);
+                return productRepository.findResponseDtosByEffectivePriceBetween(
+                        effectivePriceRange[0].min(effectivePriceRange[1]), effectivePriceRange[0].max(effectivePriceRange[1]), pageable);
+            }
             case "discount":
                 return getProductsByDiscount(pageable);
             case "category":
@@ -285,9 +385,221 @@ public class ProductService implements ProductServiceInterface {
         }
     }
 
+    /**
+     * Retrieves a keyset page of all products.
+     * Unlike {@link #getAllProducts(Pageable)}, the cost of a page does not grow with its depth
+     * and no total count is calculated.
+     *
+     * @param cursor    the cursor returned with the previous page; null or blank for the first page
+     * @param size      the number of products per page
+     * @param sortField the field to sort by: createdAt, price, effectivePrice or id
+     * @param direction the sort direction
+     * @return a page of product response DTOs with the cursor for the next page
+     * @throws BadRequestException if the cursor is malformed or was issued for a different ordering
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ProductCursorPageDto<ProductResponseDto> getAllProductsWithCursor(String cursor, int size,
+                                                                             String sortField, Sort.Direction direction) {
+        return findPageWithCursor(Specification.where(null), cursor, size, sortField, direction);
+    }
+
+    /**
+     * Retrieves a keyset page of products matching the specified search criteria.
+     * Accepts the same criteria as {@link #getProductsByCriteria(String, String, Pageable)}.
+     *
+     * @param paramName  the name of the search parameter: price, effectivePrice, discount, category, name or createDate
+     * @param paramValue the value of the search parameter
+     * @param cursor     the cursor returned with the previous page; null or blank for the first page
+     * @param size       the number of products per page
+     * @param sortField  the field to sort by: createdAt, price, effectivePrice or id
+     * @param direction  the sort direction
+     * @return a page of matching product response DTOs with the cursor for the next page
+     * @throws BadRequestException if the cursor is malformed or was issued for a different ordering
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ProductCursorPageDto<ProductResponseDto> getProductsByCriteriaWithCursor(String paramName, String paramValue,
+                                                                                    String cursor, int size,
+                                                                                    String sortField, Sort.Direction direction) {
+        Specification<Product> filter = switch (paramName) {
+            case "price" -> {
+                BigDecimal[] priceRange = parsePriceRange(paramValue);
+                yield priceRange[0].compareTo(priceRange[1]) > 0
+                        ? ProductSpecifications.priceBetween(priceRange[1], priceRange[0])
+                        : ProductSpecifications.priceBetween(priceRange[0], priceRange[1]);
+            }
+            case "effectivePrice" -> {
+                BigDecimal[] priceRange = parsePriceRange(paramValue);
+                yield ProductSpecifications.effectivePriceBetween(priceRange[0].min(priceRange[1]), priceRange[0].max(priceRange[1]));
+            }
+            case "discount" -> ProductSpecifications.discounted();
+            case "category" -> ProductSpecifications.inCategory(categoryService.getCategoryByName(paramValue));
+            case "name" -> ProductSpecifications.nameContainsIgnoreCase(paramValue);
+            default -> Specification.where(null);
+        };
+        return findPageWithCursor(filter, cursor, size, sortField, direction);
+    }
+
+    /**
+     * Retrieves a paginated list of products matching every criterion set in the filter.
+     * All criteria are combined into a single query; criteria left empty are ignored.
+     *
+     * @param filter   the filter criteria: category, price and effective price ranges, discount flag, name fragment and creation date range
+     * @param pageable the pagination and sorting information
+     * @return a paginated list of matching product response DTOs
+     * @throws NotFoundException   if the filter names a category that does not exist
+     * @throws BadRequestException if the creation date range is reversed
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public Page<ProductResponseDto> getProductsByFilter(ProductFilterRequestDto filter, Pageable pageable) {
+        Specification<Product> specification = toSpecification(filter);
+        return productRepository.findBy(specification, query -> query
+                        .sortBy(pageable.getSort())
+                        .project("category")
+                        .page(pageable))
+                .map(productConverter::toDto);
+    }
+
+    /**
+     * Counts the products matching the filter per category, per configured price bucket and with a discount.
+     * The counts are computed in a single aggregate query and cached until the next catalog change.
+     *
+     * @param filter the filter criteria: category, price and effective price ranges, discount flag, name fragment and creation date range
+     * @return the facet counts of the matching products
+     * @throws NotFoundException   if the filter names a category that does not exist
+     * @throws BadRequestException if the creation date range is reversed
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ProductFacetsDto getProductFacets(ProductFilterRequestDto filter) {
+        Specification<Product> specification = toSpecification(filter);
+        List<BigDecimal> priceBuckets = facetsConfig.getPriceBuckets().stream()
+                .distinct()
+                .sorted()
+                .toList();
+        return catalogCache.get(ProductCatalogCache.Region.FACETS, String.valueOf(filter), null,
+                () -> productRepository.countFacets(specification, priceBuckets));
+    }
+
+    /**
+     * Retrieves a keyset page of products matching every criterion set in the filter.
+     *
+     * @param filter    the filter criteria: category, price and effective price ranges, discount flag, name fragment and creation date range
+     * @param cursor    the cursor returned with the previous page; null or blank for the first page
+     * @param size      the number of products per page
+     * @param sortField the field to sort by: createdAt, price, effectivePrice or id
+     * @param direction the sort direction
+     * @return a page of matching product response DTOs with the cursor for the next page
+     * @throws NotFoundException   if the filter names a category that does not exist
+     * @throws BadRequestException if the creation date range is reversed, or the cursor is malformed
+     *                             or was issued for a different ordering
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ProductCursorPageDto<ProductResponseDto> getProductsByFilterWithCursor(ProductFilterRequestDto filter, String cursor,
+                                                                                  int size, String sortField,
+                                                                                  Sort.Direction direction) {
+        return findPageWithCursor(toSpecification(filter), cursor, size, sortField, direction);
+    }
+
+    /**
+     * Retrieves a keyset page of products formatted for user consumption.
+     *
+     * @param cursor    the cursor returned with the previous page; null or blank for the first page
+     * @param size      the number of products per page
+     * @param sortField the field to sort by: createdAt, price, effectivePrice or id
+     * @param direction the sort direction
+     * @return a page of ProductResponseForUserDto objects with the cursor for the next page
+     * @throws BadRequestException if the cursor is malformed or was issued for a different ordering
+     */
+    @Transactional(readOnly = true)
+    public ProductCursorPageDto<ProductResponseForUserDto> getProductsForUserWithCursor(String cursor, int size,
+                                                                                       String sortField, Sort.Direction direction) {
+        ProductCursorPageDto<ProductResponseDto> page = findPageWithCursor(Specification.where(null), cursor, size, sortField, direction);
+        return ProductCursorPageDto.<ProductResponseForUserDto>builder()
+                .content(productConverter.toUserDtos(page.getContent()))
+                .size(page.getSize())
+                .nextCursor(page.getNextCursor())
+                .hasNext(page.isHasNext())
+                .build();
+    }
+
+    /**
+     * Retrieves a slice of products matching the specified search criteria.
+     * Accepts the same criteria as {@link #getProductsByCriteria(String, String, Pageable)}, but fetches
+     * one extra row to tell whether a next page exists instead of running a COUNT query.
+     *
+     * @param paramName    the name of the search parameter: price, effectivePrice, discount, category, name or createDate
+     * @param paramValue   the value of the search parameter
+     * @param pageable     the pagination and sorting information
+     * @param includeTotal whether to add an approximate total; it is estimated or briefly cached, never exact
+     * @return a slice of matching product response DTOs
+     * @throws NotFoundException if the category criterion names a category that does not exist
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ProductSliceDto<ProductResponseDto> getProductsByCriteriaSlice(String paramName, String paramValue,
+                                                                         Pageable pageable, boolean includeTotal) {
+        switch (paramName) {
+            case "price": {
+                BigDecimal[] priceRange = parsePriceRange(paramValue);
+                BigDecimal minPrice = priceRange[0].min(priceRange[1]);
+                BigDecimal maxPrice = priceRange[0].max(priceRange[1]);
+                return toSliceDto(productRepository.findResponseDtosSliceByPriceBetween(minPrice, maxPrice, pageable),
+                        includeTotal, () -> countEstimator.count("price:" + minPrice + ":" + maxPrice,
+                                () -> productRepository.countByPriceBetween(minPrice, maxPrice)));
+            }
+            case "effectivePrice": {
+                BigDecimal[] priceRange = parsePriceRange(paramValue);
+                BigDecimal minPrice = priceRange[0].min(priceRange[1]);
+                BigDecimal maxPrice = priceRange[0].max(priceRange[1]);
+                return toSliceDto(productRepository.findResponseDtosSliceByEffectivePriceBetween(minPrice, maxPrice, pageable),
+                        includeTotal, () -> countEstimator.count("effectivePrice:" + minPrice + ":" + maxPrice,
+                                () -> productRepository.countByEffectivePriceBetween(minPrice, maxPrice)));
+            }
+            case "discount":
+                return toSliceDto(productRepository.findResponseDtosSliceByDiscountPriceGreaterThan(BigDecimal.ZERO, pageable),
+                        includeTotal, () -> countEstimator.count("discount",
+                                () -> productRepository.countByDiscountPriceGreaterThan(BigDecimal.ZERO)));
+            case "category": {
+                Category category = categoryService.getCategoryByName(paramValue);
+                return toSliceDto(productRepository.findResponseDtosSliceByCategory(category, pageable),
+                        includeTotal, () -> countEstimator.count("category:" + category.getCategoryName(),
+                                () -> productRepository.countByCategory(category)));
+            }
+            case "name": {
+                String query = paramValue.trim().toLowerCase();
+                String pattern = ProductSpecifications.containsPattern(query);
+                Slice<Integer> ids = productRepository.searchIdSliceByName(pattern, query, toRankedSearch(pageable));
+                return toSliceDto(new SliceImpl<>(findResponseDtosInOrder(ids.getContent()), ids.getPageable(), ids.hasNext()),
+                        includeTotal, () -> countEstimator.count("name:" + query,
+                                () -> productRepository.countByNameSearch(pattern, query)));
+            }
+            default:
+                return toSliceDto(productRepository.findAllResponseDtosSlice(pageable),
+                        includeTotal, countEstimator::estimateAll);
+        }
+    }
+
+    /**
+     * Retrieves a slice of products formatted for user consumption, without a COUNT query.
+     *
+     * @param pageable     the pagination and sorting information
+     * @param includeTotal whether to add an approximate total taken from the planner statistics
+     * @return a slice of ProductResponseForUserDto objects
+     */
+    @Transactional(readOnly = true)
+    public ProductSliceDto<ProductResponseForUserDto> getProductsForUserSlice(Pageable pageable, boolean includeTotal) {
+        return toSliceDto(productRepository.findAllUserDtosSlice(pageable), includeTotal, countEstimator::estimateAll);
+    }
+
     /**
      * Retrieves a pageable list of products whose names contain the specified part
-     * of a name, ignoring a case.
+     * of a name, ignoring a case, or are similar to it (typos, word order).
+     * Results are ranked by relevance: names containing the text come first, then by trigram
+     * similarity. The sort of the given pageable is applied as a tie-breaker.
      *
      * @param partOfName the partial name used to search products
      * @param pageable   the pagination information including page size and page number
@@ -296,8 +608,25 @@ public class ProductService implements ProductServiceInterface {
     @Transactional(readOnly = true)
     @Override
     public Page<ProductResponseDto> getProductsByPartOfNameIgnoreCase(String partOfName, Pageable pageable) {
-        return productRepository.findByNameContainingIgnoreCase(partOfName, pageable)
-                .map(productConverter::toDto);
+        String query = partOfName.trim().toLowerCase();
+        Page<Integer> ids = productRepository.searchIdsByName(ProductSpecifications.containsPattern(query), query,
+                toRankedSearch(pageable));
+        return new PageImpl<>(findResponseDtosInOrder(ids.getContent()), ids.getPageable(), ids.getTotalElements());
+    }
+
+    /**
+     * Loads the listing rows of the given products with one projection query, keeping the order of the ids.
+     */
+    private List<ProductResponseDto> findResponseDtosInOrder(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, ProductResponseDto> dtosById = productRepository.findResponseDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductResponseDto::getProductId, Function.identity()));
+        return ids.stream()
+                .map(dtosById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     /**
@@ -310,9 +639,10 @@ public class ProductService implements ProductServiceInterface {
     @Transactional(readOnly = true)
     @Override
     public Page<ProductResponseDto> getProductsByCategory(String categoryName, Pageable pageable) {
-        Category category = categoryService.getCategoryByName(categoryName);
-        return productRepository.findByCategory(category, pageable)
-                .map(productConverter::toDto);
+        return catalogCache.get(ProductCatalogCache.Region.CATEGORY, categoryName, pageable, () -> {
+            Category category = categoryService.getCategoryByName(categoryName);
+            return productRepository.findResponseDtosByCategory(category, pageable);
+        });
     }
 
     /**
@@ -341,8 +671,7 @@ public class ProductService implements ProductServiceInterface {
             actualMinPrice = minPrice;
             actualMaxPrice = maxPrice;
         }
-        return productRepository.findByPriceBetween(actualMinPrice, actualMaxPrice, pageable)
-                .map(productConverter::toDto);
+        return productRepository.findResponseDtosByPriceBetween(actualMinPrice, actualMaxPrice, pageable);
     }
 
     /**
@@ -354,8 +683,8 @@ public class ProductService implements ProductServiceInterface {
     @Transactional(readOnly = true)
     @Override
     public Page<ProductResponseDto> getProductsByDiscount(Pageable pageable) {
-        return productRepository.findByDiscountPriceGreaterThan(BigDecimal.ZERO, pageable)
-                .map(productConverter::toDto);
+        return catalogCache.get(ProductCatalogCache.Region.DISCOUNT, null, pageable, () ->
+                productRepository.findResponseDtosByDiscountPriceGreaterThan(BigDecimal.ZERO, pageable));
     }
 
     /**
@@ -370,8 +699,7 @@ public class ProductService implements ProductServiceInterface {
     public Page<ProductResponseDto> getProductsByCreateDate(Pageable pageable) {
         // Используем стандартный findAll с переданным pageable
         // Сортировка должна быть указана в pageable
-        return productRepository.findAll(pageable)
-                .map(productConverter::toDto);
+        return getAllProducts(pageable);
     }
 
     /**
@@ -383,8 +711,8 @@ public class ProductService implements ProductServiceInterface {
     @Transactional(readOnly = true)
     @Override
     public Page<ProductResponseDto> getAllProducts(Pageable pageable) {
-        return productRepository.findAll(pageable)
-                .map(productConverter::toDto);
+        return catalogCache.get(ProductCatalogCache.Region.ALL, null, pageable, () ->
+                productRepository.findAllResponseDtos(pageable));
     }
 
     /**
@@ -395,30 +723,39 @@ public class ProductService implements ProductServiceInterface {
      */
     @Transactional(readOnly = true)
     public Page<ProductResponseForUserDto> getProductsForUser(Pageable pageable) {
-        return productRepository.findAll(pageable)
-                .map(product -> productConverter.toUserDto(productConverter.toDto(product)));
+        return catalogCache.get(ProductCatalogCache.Region.USER, null, pageable, () ->
+                productRepository.findAllUserDtos(pageable));
     }
 
     /**
      * Retrieves the top five discounted products of the day, sorted in descending order of discount.
+     * The list is served from the in-memory snapshot, which is refreshed on a schedule and after discount changes.
      * If no discounted products are found, a NotFoundException is thrown.
      *
      * @return a list of ProductResponseForUserDto containing information about the top five discounted products.
      * @throws NotFoundException if no discounted products are found.
      */
-    @Transactional(readOnly = true)
     public List<ProductResponseForUserDto> getTopFiveDiscountedProductsOfTheDay() {
-        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "discountPrice"));
-        Page<Product> products = productRepository.findByDiscountPriceGreaterThan(BigDecimal.ZERO, pageable);
-        List<ProductResponseDto> productDtos = products.map(productConverter::toDto).getContent();
-        List<ProductResponseForUserDto> result = productConverter.toUserDtos(productDtos);
-
+        List<ProductResponseForUserDto> result = topDiscountedProducts.getProducts();
         if (result.isEmpty()) {
             throw new NotFoundException("No discounted products found");
         }
         return result;
     }
 
+    /**
+     * Retrieves the top five discounted products of the day as a pre-serialized JSON array.
+     *
+     * @return the JSON representation of the top five discounted products
+     * @throws NotFoundException if no discounted products are found.
+     */
+    public byte[] getTopFiveDiscountedProductsOfTheDayJson() {
+        if (topDiscountedProducts.isEmpty()) {
+            throw new NotFoundException("No discounted products found");
+        }
+        return topDiscountedProducts.getJson();
+    }
+
     /**
      * Retrieves a product by its ID.
      *
@@ -431,6 +768,217 @@ public class ProductService implements ProductServiceInterface {
         return productRepository.findById(productId);
     }
 
+    /**
+     * Retrieves the products with the given IDs with a single query.
+     *
+     * @param productIds the IDs of the products to retrieve
+     * @return the products found; unknown IDs are skipped
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<Product> getProductsByIds(Collection<Integer> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return productRepository.findAllById(productIds);
+    }
+
+    /**
+     * Compiles the filter into one specification. The category and discount conditions are matched by
+     * {@code idx_products_category_discount}, price and creation date bounds by the price and date indexes.
+     *
+     * @param filter the filter criteria; null fields are ignored
+     * @return the combined specification
+     * @throws NotFoundException   if the filter names a category that does not exist
+     * @throws BadRequestException if the creation date range is reversed
+     */
+    private Specification<Product> toSpecification(ProductFilterRequestDto filter) {
+        Specification<Product> specification = Specification.where(null);
+        if (filter == null) {
+            return specification;
+        }
+        if (filter.getCategory() != null && !filter.getCategory().isBlank()) {
+            Category category = categoryService.getCategoryByName(filter.getCategory().trim());
+            specification = specification.and(ProductSpecifications.inCategory(category));
+        }
+        if (filter.getDiscounted() != null) {
+            specification = specification.and(filter.getDiscounted()
+                    ? ProductSpecifications.discounted()
+                    : ProductSpecifications.notDiscounted());
+        }
+        BigDecimal minPrice = filter.getMinPrice();
+        BigDecimal maxPrice = filter.getMaxPrice();
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            minPrice = filter.getMaxPrice();
+            maxPrice = filter.getMinPrice();
+        }
+        if (minPrice != null) {
+            specification = specification.and(ProductSpecifications.priceAtLeast(minPrice));
+        }
+        if (maxPrice != null) {
+            specification = specification.and(ProductSpecifications.priceAtMost(maxPrice));
+        }
+        BigDecimal minEffectivePrice = filter.getMinEffectivePrice();
+        BigDecimal maxEffectivePrice = filter.getMaxEffectivePrice();
+        if (minEffectivePrice != null && maxEffectivePrice != null && minEffectivePrice.compareTo(maxEffectivePrice) > 0) {
+            minEffectivePrice = filter.getMaxEffectivePrice();
+            maxEffectivePrice = filter.getMinEffectivePrice();
+        }
+        if (minEffectivePrice != null) {
+            specification = specification.and(ProductSpecifications.effectivePriceAtLeast(minEffectivePrice));
+        }
+        if (maxEffectivePrice != null) {
+            specification = specification.and(ProductSpecifications.effectivePriceAtMost(maxEffectivePrice));
+        }
+        if (filter.getName() != null && !filter.getName().isBlank()) {
+            specification = specification.and(ProductSpecifications.nameContainsIgnoreCase(filter.getName().trim()));
+        }
+        if (filter.getCreatedFrom() != null && filter.getCreatedTo() != null
+                && filter.getCreatedFrom().isAfter(filter.getCreatedTo())) {
+            throw new BadRequestException("createdFrom must not be after createdTo");
+        }
+        if (filter.getCreatedFrom() != null) {
+            specification = specification.and(ProductSpecifications.createdAtOrAfter(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            specification = specification.and(ProductSpecifications.createdAtOrBefore(filter.getCreatedTo()));
+        }
+        return specification;
+    }
+
+    /**
+     * Loads one keyset page. One extra row is fetched to find out whether a next page exists,
+     * so no count query is needed.
+     *
+     * @param filter    the listing filter
+     * @param cursor    the encoded cursor of the previous page; null or blank for the first page
+     * @param size      the number of products per page
+     * @param sortField the field to sort by
+     * @param direction the sort direction
+     * @return the page content with the cursor for the next page
+     * @throws BadRequestException if the sort field is not supported, or the cursor is malformed
+     *                             or does not match the requested ordering
+     */
+    private ProductCursorPageDto<ProductResponseDto> findPageWithCursor(Specification<Product> filter, String cursor, int size,
+                                                                        String sortField, Sort.Direction direction) {
+        if (!ProductCursor.SORT_FIELDS.contains(sortField)) {
+            throw new BadRequestException("Cursor pagination supports sorting by: createdAt, price, effectivePrice, id");
+        }
+        Specification<Product> specification = filter;
+        if (cursor != null && !cursor.isBlank()) {
+            ProductCursor after = ProductCursor.decode(cursor);
+            if (!after.getSortField().equals(sortField) || after.getDirection() != direction) {
+                throw new BadRequestException("Cursor does not match the requested sort order");
+            }
+            specification = specification.and(ProductSpecifications.after(after));
+        }
+        Sort sort = ProductCursor.SORT_ID.equals(sortField)
+                ? Sort.by(direction, ProductCursor.SORT_ID)
+                : Sort.by(direction, sortField).and(Sort.by(direction, ProductCursor.SORT_ID));
+
+        List<Product> products = productRepository.findBy(specification, query -> query
+                .sortBy(sort)
+                .limit(size + 1)
+                .project("category")
+                .all());
+
+        boolean hasNext = products.size() > size;
+        List<Product> content = hasNext ? products.subList(0, size) : products;
+        String nextCursor = hasNext
+                ? ProductCursor.after(content.get(content.size() - 1), sortField, direction).encode()
+                : null;
+        return ProductCursorPageDto.<ProductResponseDto>builder()
+                .content(productConverter.toDtos(content))
+                .size(content.size())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * Ranks name search results by relevance, keeping the requested sort as a tie-breaker.
+     */
+    private Pageable toRankedSearch(Pageable pageable) {
+        Pageable rankedPageable = toNativeSort(pageable);
+        if (rankedPageable.isUnpaged()) {
+            return rankedPageable;
+        }
+        Sort relevance = Sort.by(Sort.Direction.DESC, "name_match", "relevance");
+        return PageRequest.of(rankedPageable.getPageNumber(), rankedPageable.getPageSize(),
+                relevance.and(rankedPageable.getSort()));
+    }
+
+    private <T> ProductSliceDto<T> toSliceDto(Slice<T> slice, boolean includeTotal, LongSupplier total) {
+        return ProductSliceDto.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getNumberOfElements())
+                .hasNext(slice.hasNext())
+                .approximateTotal(includeTotal ? total.getAsLong() : null)
+                .build();
+    }
+
+    /**
+     * Translates the entity property names of the pageable sort into column names for native queries.
+     * Properties without a column mapping are dropped.
+     *
+     * @param pageable the pageable with entity property names
+     * @return a pageable with the same page and size, sorted by column names
+     */
+    private Pageable toNativeSort(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        List<Sort.Order> orders = pageable.getSort().stream()
+                .filter(order -> NATIVE_SORT_COLUMNS.containsKey(order.getProperty()))
+                .map(order -> order.withProperty(NATIVE_SORT_COLUMNS.get(order.getProperty())))
+                .toList();
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders));
+    }
+
+    /**
+     * Parses a price range given in the form {@code minPrice-maxPrice}.
+     *
+     * @param paramValue the price range string
+     * @return a two-element array with the minimum and maximum price as given
+     * @throws IllegalArgumentException if the range is malformed or contains negative prices
+     */
+    private BigDecimal[] parsePriceRange(String paramValue) {
+        String[] priceRange = paramValue.split("-");
+        if (priceRange.length != 2) {
+            throw new IllegalArgumentException("Price range must be specified as a minimum and maximum price separated by a dash");
+        }
+        if (priceRange[0].isBlank() || priceRange[1].isBlank()) {
+            throw new IllegalArgumentException("Price range must contain both minimum and maximum prices");
+        }
+        BigDecimal minPrice;
+        BigDecimal maxPrice;
+        try {
+            minPrice = new BigDecimal(priceRange[0].trim());
+            maxPrice = new BigDecimal(priceRange[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Both prices must be valid numbers. Error: " + e.getMessage());
+        }
+        if (minPrice.compareTo(BigDecimal.ZERO) < 0 || maxPrice.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Prices cannot be negative");
+        }
+        return new BigDecimal[]{minPrice, maxPrice};
+    }
+
+    /**
+     * Checks whether the given discount value puts a product into the discounted listings.
+     *
+     * @param discountPrice the discount percentage of a product; may be null
+     * @return true if the discount is greater than zero
+     */
+    private boolean isDiscounted(BigDecimal discountPrice) {
+        return discountPrice != null && discountPrice.compareTo(BigDecimal.ZERO) > 0;
+    }
+
+    private static boolean isSameAmount(BigDecimal first, BigDecimal second) {
+        return first == null ? second == null : second != null && first.compareTo(second) == 0;
+    }
+
     /**
      * Validates the given ProductRequestDto object to ensure it adheres to required business rules.
      * This includes checks for non-null, non-empty, and properly formatted fields such as product name,
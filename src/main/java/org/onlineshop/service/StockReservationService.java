@@ -0,0 +1,220 @@
+package org.onlineshop.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.config.StockReservationConfig;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Order;
+import org.onlineshop.entity.OrderItem;
+import org.onlineshop.entity.Product;
+import org.onlineshop.exception.BadRequestException;
+import org.onlineshop.repository.OrderRepository;
+import org.onlineshop.service.cache.ProductCatalogChangedEvent;
+import org.onlineshop.service.interfaces.StockReservationServiceInterface;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationService implements StockReservationServiceInterface {
+
+    private static final String RESERVE_STOCK = "UPDATE products SET stock = stock - ? " +
+            "WHERE id = ? AND (stock IS NULL OR stock >= ?)";
+
+    private static final String RELEASE_STOCK = "UPDATE products SET stock = stock + ? " +
+            "WHERE id = ? AND stock IS NOT NULL";
+
+    private static final String REPLACE_STOCK = "UPDATE products SET stock = ? WHERE id = ?";
+
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final StockReservationConfig config;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Takes the ordered quantities out of the product stock.
+     * Every product is decremented by a single conditional UPDATE that only matches while enough stock is left,
+     * and all UPDATEs are sent as one JDBC batch. No rows are read or locked beforehand, so concurrent checkouts
+     * of the same product only wait for each other for the duration of the UPDATE and can never oversell.
+     * Products are updated in the order of their ids, so two checkouts of the same products cannot deadlock.
+     * Products whose stock is null are not tracked and always match.
+     * Must run inside the checkout transaction: if any product is short, the exception rolls back
+     * the decrements already applied.
+     *
+     * @param orderItems the items of the order being placed
+     * @throws BadRequestException if any product does not have enough stock left
+     */
+    @Override
+    @Transactional
+    public void reserve(Collection<OrderItem> orderItems) {
+        SortedMap<Integer, Integer> quantities = quantitiesByProductId(orderItems);
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> args.add(new Object[]{quantity, productId, quantity}));
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE_STOCK, args);
+
+        List<String> outOfStock = new ArrayList<>();
+        int index = 0;
+        for (Integer productId : quantities.keySet()) {
+            if (updated[index++] == 0) {
+                outOfStock.add(productName(orderItems, productId));
+            }
+        }
+        if (!outOfStock.isEmpty()) {
+            throw new BadRequestException("Not enough stock for products: " + String.join(", ", outOfStock));
+        }
+        evictAfterCompletion(quantities.keySet());
+        publishCatalogChanged(orderItems);
+        log.debug("Reserved stock for products {}", quantities);
+    }
+
+    /**
+     * Returns the quantities of the given items to the product stock.
+     *
+     * @param orderItems the items of the order whose reservation is released
+     */
+    @Override
+    @Transactional
+    public void release(Collection<OrderItem> orderItems) {
+        SortedMap<Integer, Integer> quantities = quantitiesByProductId(orderItems);
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> args.add(new Object[]{quantity, productId}));
+        jdbcTemplate.batchUpdate(RELEASE_STOCK, args);
+        evictAfterCompletion(quantities.keySet());
+        publishCatalogChanged(orderItems);
+        log.debug("Released stock for products {}", quantities);
+    }
+
+    /**
+     * Replaces the stock of a product, for example when the inventory is counted again.
+     * Written with a plain UPDATE of the single row, so only the product's own second-level cache entry is evicted
+     * rather than the whole product region and the query cache.
+     *
+     * @param productId the ID of the product
+     * @param stock     the new stock, or null to stop tracking the product's inventory
+     */
+    @Override
+    @Transactional
+    public void replaceStock(Integer productId, Integer stock) {
+        jdbcTemplate.update(REPLACE_STOCK, stock, productId);
+        evictAfterCompletion(List.of(productId));
+        log.debug("Replaced stock of product {} with {}", productId, stock);
+    }
+
+    /**
+     * Cancels orders that have stayed in PENDING_PAYMENT longer than {@code order.reservation.ttl}
+     * and returns their reserved stock. Each order is cancelled in its own transaction by a conditional
+     * UPDATE, so an order paid or cancelled concurrently is left alone and stock is never released twice.
+     *
+     * @return the number of cancelled orders
+     */
+    @Override
+    public int expireReservations() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(config.getTtl());
+        List<Integer> orderIds = orderRepository.findExpiredReservations(Order.Status.PENDING_PAYMENT, cutoff,
+                PageRequest.of(0, config.getExpiryBatchSize()));
+
+        int cancelled = 0;
+        for (Integer orderId : orderIds) {
+            Boolean expired = transactionTemplate.execute(status -> {
+                if (orderRepository.cancelExpiredReservation(orderId, Order.Status.PENDING_PAYMENT,
+                        Order.Status.CANCELLED, cutoff, LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                orderRepository.findById(orderId).ifPresent(order -> release(order.getOrderItems()));
+                return true;
+            });
+            if (Boolean.TRUE.equals(expired)) {
+                cancelled++;
+                log.info("Order {} cancelled: stock reservation expired", orderId);
+            }
+        }
+        return cancelled;
+    }
+
+    @Scheduled(fixedDelayString = "${order.reservation.expiry-check-interval:PT1M}")
+    void expireReservationsOnSchedule() {
+        if (config.isExpiryEnabled()) {
+            expireReservations();
+        }
+    }
+
+    private SortedMap<Integer, Integer> quantitiesByProductId(Collection<OrderItem> orderItems) {
+        SortedMap<Integer, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : orderItems) {
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private String productName(Collection<OrderItem> orderItems, Integer productId) {
+        return orderItems.stream()
+                .map(OrderItem::getProduct)
+                .filter(product -> product.getId().equals(productId))
+                .map(Product::getName)
+                .findFirst()
+                .orElse(String.valueOf(productId));
+    }
+
+    /**
+     * The stock is changed behind Hibernate's back, so the second-level cache entries of the products are evicted.
+     * Eviction is repeated after completion, so a copy cached by a concurrent read before the commit is dropped too.
+     */
+    private void evictAfterCompletion(Collection<Integer> productIds) {
+        List<Integer> ids = List.copyOf(productIds);
+        evict(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(ids);
+                }
+            });
+        }
+    }
+
+    /**
+     * Catalog listings carry the stock, so the cached views of the products' categories are dropped after commit.
+     * Discounted products also appear in the discount listing.
+     */
+    private void publishCatalogChanged(Collection<OrderItem> orderItems) {
+        List<Product> products = orderItems.stream()
+                .map(OrderItem::getProduct)
+                .toList();
+        boolean discounted = products.stream()
+                .anyMatch(product -> product.getDiscountPrice() != null && product.getDiscountPrice().signum() > 0);
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(discounted, products.stream()
+                .map(Product::getCategory)
+                .filter(Objects::nonNull)
+                .map(Category::getCategoryName)
+                .toArray(String[]::new)));
+    }
+
+    private void evict(Collection<Integer> productIds) {
+        productIds.forEach(id -> entityManagerFactory.getCache().evict(Product.class, id));
+    }
+}
@@ -354,6 +354,7 @@ public class UserService implements UserServiceInterface {
      *
      * @return the email address of the current user as a String, or null if no user is authenticated.
      */
+    @Override
     public String getCurrentUserEmail() {
         return SecurityContextHolder.getContext().getAuthentication().getName();
     }
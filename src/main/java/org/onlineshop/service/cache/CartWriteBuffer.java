@@ -0,0 +1,333 @@
+package org.onlineshop.service.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.config.CartWriteBehindConfig;
+import org.onlineshop.repository.CartItemRepositoryCustom;
+import org.onlineshop.repository.CartRepository;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Write-behind buffer for cart quantity changes.
+ * Changes are kept per cart and coalesced per product: repeated additions are summed and a new absolute quantity
+ * replaces whatever was pending before, so a burst of +/- clicks is written as a single row change.
+ * Carts are spread over lock stripes; requests for carts of different stripes never wait for each other,
+ * and a stripe is locked while its changes are written, so a reader holding the stripe lock sees either
+ * the pending changes or the committed rows, never neither.
+ * Pending changes are written every {@code cart.write-behind.flush-interval}, before a cart is checked out
+ * or edited synchronously, and on shutdown. See {@link CartWriteBehindConfig} for the loss window.
+ */
+@Slf4j
+@Component
+public class CartWriteBuffer {
+
+    private final CartWriteBehindConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final CartRepository cartRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Stripe[] stripes;
+    private final int maxPendingItemsPerStripe;
+
+    public CartWriteBuffer(CartWriteBehindConfig config, JdbcTemplate jdbcTemplate, CartRepository cartRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cartRepository = cartRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.stripes = new Stripe[Math.max(1, config.getStripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxPendingItemsPerStripe = Math.max(1, config.getMaxPendingItems() / stripes.length);
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Runs the action with the pending changes of the cart while holding the lock of its stripe.
+     * The action may read the stored cart items and record new changes; no flush of the cart can happen
+     * in between. If the stripe holds too many changes afterwards, they are written before returning.
+     *
+     * @param cartId the cart id
+     * @param action the action to run
+     * @return the result of the action
+     */
+    public <T> T withCart(Integer cartId, Function<PendingCart, T> action) {
+        Stripe stripe = stripeOf(cartId);
+        stripe.lock.lock();
+        try {
+            Map<Integer, PendingChange> changes = stripe.carts.computeIfAbsent(cartId, id -> new HashMap<>());
+            PendingCart pendingCart = new PendingCart(stripe, changes);
+            try {
+                return action.apply(pendingCart);
+            } finally {
+                if (changes.isEmpty()) {
+                    stripe.carts.remove(cartId);
+                }
+                if (stripe.size > maxPendingItemsPerStripe) {
+                    write(drain(stripe, List.copyOf(stripe.carts.keySet())));
+                }
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the pending changes of one cart, e.g. before the cart is checked out.
+     * The changes are committed in their own transaction, so they are kept even if the caller rolls back.
+     *
+     * @param cartId the cart id
+     */
+    public void flush(Integer cartId) {
+        if (!isEnabled() || cartId == null) {
+            return;
+        }
+        Stripe stripe = stripeOf(cartId);
+        stripe.lock.lock();
+        try {
+            write(drain(stripe, List.of(cartId)));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the pending changes of one cart, e.g. when the cart is cleared.
+     *
+     * @param cartId the cart id
+     */
+    public void discard(Integer cartId) {
+        if (!isEnabled() || cartId == null) {
+            return;
+        }
+        Stripe stripe = stripeOf(cartId);
+        stripe.lock.lock();
+        try {
+            drain(stripe, List.of(cartId));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the pending changes of all carts, one stripe at a time.
+     *
+     * @return the number of written cart items
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${cart.write-behind.flush-interval:PT1S}")
+    public int flushAll() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        int written = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                if (!stripe.carts.isEmpty()) {
+                    written += write(drain(stripe, List.copyOf(stripe.carts.keySet())));
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return written;
+    }
+
+    /**
+     * @param cartId the cart id
+     * @return true if the cart has changes that are not written yet
+     */
+    public boolean hasPendingChanges(Integer cartId) {
+        if (!isEnabled() || cartId == null) {
+            return false;
+        }
+        Stripe stripe = stripeOf(cartId);
+        stripe.lock.lock();
+        try {
+            return stripe.carts.containsKey(cartId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of cart items with pending changes
+     */
+    public int pendingCount() {
+        int pending = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                pending += stripe.size;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return pending;
+    }
+
+    private Stripe stripeOf(Integer cartId) {
+        return stripes[Math.floorMod(cartId.hashCode(), stripes.length)];
+    }
+
+    /**
+     * Removes the changes of the given carts from the stripe, ordered by cart and product id,
+     * so that concurrent writes always lock cart item rows in the same order.
+     */
+    private SortedMap<Integer, SortedMap<Integer, PendingChange>> drain(Stripe stripe, List<Integer> cartIds) {
+        SortedMap<Integer, SortedMap<Integer, PendingChange>> drained = new TreeMap<>();
+        for (Integer cartId : cartIds) {
+            Map<Integer, PendingChange> changes = stripe.carts.remove(cartId);
+            if (changes != null && !changes.isEmpty()) {
+                drained.put(cartId, new TreeMap<>(changes));
+                stripe.size -= changes.size();
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Writes the drained changes with two JDBC batches and recalculates the summaries of the carts.
+     * If the batch fails, e.g. because a product was deleted in the meantime, the changes are retried
+     * one by one and only the failing ones are dropped.
+     */
+    private int write(SortedMap<Integer, SortedMap<Integer, PendingChange>> changes) {
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> additions = new ArrayList<>();
+        List<Object[]> replacements = new ArrayList<>();
+        changes.forEach((cartId, cartChanges) -> cartChanges.forEach((productId, change) ->
+                (change.absolute() ? replacements : additions).add(new Object[]{cartId, productId, change.quantity()})));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(CartItemRepositoryCustom.ADD_QUANTITY_SQL, additions);
+                jdbcTemplate.batchUpdate(CartItemRepositoryCustom.SET_QUANTITY_SQL, replacements);
+                recalculateSummaries(changes.keySet());
+            });
+        } catch (DataAccessException e) {
+            log.warn("Cart batch write failed, retrying {} cart items one by one: {}",
+                    additions.size() + replacements.size(), e.getMessage());
+            int written = writeOneByOne(CartItemRepositoryCustom.ADD_QUANTITY_SQL, additions)
+                    + writeOneByOne(CartItemRepositoryCustom.SET_QUANTITY_SQL, replacements);
+            transactionTemplate.executeWithoutResult(status -> recalculateSummaries(changes.keySet()));
+            return written;
+        }
+        log.debug("Wrote {} buffered cart items of {} carts", additions.size() + replacements.size(), changes.size());
+        return additions.size() + replacements.size();
+    }
+
+    private void recalculateSummaries(Collection<Integer> cartIds) {
+        List<Integer> ids = List.copyOf(cartIds);
+        cartRepository.lockCarts(ids);
+        cartRepository.recalculateSummaries(ids);
+    }
+
+    private int writeOneByOne(String sql, List<Object[]> rows) {
+        int written = 0;
+        for (Object[] row : rows) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(sql, row));
+                written++;
+            } catch (DataAccessException e) {
+                log.error("Dropped buffered change of cart {}, product {}: {}", row[0], row[1], e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    /**
+     * A pending change of one cart item: either a quantity to add to the stored one or a new absolute quantity.
+     */
+    public record PendingChange(int quantity, boolean absolute) {
+
+        public static PendingChange add(int quantity) {
+            return new PendingChange(quantity, false);
+        }
+
+        public static PendingChange set(int quantity) {
+            return new PendingChange(quantity, true);
+        }
+
+        /**
+         * @return the change that has the effect of this change followed by the next one
+         */
+        public PendingChange then(PendingChange next) {
+            return next.absolute ? next : new PendingChange(quantity + next.quantity, absolute);
+        }
+
+        /**
+         * @param storedQuantity the quantity stored in the database, or null if the cart item does not exist yet
+         * @return the quantity after this change is written
+         */
+        public int applyTo(Integer storedQuantity) {
+            return absolute || storedQuantity == null ? quantity : storedQuantity + quantity;
+        }
+    }
+
+    /**
+     * The pending changes of one cart. Only valid inside {@link #withCart}.
+     */
+    public static final class PendingCart {
+
+        private final Stripe stripe;
+        private final Map<Integer, PendingChange> changes;
+
+        private PendingCart(Stripe stripe, Map<Integer, PendingChange> changes) {
+            this.stripe = stripe;
+            this.changes = changes;
+        }
+
+        public Optional<PendingChange> get(Integer productId) {
+            return Optional.ofNullable(changes.get(productId));
+        }
+
+        public Map<Integer, PendingChange> getAll() {
+            return Collections.unmodifiableMap(changes);
+        }
+
+        /**
+         * Records a change and merges it with the one already pending for the product.
+         *
+         * @return the merged pending change
+         */
+        public PendingChange record(Integer productId, PendingChange change) {
+            PendingChange previous = changes.get(productId);
+            PendingChange merged = previous == null ? change : previous.then(change);
+            changes.put(productId, merged);
+            if (previous == null) {
+                stripe.size++;
+            }
+            return merged;
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Integer, Map<Integer, PendingChange>> carts = new HashMap<>();
+        private int size;
+    }
+}
@@ -0,0 +1,77 @@
+package org.onlineshop.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Version marker of the product catalog used to answer conditional GET requests.
+ * Every committed {@link ProductCatalogChangedEvent} moves the marker forward, so the ETag and
+ * Last-Modified of catalog and category reads can be checked before any listing query runs.
+ * The marker starts at the application start time, so ETags handed out by a previous run never match.
+ */
+@Slf4j
+@Component
+public class CatalogVersion {
+
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicReference<Marker> current = new AtomicReference<>(new Marker(0, now()));
+
+    /**
+     * Returns the ETag and Last-Modified of a catalog resource at the current marker.
+     * The ETag combines the marker with a digest of the resource, so different listings, pages and filters
+     * never share a tag.
+     *
+     * @param resource the request URI including its query string
+     * @return the validators to compare with the request's conditional headers
+     */
+    public Validators validators(String resource) {
+        Marker marker = current.get();
+        String eTag = "\"" + Long.toHexString(startedAt) + "-" + marker.version() + "-"
+                + DigestUtils.md5DigestAsHex(resource.getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new Validators(eTag, marker.lastModified());
+    }
+
+    /**
+     * Moves the marker forward, so every previously issued ETag stops matching.
+     */
+    public void advance() {
+        Marker marker = current.updateAndGet(previous -> new Marker(previous.version() + 1, now()));
+        log.debug("Catalog version moved to {}", marker.version());
+    }
+
+    /**
+     * Moves the marker forward after a committed catalog change.
+     * Runs after the other catalog listeners, so a request that sees the new marker
+     * can no longer be served a listing evicted by the same change.
+     *
+     * @param event the change description published by the write path
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(ProductCatalogChangedEvent event) {
+        advance();
+    }
+
+    /**
+     * HTTP dates have a resolution of one second, so the timestamp is truncated
+     * to keep {@code If-Modified-Since} comparisons exact.
+     */
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private record Marker(long version, Instant lastModified) {
+    }
+
+    public record Validators(String eTag, Instant lastModified) {
+    }
+}
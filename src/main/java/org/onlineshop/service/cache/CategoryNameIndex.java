@@ -0,0 +1,220 @@
+package org.onlineshop.service.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.onlineshop.dto.category.CategoryResponseDto;
+import org.onlineshop.entity.Category;
+import org.onlineshop.repository.CategoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * In-memory index of all categories by case-normalized name.
+ * Categories number in the dozens and rarely change, so the whole set is loaded at startup and kept as an
+ * immutable snapshot that readers use without locking. Every committed insert, update and delete of a category
+ * replaces the snapshot with a modified copy; the changes are picked up by a Hibernate post-commit listener,
+ * so categories written through the repository directly are indexed as well.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryNameIndex {
+
+    private final CategoryRepository categoryRepository;
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+    /**
+     * Finds the id of the category with the given name, ignoring case and surrounding whitespace.
+     *
+     * @param categoryName the category name
+     * @return the category id, or empty if no such category is indexed
+     */
+    public Optional<Integer> findId(String categoryName) {
+        if (categoryName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot.idsByName().get(normalize(categoryName)));
+    }
+
+    /**
+     * Finds the category with the given name, ignoring case and surrounding whitespace.
+     *
+     * @param categoryName the category name
+     * @return the category with its id and stored name, or empty if no such category is indexed
+     */
+    public Optional<CategoryResponseDto> find(String categoryName) {
+        if (categoryName == null) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        return Optional.ofNullable(current.idsByName().get(normalize(categoryName)))
+                .map(current.entriesById()::get)
+                .map(Entry::toDto);
+    }
+
+    /**
+     * @return all indexed categories ordered by id
+     */
+    public List<CategoryResponseDto> getAll() {
+        return snapshot.entriesById().values().stream()
+                .map(Entry::toDto)
+                .toList();
+    }
+
+    /**
+     * @return the number of indexed categories
+     */
+    public int size() {
+        return snapshot.entriesById().size();
+    }
+
+    /**
+     * Reloads the whole index from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        Map<Integer, Entry> entries = new TreeMap<>();
+        categoryRepository.findAll().forEach(category -> entries.put(category.getCategoryId(), Entry.of(category)));
+        snapshot = Snapshot.of(entries);
+        log.info("Category index loaded with {} categories", entries.size());
+    }
+
+    /**
+     * Adds the category to the index or replaces the entry with the same id, e.g. after a rename.
+     *
+     * @param category the committed category
+     */
+    public void put(Category category) {
+        put(Entry.of(category));
+    }
+
+    /**
+     * Removes the category with the given id from the index.
+     *
+     * @param categoryId the id of the deleted category
+     */
+    public synchronized void remove(Integer categoryId) {
+        if (snapshot.entriesById().containsKey(categoryId)) {
+            Map<Integer, Entry> entries = new TreeMap<>(snapshot.entriesById());
+            entries.remove(categoryId);
+            snapshot = Snapshot.of(entries);
+        }
+    }
+
+    private synchronized void put(Entry entry) {
+        Map<Integer, Entry> entries = new TreeMap<>(snapshot.entriesById());
+        entries.put(entry.id(), entry);
+        snapshot = Snapshot.of(entries);
+    }
+
+    public static String normalize(String categoryName) {
+        return categoryName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(Integer id, String name, String image) {
+
+        static Entry of(Category category) {
+            return new Entry(category.getCategoryId(), category.getCategoryName(), category.getImage());
+        }
+
+        CategoryResponseDto toDto() {
+            return CategoryResponseDto.builder()
+                    .categoryId(id)
+                    .categoryName(name)
+                    .image(image)
+                    .build();
+        }
+    }
+
+    private record Snapshot(Map<Integer, Entry> entriesById, Map<String, Integer> idsByName) {
+
+        static Snapshot of(Map<Integer, Entry> entriesById) {
+            Map<String, Integer> idsByName = new HashMap<>();
+            entriesById.values().forEach(entry -> idsByName.put(normalize(entry.name()), entry.id()));
+            return new Snapshot(Collections.unmodifiableMap(entriesById), Map.copyOf(idsByName));
+        }
+    }
+
+    /**
+     * Applies committed category changes to the index.
+     * Registered with Hibernate as a post-commit listener, so a rolled-back change never reaches the index
+     * and the entity does not have to know about the index.
+     */
+    @Component
+    @RequiredArgsConstructor
+    static class CommitListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+            PostCommitDeleteEventListener {
+
+        private final CategoryNameIndex index;
+        private final EntityManagerFactory entityManagerFactory;
+
+        @PostConstruct
+        void register() {
+            EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry()
+                    .requireService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+            registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+            registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return Category.class.equals(persister.getMappedClass());
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Category category) {
+                index.put(category);
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Category category) {
+                index.put(category);
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Category category) {
+                index.remove(category.getCategoryId());
+            }
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.onlineshop.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.config.CatalogCacheConfig;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded in-process read-through cache for product catalog listings.
+ * Entries are converted DTO pages keyed by the listing type, its argument and the requested page.
+ * Category names are compared in {@link CategoryNameIndex#normalize normalized} form, both in keys and in events,
+ * since category lookups ignore case and surrounding whitespace.
+ * Write paths publish {@link ProductCatalogChangedEvent}; only the listings the change can affect are evicted.
+ */
+@Slf4j
+@Component
+public class ProductCatalogCache {
+
+    public static final String CACHE_NAME = "productCatalog";
+
+    public enum Region {
+        ALL,
+        USER,
+        CATEGORY,
+        DISCOUNT,
+        FACETS,
+        CATEGORY_COUNTS
+    }
+
+    private final boolean enabled;
+    private final Cache<CatalogCacheKey, Object> cache;
+    private final Map<Region, Counter> invalidationCounters = new EnumMap<>(Region.class);
+
+    /**
+     * Incremented on every invalidation. A value loaded while the generation changed
+     * may already be stale, so it is handed to the caller but not kept in the cache.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProductCatalogCache(CatalogCacheConfig config, MeterRegistry meterRegistry) {
+        this.enabled = config.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        for (Region region : Region.values()) {
+            invalidationCounters.put(region, Counter.builder("cache.invalidations")
+                    .description("Catalog cache entries dropped by product or category changes")
+                    .tag("cache", CACHE_NAME)
+                    .tag("region", region.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Returns the cached value for the given listing or loads it with the supplied loader.
+     * When the cache is disabled, the loader is always called.
+     *
+     * @param region   the listing type
+     * @param argument the listing argument, such as a category name; may be null
+     * @param pageable the requested page; may be null for non-paged listings
+     * @param loader   loads the value from the database on a cache miss
+     * @return the cached or freshly loaded value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Region region, String argument, Pageable pageable, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String keyArgument = region == Region.CATEGORY && argument != null
+                ? CategoryNameIndex.normalize(argument)
+                : argument;
+        CatalogCacheKey key = new CatalogCacheKey(region, keyArgument, pageable);
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        long loadGeneration = generation.get();
+        T loaded = loader.get();
+        cache.put(key, loaded);
+        if (generation.get() != loadGeneration) {
+            cache.invalidate(key);
+        }
+        return loaded;
+    }
+
+    /**
+     * Evicts the listings affected by a committed catalog change.
+     * Runs before {@link CatalogVersion} moves the ETag of catalog reads forward.
+     *
+     * @param event the change description published by the write path
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(ProductCatalogChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.isFullReload()) {
+            invalidate(key -> true);
+            log.info("Product catalog cache cleared");
+            return;
+        }
+        invalidate(key -> key.getRegion() == Region.ALL || key.getRegion() == Region.USER
+                || key.getRegion() == Region.FACETS || key.getRegion() == Region.CATEGORY_COUNTS);
+        if (!event.getCategoryNames().isEmpty()) {
+            Set<String> categoryNames = event.getCategoryNames().stream()
+                    .map(CategoryNameIndex::normalize)
+                    .collect(Collectors.toSet());
+            invalidate(key -> key.getRegion() == Region.CATEGORY && categoryNames.contains(key.getArgument()));
+        }
+        if (event.isDiscountAffected()) {
+            invalidate(key -> key.getRegion() == Region.DISCOUNT);
+        }
+        log.info("Product catalog cache invalidated: {}", event);
+    }
+
+    private void invalidate(Predicate<CatalogCacheKey> predicate) {
+        cache.asMap().keySet().removeIf(key -> {
+            if (predicate.test(key)) {
+                invalidationCounters.get(key.getRegion()).increment();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class CatalogCacheKey {
+        private final Region region;
+        private final String argument;
+        private final Pageable pageable;
+    }
+}
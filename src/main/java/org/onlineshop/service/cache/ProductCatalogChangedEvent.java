@@ -0,0 +1,49 @@
+package org.onlineshop.service.cache;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published by the product and category write paths whenever the catalog changes.
+ * Listeners receive it after the surrounding transaction commits, so they never
+ * observe data that is later rolled back.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductCatalogChangedEvent {
+
+    /**
+     * Names of the categories whose product lists were affected by the change.
+     */
+    private final Set<String> categoryNames;
+
+    /**
+     * True if the set or the order of discounted products may have changed.
+     */
+    private final boolean discountAffected;
+
+    /**
+     * True if the change cannot be attributed to particular categories
+     * (category rename, bulk updates) and every catalog view must be dropped.
+     */
+    private final boolean fullReload;
+
+    public static ProductCatalogChangedEvent of(boolean discountAffected, String... categoryNames) {
+        Set<String> names = Arrays.stream(categoryNames)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+        return new ProductCatalogChangedEvent(names, discountAffected, false);
+    }
+
+    public static ProductCatalogChangedEvent all() {
+        return new ProductCatalogChangedEvent(Set.of(), true, true);
+    }
+}
@@ -0,0 +1,57 @@
+package org.onlineshop.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.onlineshop.config.CatalogCacheConfig;
+import org.onlineshop.repository.ProductRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Approximate product totals for slice listings whose clients need a rough count.
+ * The unfiltered total comes from the planner statistics of the products table; filtered totals are
+ * counted exactly and kept for {@code catalog.cache.count-expire-after-write}, so repeated requests
+ * for the same listing share one COUNT query.
+ */
+@Component
+public class ProductCountEstimator {
+
+    private static final String ALL_PRODUCTS = "all";
+
+    private final ProductRepository productRepository;
+    private final Cache<String, Long> counts;
+
+    public ProductCountEstimator(ProductRepository productRepository, CatalogCacheConfig config) {
+        this.productRepository = productRepository;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getCountExpireAfterWrite())
+                .build();
+    }
+
+    /**
+     * Estimates the total number of products.
+     * Falls back to a briefly cached exact count while the table has no planner statistics.
+     *
+     * @return the estimated number of products
+     */
+    public long estimateAll() {
+        long estimate = productRepository.estimateRowCount();
+        if (estimate >= 0) {
+            return estimate;
+        }
+        return count(ALL_PRODUCTS, productRepository::count);
+    }
+
+    /**
+     * Returns the cached count for the given listing key, counting with the supplied query on a miss.
+     *
+     * @param key     identifies the listing and its filter, e.g. {@code category:tools}
+     * @param counter runs the exact COUNT query
+     * @return the cached or freshly counted total
+     */
+    public long count(String key, LongSupplier counter) {
+        return counts.get(key, ignored -> counter.getAsLong());
+    }
+}
@@ -0,0 +1,124 @@
+package org.onlineshop.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.dto.product.ProductResponseForUserDto;
+import org.onlineshop.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory snapshot of the top five discounted products of the day.
+ * The list is computed on a schedule and after committed discount changes, serialized once
+ * and swapped atomically, so readers never touch the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TopDiscountedProductsSnapshot {
+
+    private static final int SIZE = 5;
+    private static final Pageable TOP_FIVE = PageRequest.of(0, SIZE, Sort.by(Sort.Direction.DESC, "discountPrice"));
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot(List.of(), new byte[0]));
+
+    /**
+     * Returns copies of the products in the current snapshot. The DTOs are mutable, so the shared instances
+     * held by the snapshot are never handed out.
+     *
+     * @return an unmodifiable list of product copies; empty if no product is discounted
+     */
+    public List<ProductResponseForUserDto> getProducts() {
+        return current.get().getProducts().stream()
+                .map(TopDiscountedProductsSnapshot::copy)
+                .toList();
+    }
+
+    /**
+     * @return true if no product is discounted
+     */
+    public boolean isEmpty() {
+        return current.get().getProducts().isEmpty();
+    }
+
+    /**
+     * @return the current snapshot serialized as a JSON array
+     */
+    public byte[] getJson() {
+        return current.get().getJson().clone();
+    }
+
+    /**
+     * Recomputes the snapshot from the database and replaces the current one.
+     * Synchronized so that a slow refresh cannot overwrite the result of a newer one.
+     * A scheduled refresh that changes the list also moves the catalog version,
+     * since no write path announces it.
+     */
+    @Scheduled(cron = "${catalog.top-five.refresh-cron:0 0 0 * * *}")
+    public synchronized void refresh() {
+        List<ProductResponseForUserDto> products = List.copyOf(productRepository
+                .findUserDtosByDiscountPriceGreaterThan(BigDecimal.ZERO, TOP_FIVE));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(products);
+            Snapshot previous = current.getAndSet(new Snapshot(products, json));
+            if (!Arrays.equals(previous.getJson(), json)) {
+                catalogVersion.advance();
+            }
+            log.info("Top discounted products snapshot refreshed with {} products", products.size());
+        } catch (JsonProcessingException e) {
+            log.error("Top discounted products snapshot could not be serialized, keeping the previous one", e);
+        }
+    }
+
+    private static ProductResponseForUserDto copy(ProductResponseForUserDto product) {
+        return ProductResponseForUserDto.builder()
+                .productName(product.getProductName())
+                .productDescription(product.getProductDescription())
+                .productCategory(product.getProductCategory())
+                .productPrice(product.getProductPrice())
+                .productDiscountPrice(product.getProductDiscountPrice())
+                .image(product.getImage())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Refreshes the snapshot after a committed change that can alter discounts or category names.
+     *
+     * @param event the change description published by the write path
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(ProductCatalogChangedEvent event) {
+        if (event.isDiscountAffected() || event.isFullReload()) {
+            refresh();
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Snapshot {
+        private final List<ProductResponseForUserDto> products;
+        private final byte[] json;
+    }
+}
@@ -31,6 +31,7 @@ public class ProductConverter {
                 .price(productRequestDto.getProductPrice())
                 .category(category)
                 .discountPrice(productRequestDto.getProductDiscountPrice())
+                .stock(productRequestDto.getProductStock())
                 .image(productRequestDto.getImage())
                 .build();
     }
@@ -45,6 +46,7 @@ public class ProductConverter {
                 .productDiscountPrice(product.getDiscountPrice() != null
                         ? product.getDiscountPrice()
                         : BigDecimal.ZERO)
+                .productStock(product.getStock())
                 .image(product.getImage())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
@@ -1,5 +1,6 @@
 package org.onlineshop.service.interfaces;
 
+import org.onlineshop.dto.cart.CartResponseDto;
 import org.onlineshop.dto.cartItem.*;
 
 import java.util.Set;
@@ -11,5 +12,7 @@ public interface CartItemServiceInterface {
 
     CartItemResponseDto updateItemInCart(CartItemUpdateDto cartItemUpdateDto);
 
+    CartResponseDto applyOperations(CartItemBatchRequestDto cartItemBatchRequestDto);
+
     Set<CartItemFullResponseDto> getCartItems();
 }
@@ -1,6 +1,7 @@
 package org.onlineshop.service.interfaces;
 
 import org.onlineshop.dto.cart.CartResponseDto;
+import org.onlineshop.dto.cart.CartSummaryDto;
 import org.onlineshop.entity.Cart;
 
 public interface CartServiceInterface {
@@ -10,5 +11,7 @@ public interface CartServiceInterface {
 
     CartResponseDto getCartFullData();
 
+    CartSummaryDto getCartSummary();
+
     Cart saveCart(Cart cart);
 }
@@ -0,0 +1,11 @@
+package org.onlineshop.service.interfaces;
+
+import org.onlineshop.dto.order.OrderStatusResponseDto;
+
+public interface CheckoutServiceInterface {
+    OrderStatusResponseDto confirmPayment(Integer orderId, String paymentMethod);
+
+    boolean submitNotification(Integer orderId);
+
+    int recoverStalledCheckouts();
+}
@@ -0,0 +1,11 @@
+package org.onlineshop.service.interfaces;
+
+import org.onlineshop.dto.product.ProductImportReportDto;
+
+import java.io.InputStream;
+
+public interface ProductImportServiceInterface {
+
+    ProductImportReportDto importProducts(InputStream inputStream, String contentType);
+
+}
@@ -1,13 +1,22 @@
 package org.onlineshop.service.interfaces;
 
+import org.onlineshop.dto.product.ProductBulkDiscountRequestDto;
+import org.onlineshop.dto.product.ProductBulkDiscountResponseDto;
+import org.onlineshop.dto.product.ProductCursorPageDto;
+import org.onlineshop.dto.product.ProductFacetsDto;
+import org.onlineshop.dto.product.ProductFilterRequestDto;
 import org.onlineshop.dto.product.ProductRequestDto;
 import org.onlineshop.dto.product.ProductResponseDto;
+import org.onlineshop.dto.product.ProductSliceDto;
 import org.onlineshop.dto.product.ProductUpdateDto;
 import org.onlineshop.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductServiceInterface {
@@ -17,6 +26,8 @@ public interface ProductServiceInterface {
 
     ProductResponseDto deleteProduct(Integer productId);
 
+    ProductBulkDiscountResponseDto setDiscountPriceInBulk(ProductBulkDiscountRequestDto request);
+
     Page<ProductResponseDto> getProductsByPartOfNameIgnoreCase(String partOfName, Pageable pageable);
 
     Page<ProductResponseDto> getProductsByCategory(String categoryName, Pageable pageable);
@@ -31,5 +42,22 @@ public interface ProductServiceInterface {
 
     Page<ProductResponseDto> getProductsByCriteria(String paramName, String paramValue, Pageable pageable);
 
+    ProductCursorPageDto<ProductResponseDto> getAllProductsWithCursor(String cursor, int size, String sortField, Sort.Direction direction);
+
+    ProductCursorPageDto<ProductResponseDto> getProductsByCriteriaWithCursor(String paramName, String paramValue, String cursor,
+                                                                             int size, String sortField, Sort.Direction direction);
+
+    ProductSliceDto<ProductResponseDto> getProductsByCriteriaSlice(String paramName, String paramValue, Pageable pageable,
+                                                                  boolean includeTotal);
+
+    Page<ProductResponseDto> getProductsByFilter(ProductFilterRequestDto filter, Pageable pageable);
+
+    ProductCursorPageDto<ProductResponseDto> getProductsByFilterWithCursor(ProductFilterRequestDto filter, String cursor,
+                                                                           int size, String sortField, Sort.Direction direction);
+
+    ProductFacetsDto getProductFacets(ProductFilterRequestDto filter);
+
     Optional<Product> getProductById(Integer productId);
+
+    List<Product> getProductsByIds(Collection<Integer> productIds);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.onlineshop.service.interfaces;
+
+import org.onlineshop.entity.OrderItem;
+
+import java.util.Collection;
+
+public interface StockReservationServiceInterface {
+
+    void reserve(Collection<OrderItem> orderItems);
+
+    void release(Collection<OrderItem> orderItems);
+
+    void replaceStock(Integer productId, Integer stock);
+
+    int expireReservations();
+
+}
@@ -25,5 +25,7 @@ public interface UserServiceInterface {
 
     User getCurrentUser();
 
+    String getCurrentUserEmail();
+
     User saveUser(User user);
 }
\ No newline at end of file
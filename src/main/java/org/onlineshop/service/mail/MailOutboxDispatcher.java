@@ -0,0 +1,152 @@
+package org.onlineshop.service.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.config.MailOutboxConfig;
+import org.onlineshop.entity.OutboxMessage;
+import org.onlineshop.repository.OutboxMessageRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Delivers the emails stored in the outbox.
+ * Due messages are claimed in batches with {@code FOR UPDATE SKIP LOCKED} in a short transaction of their own,
+ * sent over the pooled SMTP sessions of {@link SmtpTransportPool} with no transaction or connection held,
+ * and the results are recorded in a second short transaction. Any number of instances can dispatch at the same time; each message is claimed by one of them.
+ * A failed message is retried with exponential backoff until {@code mail.outbox.max-attempts} is reached.
+ */
+@Slf4j
+@Component
+public class MailOutboxDispatcher {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final MailUtil mailUtil;
+    private final MailOutboxConfig config;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public MailOutboxDispatcher(OutboxMessageRepository outboxMessageRepository, MailUtil mailUtil,
+                                MailOutboxConfig config, PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.mailUtil = mailUtil;
+        this.config = config;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.sentCounter = counter("sent", "Emails delivered from the outbox");
+        this.retriedCounter = counter("retried", "Failed deliveries that are retried later");
+        this.failedCounter = counter("failed", "Emails given up after the last attempt");
+        Gauge.builder("mail.outbox.pending", outboxMessageRepository,
+                        repository -> repository.countByStatus(OutboxMessage.Status.PENDING))
+                .description("Emails waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String result, String description) {
+        return Counter.builder("mail.outbox.deliveries")
+                .description(description)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delivers due messages batch by batch until no full batch is left.
+     *
+     * @return the number of delivered messages
+     */
+    public int dispatch() {
+        int delivered = 0;
+        List<OutboxMessage> batch;
+        do {
+            batch = claimBatch();
+            delivered += deliver(batch);
+        } while (batch.size() >= config.getBatchSize());
+        return delivered;
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:PT5S}")
+    void dispatchOnSchedule() {
+        if (config.isEnabled()) {
+            dispatch();
+        }
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> batch = transactionTemplate.execute(status ->
+                outboxMessageRepository.claimBatch(now, now.plus(config.getLease()), config.getBatchSize()));
+        return batch == null ? List.of() : batch;
+    }
+
+    private int deliver(List<OutboxMessage> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<Long, String> errors = mailUtil.deliver(batch);
+        List<Long> sentIds = new ArrayList<>();
+        List<OutboxMessage> failed = new ArrayList<>();
+        for (OutboxMessage message : batch) {
+            if (errors.containsKey(message.getId())) {
+                failed.add(message);
+            } else {
+                sentIds.add(message.getId());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                outboxMessageRepository.markSent(sentIds, OutboxMessage.Status.SENT, now);
+            }
+            for (OutboxMessage message : failed) {
+                recordFailure(message, errors.get(message.getId()), now);
+            }
+        });
+        sentCounter.increment(sentIds.size());
+        log.debug("Outbox batch of {} emails: {} sent, {} failed", batch.size(), sentIds.size(), failed.size());
+        return sentIds.size();
+    }
+
+    private void recordFailure(OutboxMessage message, String error, LocalDateTime now) {
+        String lastError = error == null || error.length() <= 1000 ? error : error.substring(0, 1000);
+        if (message.getAttempts() >= config.getMaxAttempts()) {
+            outboxMessageRepository.markAttemptFailed(message.getId(), OutboxMessage.Status.FAILED,
+                    message.getNextAttemptAt(), lastError);
+            failedCounter.increment();
+            log.error("Email {} to {} failed after {} attempts: {}",
+                    message.getId(), message.getRecipient(), message.getAttempts(), error);
+            return;
+        }
+        LocalDateTime nextAttemptAt = now.plus(Duration.ofMillis(backoffMillis(message.getAttempts())));
+        outboxMessageRepository.markAttemptFailed(message.getId(), OutboxMessage.Status.PENDING,
+                nextAttemptAt, lastError);
+        retriedCounter.increment();
+        log.warn("Email {} to {} failed (attempt {}/{}), retrying at {}: {}", message.getId(),
+                message.getRecipient(), message.getAttempts(), config.getMaxAttempts(), nextAttemptAt, error);
+    }
+
+    /**
+     * Exponential backoff with equal jitter, so that messages failing together are not retried together.
+     */
+    private long backoffMillis(int attempt) {
+        double cap = Math.min(config.getMaxBackoff().toMillis(),
+                config.getInitialBackoff().toMillis() * Math.pow(2, attempt - 1));
+        return (long) (cap / 2 + ThreadLocalRandom.current().nextDouble() * cap / 2);
+    }
+}
@@ -3,12 +3,15 @@ package org.onlineshop.service.mail;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.onlineshop.entity.Order;
+import org.onlineshop.entity.OutboxMessage;
 import org.onlineshop.entity.User;
 import org.onlineshop.exception.MailSendingException;
+import org.onlineshop.repository.OutboxMessageRepository;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
@@ -16,9 +19,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Composes outbound emails and delivers them.
+ * The {@code send...} methods only store the email in the outbox, in the transaction of the caller,
+ * so the email goes out if and only if the caller commits, and no SMTP round trip happens while the caller
+ * holds a database connection. {@link MailOutboxDispatcher} delivers stored emails with {@link #deliver}.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -26,29 +37,33 @@ public class MailUtil {
 
     private final JavaMailSender mailSender;
     private final Configuration freemakerConfiguration;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final SmtpTransportPool smtpTransportPool;
     private final String messageSubject = "Code confirmation email";
 
     // http://localhost:8080/api/public/confirmation?code=f9fcc1ec-6d34-4fbe-9367-69378ae89d70
 
     /**
-     * Sends a confirmation email to the specified user with the provided confirmation link.
+     * Queues a confirmation email to the specified user with the provided confirmation link.
      *
      * @param user the recipient of the confirmation email
      * @param linkToSend the confirmation link to be included in the email
-     * @throws MailSendingException if an error occurs during the email sending process
+     * @throws MailSendingException if the email cannot be composed
      */
     public void sendConfirmationEmail(User user, String linkToSend) {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        OutboxMessage message;
         try {
-            helper.setTo(user.getEmail());
-            helper.setSubject(messageSubject);
-            helper.setText(createConfirmationEmail(user, linkToSend), true);
+            message = OutboxMessage.builder()
+                    .recipient(user.getEmail())
+                    .subject(messageSubject)
+                    .body(createConfirmationEmail(user, linkToSend))
+                    .html(true)
+                    .build();
         } catch (Exception e){
             throw new MailSendingException(e.getMessage());
         }
-        mailSender.send(message);
-        log.info("Confirmation email sent to {}", user.getEmail());
+        outboxMessageRepository.save(message);
+        log.info("Confirmation email to {} queued", user.getEmail());
     }
 
     /**
@@ -69,22 +84,19 @@ public class MailUtil {
     }
 
     /**
-     * Sends an order paid confirmation email to the specified user with the provided order details
-     * and attaches the corresponding PDF receipt.
+     * Queues an order paid confirmation email to the specified user with the provided order details
+     * and the corresponding PDF receipt as attachment.
      *
      * @param user the recipient of the confirmation email
      * @param order the order for which the confirmation email is being sent
      * @param pdfBytes the PDF file content to be attached to the email as bytes
-     * @throws MailSendingException if an error occurs during the email sending process
+     * @throws MailSendingException if the email cannot be composed or queued
      */
     public void sendOrderPaidEmail(User user, Order order, byte[] pdfBytes) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setTo(user.getEmail());
-            helper.setSubject("Order Payment Confirmation - Order #" + order.getOrderId());
-
+            if (pdfBytes == null) {
+                throw new IllegalArgumentException("PDF attachment is missing");
+            }
             // Email body text
             String text = """
                 Hello %s,
@@ -105,14 +117,64 @@ public class MailUtil {
                     order.getDeliveryMethod(),
                     order.getDeliveryAddress()
             );
-            helper.setText(text, false);
-            helper.addAttachment("order_" + order.getOrderId() + ".pdf",
-                    new ByteArrayResource(pdfBytes));
-            mailSender.send(message);
-            log.info("Order payment email sent to {}", user.getEmail());
+            outboxMessageRepository.save(OutboxMessage.builder()
+                    .recipient(user.getEmail())
+                    .subject("Order Payment Confirmation - Order #" + order.getOrderId())
+                    .body(text)
+                    .html(false)
+                    .attachmentName("order_" + order.getOrderId() + ".pdf")
+                    .attachment(pdfBytes)
+                    .build());
+            log.info("Order payment email to {} queued", user.getEmail());
         } catch (Exception e) {
             throw new MailSendingException("Error sending order payment email: " + e.getMessage());
         }
     }
-}
 
+    /**
+     * Sends queued emails over the pooled SMTP sessions of {@link SmtpTransportPool}.
+     * Must not be called inside a transaction.
+     *
+     * @param outboxMessages the emails to send
+     * @return the error of every email that could not be composed or sent, by the ID of the email
+     */
+    public Map<Long, String> deliver(List<OutboxMessage> outboxMessages) {
+        Map<Long, String> errors = new HashMap<>();
+        List<OutboxMessage> composed = new ArrayList<>(outboxMessages.size());
+        List<MimeMessage> messages = new ArrayList<>(outboxMessages.size());
+        for (OutboxMessage outboxMessage : outboxMessages) {
+            try {
+                messages.add(createMimeMessage(outboxMessage));
+                composed.add(outboxMessage);
+            } catch (Exception e) {
+                errors.put(outboxMessage.getId(), "Error composing email: " + e.getMessage());
+            }
+        }
+
+        Map<Integer, Exception> failures = smtpTransportPool.send(messages);
+        for (int i = 0; i < composed.size(); i++) {
+            OutboxMessage outboxMessage = composed.get(i);
+            Exception failure = failures.get(i);
+            if (failure == null) {
+                log.info("Email {} sent to {}", outboxMessage.getId(), outboxMessage.getRecipient());
+            } else {
+                errors.put(outboxMessage.getId(), "Error sending email: " + failure.getMessage());
+            }
+        }
+        return errors;
+    }
+
+    private MimeMessage createMimeMessage(OutboxMessage outboxMessage) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        boolean multipart = outboxMessage.getAttachment() != null;
+        MimeMessageHelper helper = new MimeMessageHelper(message, multipart, "UTF-8");
+        helper.setTo(outboxMessage.getRecipient());
+        helper.setSubject(outboxMessage.getSubject());
+        helper.setText(outboxMessage.getBody(), outboxMessage.isHtml());
+        if (multipart) {
+            helper.addAttachment(outboxMessage.getAttachmentName(),
+                    new ByteArrayResource(outboxMessage.getAttachment()));
+        }
+        return message;
+    }
+}
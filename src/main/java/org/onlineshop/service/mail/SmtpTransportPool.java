@@ -0,0 +1,276 @@
+package org.onlineshop.service.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.onlineshop.config.MailTransportConfig;
+import org.onlineshop.exception.MailSendingException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends emails over a small pool of open SMTP sessions instead of opening, authenticating and closing
+ * a connection for every email as {@link JavaMailSenderImpl#send} does.
+ * A batch is spread over up to {@code mail.transport.pool-size} sessions, each sending its share back to back.
+ * A session that the server has closed is reopened before use; an email that fails for any reason other than
+ * rejected recipients is sent once more over a fresh session, so an email may be delivered twice if the
+ * connection breaks right after the server accepted it.
+ */
+@Slf4j
+@Component
+public class SmtpTransportPool {
+
+    private final JavaMailSenderImpl mailSender;
+    private final MailTransportConfig config;
+    private final int poolSize;
+    private final BlockingQueue<PooledSession> sessions;
+    private final ExecutorService executor;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter connectCounter;
+    private final Timer batchTimer;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender, MailTransportConfig config, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.config = config;
+        this.poolSize = Math.max(1, config.getPoolSize());
+        this.sessions = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            sessions.add(new PooledSession());
+        }
+        this.executor = Executors.newFixedThreadPool(poolSize, new TransportThreadFactory());
+        this.sentCounter = messageCounter(meterRegistry, "sent", "Emails accepted by the mail server");
+        this.failedCounter = messageCounter(meterRegistry, "failed", "Emails the mail server did not accept");
+        this.connectCounter = Counter.builder("mail.transport.connections")
+                .description("SMTP sessions opened, including reconnects")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("mail.transport.batch")
+                .description("Time to send a batch of emails")
+                .register(meterRegistry);
+        Gauge.builder("mail.transport.queue.depth", queued, AtomicInteger::get)
+                .description("Emails waiting for an SMTP session")
+                .register(meterRegistry);
+        Gauge.builder("mail.transport.sessions.open", openSessions, AtomicInteger::get)
+                .description("Open SMTP sessions")
+                .register(meterRegistry);
+    }
+
+    private static Counter messageCounter(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder("mail.transport.messages")
+                .description(description)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends the given emails over the pooled sessions and waits until all of them are sent or have failed.
+     *
+     * @param messages the emails to send
+     * @return the failures by the index of the email in {@code messages}; empty if all emails were sent
+     * @throws MailSendingException if the calling thread is interrupted while the batch is being sent
+     */
+    public Map<Integer, Exception> send(List<MimeMessage> messages) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        Queue<Integer> pending = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < messages.size(); i++) {
+            pending.add(i);
+        }
+        queued.addAndGet(messages.size());
+        Exception[] errors = new Exception[messages.size()];
+        int workers = Math.min(poolSize, messages.size());
+
+        Timer.Sample sample = Timer.start();
+        try {
+            if (workers == 1) {
+                drain(messages, pending, errors);
+            } else {
+                List<Future<?>> futures = new ArrayList<>(workers);
+                for (int i = 0; i < workers; i++) {
+                    futures.add(executor.submit(() -> drain(messages, pending, errors)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            Integer index;
+            while ((index = pending.poll()) != null) {
+                queued.decrementAndGet();
+                errors[index] = new MailSendingException("Email was not sent, no SMTP session was available");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendingException("Interrupted while sending a batch of " + messages.size() + " emails");
+        } catch (ExecutionException e) {
+            throw new MailSendingException("Error sending a batch of emails: " + e.getCause().getMessage());
+        } finally {
+            while (pending.poll() != null) {
+                queued.decrementAndGet();
+            }
+            sample.stop(batchTimer);
+        }
+
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null) {
+                failures.put(i, errors[i]);
+            }
+        }
+        sentCounter.increment(messages.size() - failures.size());
+        failedCounter.increment(failures.size());
+        return failures;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        sessions.forEach(PooledSession::close);
+    }
+
+    /**
+     * Takes a session and sends pending emails over it until none are left.
+     */
+    private void drain(List<MimeMessage> messages, Queue<Integer> pending, Exception[] errors) {
+        PooledSession session;
+        try {
+            session = sessions.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            session.validate();
+            Integer index;
+            while ((index = pending.poll()) != null) {
+                queued.decrementAndGet();
+                try {
+                    session.sendWithReconnect(messages.get(index));
+                } catch (Exception e) {
+                    errors[index] = e;
+                }
+            }
+        } finally {
+            sessions.add(session);
+        }
+    }
+
+    /**
+     * One SMTP session; used by one thread at a time, guarded by taking it from {@link #sessions}.
+     */
+    private final class PooledSession {
+        private Transport transport;
+        private int messagesSent;
+        private long lastUsedNanos;
+
+        /**
+         * Closes the session if the server may have dropped it, so that the next email opens a fresh one.
+         */
+        void validate() {
+            if (transport == null) {
+                return;
+            }
+            boolean idle = System.nanoTime() - lastUsedNanos > config.getIdleTimeout().toNanos();
+            if (idle || !transport.isConnected()) {
+                close();
+            }
+        }
+
+        void sendWithReconnect(MimeMessage message) throws MessagingException {
+            try {
+                send(message);
+            } catch (SendFailedException e) {
+                throw e;
+            } catch (MessagingException | IllegalStateException e) {
+                log.warn("SMTP session failed, sending again over a new session: {}", e.getMessage());
+                close();
+                send(message);
+            }
+        }
+
+        private void send(MimeMessage message) throws MessagingException {
+            if (transport != null && messagesSent >= config.getMaxMessagesPerSession()) {
+                close();
+            }
+            if (transport == null) {
+                connect();
+            }
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            String messageId = message.getMessageID();
+            message.saveChanges();
+            if (messageId != null) {
+                message.setHeader("Message-ID", messageId);
+            }
+            transport.sendMessage(message, message.getAllRecipients());
+            messagesSent++;
+            lastUsedNanos = System.nanoTime();
+        }
+
+        private void connect() throws MessagingException {
+            String protocol = mailSender.getProtocol() == null ? "smtp" : mailSender.getProtocol();
+            Transport connecting = mailSender.getSession().getTransport(protocol);
+            connecting.connect(mailSender.getHost(), mailSender.getPort(),
+                    mailSender.getUsername(), mailSender.getPassword());
+            transport = connecting;
+            messagesSent = 0;
+            lastUsedNanos = System.nanoTime();
+            openSessions.incrementAndGet();
+            connectCounter.increment();
+        }
+
+        void close() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Error closing SMTP session: {}", e.getMessage());
+            }
+            transport = null;
+            openSessions.decrementAndGet();
+        }
+    }
+
+    private static final class TransportThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "mail-transport-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.onlineshop.service.util;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.onlineshop.entity.Product;
+import org.onlineshop.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Position of the last product returned by a keyset page.
+ * Clients receive it as an opaque Base64 string and pass it back to get the next page.
+ * The cursor carries the sort field and direction it was created for, so a page can
+ * never be continued with a different ordering.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductCursor {
+
+    public static final String SORT_CREATED_AT = "createdAt";
+    public static final String SORT_PRICE = "price";
+    public static final String SORT_EFFECTIVE_PRICE = "effectivePrice";
+    public static final String SORT_ID = "id";
+    public static final Set<String> SORT_FIELDS = Set.of(SORT_CREATED_AT, SORT_PRICE, SORT_EFFECTIVE_PRICE, SORT_ID);
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortField;
+    private final Sort.Direction direction;
+    private final String sortValue;
+    private final Integer id;
+
+    /**
+     * Creates a cursor pointing after the given product.
+     *
+     * @param product   the last product of the current page
+     * @param sortField the field the page is sorted by
+     * @param direction the sort direction of the page
+     * @return the cursor for the next page
+     */
+    public static ProductCursor after(Product product, String sortField, Sort.Direction direction) {
+        String sortValue = switch (sortField) {
+            case SORT_CREATED_AT -> product.getCreatedAt().toString();
+            case SORT_PRICE -> product.getPrice().toPlainString();
+            case SORT_EFFECTIVE_PRICE -> product.getEffectivePrice().toPlainString();
+            default -> "";
+        };
+        return new ProductCursor(sortField, direction, sortValue, product.getId());
+    }
+
+    /**
+     * Decodes a cursor received from the client.
+     *
+     * @param encoded the opaque cursor string
+     * @return the decoded cursor
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static ProductCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4 || !SORT_FIELDS.contains(parts[0])) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            ProductCursor cursor = new ProductCursor(parts[0], Sort.Direction.fromString(parts[1]),
+                    parts[2], Integer.valueOf(parts[3]));
+            cursor.parsedValue();
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Encodes the cursor into the opaque form returned to the client.
+     *
+     * @return the URL-safe Base64 representation of the cursor
+     */
+    public String encode() {
+        String raw = sortField + SEPARATOR + direction.name() + SEPARATOR + sortValue + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the sort value converted to the type of the sort field.
+     *
+     * @return the sort value as {@link LocalDateTime} or {@link BigDecimal}; null when sorting by id
+     */
+    public Comparable<?> parsedValue() {
+        return switch (sortField) {
+            case SORT_CREATED_AT -> LocalDateTime.parse(sortValue);
+            case SORT_PRICE, SORT_EFFECTIVE_PRICE -> new BigDecimal(sortValue);
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,211 @@
+package org.onlineshop.service.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.onlineshop.dto.product.ProductRequestDto;
+import org.onlineshop.exception.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads product import rows one at a time from a CSV or NDJSON stream, so the whole upload is never held in memory.
+ * CSV input must start with a header naming the {@link ProductRequestDto} fields; NDJSON input holds one
+ * {@link ProductRequestDto} object per line. A malformed row is returned as a failed row instead of aborting the import.
+ */
+public class ProductImportReader implements Closeable {
+
+    public static final String CSV_CONTENT_TYPE = "text/csv";
+    public static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+    private static final List<String> CSV_COLUMNS = List.of("productName", "productDescription", "productCategory",
+            "productPrice", "productDiscountPrice", "productStock", "image");
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        public static Format fromContentType(String contentType) {
+            if (contentType != null && contentType.toLowerCase().startsWith(CSV_CONTENT_TYPE)) {
+                return CSV;
+            }
+            if (contentType != null && contentType.toLowerCase().startsWith(NDJSON_CONTENT_TYPE)) {
+                return NDJSON;
+            }
+            throw new BadRequestException("Unsupported import content type: " + contentType);
+        }
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> csvColumns;
+    private long lineNumber;
+
+    public ProductImportReader(InputStream inputStream, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the next non-blank row.
+     *
+     * @return the next row, or null when the input is exhausted
+     * @throws IOException         if the input cannot be read
+     * @throws BadRequestException if the CSV header does not contain the required columns
+     */
+    public Row next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvColumns == null) {
+                csvColumns = parseHeader(line);
+                continue;
+            }
+            try {
+                return new Row(lineNumber, format == Format.CSV ? parseCsv(line) : parseJson(line), null);
+            } catch (IllegalArgumentException e) {
+                return new Row(lineNumber, null, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Map<String, Integer> parseHeader(String line) {
+        List<String> header;
+        try {
+            header = splitCsvLine(line);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("CSV header is malformed: " + e.getMessage());
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        List<String> missing = CSV_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private ProductRequestDto parseCsv(String line) {
+        List<String> values = splitCsvLine(line);
+        return ProductRequestDto.builder()
+                .productName(column(values, "productName"))
+                .productDescription(column(values, "productDescription"))
+                .productCategory(column(values, "productCategory"))
+                .productPrice(decimal(column(values, "productPrice"), "productPrice"))
+                .productDiscountPrice(decimal(column(values, "productDiscountPrice"), "productDiscountPrice"))
+                .productStock(integer(column(values, "productStock"), "productStock"))
+                .image(column(values, "image"))
+                .build();
+    }
+
+    private ProductRequestDto parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, ProductRequestDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private String column(List<String> values, String name) {
+        int index = csvColumns.get(name);
+        if (index >= values.size() || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private BigDecimal decimal(String value, String name) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in " + name + ": " + value);
+        }
+    }
+
+    private Integer integer(String value, String name) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Splits one CSV line into fields. Fields may be quoted with double quotes;
+     * a doubled quote inside a quoted field stands for a literal quote.
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Getter
+    public static class Row {
+        private final long line;
+        private final ProductRequestDto product;
+        private final String error;
+
+        private Row(long line, ProductRequestDto product, String error) {
+            this.line = line;
+            this.product = product;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.onlineshop.service.util;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Reusable JPA specifications for product queries.
+ * They are combined with {@link Specification#and(Specification)} so that a single
+ * statement carries both the listing filter and the keyset position.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> inCategory(Category category) {
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Product> idIn(Collection<Integer> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Product> priceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.between(root.get("price"), minPrice, maxPrice);
+    }
+
+    public static Specification<Product> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Product> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Product> effectivePriceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.between(root.get("effectivePrice"), minPrice, maxPrice);
+    }
+
+    public static Specification<Product> effectivePriceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("effectivePrice"), minPrice);
+    }
+
+    public static Specification<Product> effectivePriceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("effectivePrice"), maxPrice);
+    }
+
+    public static Specification<Product> discounted() {
+        return (root, query, cb) -> cb.greaterThan(root.get("discountPrice"), BigDecimal.ZERO);
+    }
+
+    public static Specification<Product> notDiscounted() {
+        return (root, query, cb) -> cb.or(
+                cb.isNull(root.get("discountPrice")),
+                cb.equal(root.get("discountPrice"), BigDecimal.ZERO));
+    }
+
+    public static Specification<Product> createdAtOrAfter(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Product> createdAtOrBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("createdAt"), to);
+    }
+
+    public static Specification<Product> nameContainsIgnoreCase(String partOfName) {
+        String pattern = containsPattern(partOfName);
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, '\\');
+    }
+
+    /**
+     * Builds a lower-case LIKE pattern matching the given text anywhere in a value.
+     * Wildcards in the text are escaped with a backslash.
+     *
+     * @param text the text to search for
+     * @return the pattern, e.g. {@code %phone%}
+     */
+    public static String containsPattern(String text) {
+        String escaped = text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * Restricts the result to products positioned after the given cursor in its sort order.
+     * The condition is written as {@code key >= v AND (key > v OR id > lastId)} rather than
+     * a row-value comparison so that the planner can use the leading index column as a range bound.
+     *
+     * @param cursor the position of the last product of the previous page
+     * @return the keyset specification
+     */
+    public static Specification<Product> after(ProductCursor cursor) {
+        return (root, query, cb) -> {
+            boolean ascending = cursor.getDirection().isAscending();
+            Expression<Integer> id = root.get("id");
+            Predicate idAfter = ascending
+                    ? cb.greaterThan(id, cursor.getId())
+                    : cb.lessThan(id, cursor.getId());
+            return switch (cursor.getSortField()) {
+                case ProductCursor.SORT_CREATED_AT -> seek(cb, root.get("createdAt"),
+                        (LocalDateTime) cursor.parsedValue(), idAfter, ascending);
+                case ProductCursor.SORT_PRICE -> seek(cb, root.get("price"),
+                        (BigDecimal) cursor.parsedValue(), idAfter, ascending);
+                case ProductCursor.SORT_EFFECTIVE_PRICE -> seek(cb, root.get("effectivePrice"),
+                        (BigDecimal) cursor.parsedValue(), idAfter, ascending);
+                default -> idAfter;
+            };
+        };
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate seek(CriteriaBuilder cb, Expression<Y> key, Y value,
+                                                                     Predicate idAfter, boolean ascending) {
+        if (ascending) {
+            return cb.and(cb.greaterThanOrEqualTo(key, value), cb.or(cb.greaterThan(key, value), idAfter));
+        }
+        return cb.and(cb.lessThanOrEqualTo(key, value), cb.or(cb.lessThan(key, value), idAfter));
+    }
+}
@@ -0,0 +1,61 @@
+package org.onlineshop.controller;
+
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.cart.CartSummaryDto;
+import org.onlineshop.service.CartService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.math.BigDecimal;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class CartControllerGetSummaryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CartService cartService;
+
+    @Test
+    @WithMockUser(username = "testUser@email.com", roles = {"USER"})
+    void testGetCartSummaryIfOk() throws Exception {
+        when(cartService.getCartSummary()).thenReturn(CartSummaryDto.builder()
+                .cartId(7)
+                .itemCount(3)
+                .subtotal(new BigDecimal("40.00"))
+                .discountedTotal(new BigDecimal("30.00"))
+                .build());
+
+        mockMvc.perform(get("/v1/carts/summary"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.itemCount").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.subtotal").value(40.00))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.discountedTotal").value(30.00))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.cartId").doesNotExist());
+
+        verify(cartService, times(1)).getCartSummary();
+    }
+
+    @Test
+    void testGetCartSummaryIfUserNotRegistered() throws Exception {
+        mockMvc.perform(get("/v1/carts/summary"))
+                .andExpect(status().isUnauthorized());
+    }
+}
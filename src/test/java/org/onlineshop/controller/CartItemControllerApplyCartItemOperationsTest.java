@@ -0,0 +1,133 @@
+package org.onlineshop.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.onlineshop.dto.cart.CartResponseDto;
+import org.onlineshop.dto.cartItem.CartItemBatchRequestDto;
+import org.onlineshop.dto.cartItem.CartItemOperationDto;
+import org.onlineshop.dto.cartItem.CartItemSimpleResponseDto;
+import org.onlineshop.exception.NotFoundException;
+import org.onlineshop.service.CartItemService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class CartItemControllerApplyCartItemOperationsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CartItemService cartItemService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        Mockito.reset(cartItemService);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com",
+            roles = {"ADMIN", "MANAGER", "USER"})
+    void applyCartItemOperationsTestIfOk() throws Exception {
+        CartResponseDto responseDto = CartResponseDto.builder()
+                .userId(1)
+                .cartSympleItems(List.of(new CartItemSimpleResponseDto("Test Product", 3)))
+                .totalPrice(BigDecimal.valueOf(300))
+                .build();
+        when(cartItemService.applyOperations(any(CartItemBatchRequestDto.class))).thenReturn(responseDto);
+
+        mockMvc.perform(post("/v1/cartItems/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch(
+                                new CartItemOperationDto(CartItemOperationDto.Type.ADD, 1, 2),
+                                new CartItemOperationDto(CartItemOperationDto.Type.UPDATE, 1, 3)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cartSympleItems[0].productName").value("Test Product"))
+                .andExpect(jsonPath("$.cartSympleItems[0].quantity").value(3))
+                .andExpect(jsonPath("$.totalPrice").value(300));
+    }
+
+    @Test
+    void applyCartItemOperationsUnauthorized() throws Exception {
+        mockMvc.perform(post("/v1/cartItems/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch(
+                                new CartItemOperationDto(CartItemOperationDto.Type.REMOVE, 1, null)))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com",
+            roles = {"ADMIN", "MANAGER", "USER"})
+    void applyCartItemOperationsEmptyList() throws Exception {
+        mockMvc.perform(post("/v1/cartItems/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch())))
+                .andExpect(status().isBadRequest());
+
+        verify(cartItemService, never()).applyOperations(any());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com",
+            roles = {"ADMIN", "MANAGER", "USER"})
+    void applyCartItemOperationsInvalidQuantity() throws Exception {
+        mockMvc.perform(post("/v1/cartItems/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch(
+                                new CartItemOperationDto(CartItemOperationDto.Type.ADD, 1, 0)))))
+                .andExpect(status().isBadRequest());
+
+        verify(cartItemService, never()).applyOperations(any());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com",
+            roles = {"ADMIN", "MANAGER", "USER"})
+    void applyCartItemOperationsProductNotInCart() throws Exception {
+        doThrow(new NotFoundException("Product with ID: 999 not found in cart"))
+                .when(cartItemService)
+                .applyOperations(any(CartItemBatchRequestDto.class));
+
+        mockMvc.perform(post("/v1/cartItems/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch(
+                                new CartItemOperationDto(CartItemOperationDto.Type.REMOVE, 999, null)))))
+                .andExpect(status().isNotFound());
+    }
+
+    private static CartItemBatchRequestDto batch(CartItemOperationDto... operations) {
+        return new CartItemBatchRequestDto(List.of(operations));
+    }
+}
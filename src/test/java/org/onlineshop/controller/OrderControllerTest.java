@@ -9,9 +9,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.onlineshop.dto.order.OrderResponseDto;
+import org.onlineshop.dto.order.OrderStatusResponseDto;
 import org.onlineshop.exception.BadRequestException;
-import org.onlineshop.exception.MailSendingException;
 import org.onlineshop.exception.NotFoundException;
+import org.onlineshop.service.CheckoutService;
 import org.onlineshop.service.OrderService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -22,6 +23,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,12 +39,14 @@ class OrderControllerTest {
     private static final String PAY_METHOD = "CARD";
     @Mock
     private OrderService orderService;
+    @Mock
+    private CheckoutService checkoutService;
     @InjectMocks
     private OrderController orderController;
 
     @AfterEach
     void tearDown() {
-        Mockito.reset(orderService);
+        Mockito.reset(orderService, checkoutService);
 
         SecurityContextHolder.clearContext();
     }
@@ -204,24 +209,25 @@ class OrderControllerTest {
     class ConfirmOrderTests {
 
         @Test
-        @DisplayName("Should return 200 OK and updated order when payment is successfully confirmed")
-        void confirmOrder_whenOk_shouldReturnUpdatedOrder() {
-            OrderResponseDto serviceResponse = new OrderResponseDto();
-            when(orderService.confirmPayment(ORDER_ID, PAY_METHOD))
+        @DisplayName("Should return 202 Accepted with the order status and its location when payment is accepted")
+        void confirmOrder_whenOk_shouldReturnAcceptedStatus() {
+            OrderStatusResponseDto serviceResponse = new OrderStatusResponseDto("PROCESSING", LocalDateTime.now());
+            when(checkoutService.confirmPayment(ORDER_ID, PAY_METHOD))
                     .thenReturn(serviceResponse);
 
-            ResponseEntity<OrderResponseDto> response =
+            ResponseEntity<OrderStatusResponseDto> response =
                     orderController.confirmOrder(ORDER_ID, PAY_METHOD);
 
-            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
             assertSame(serviceResponse, response.getBody());
-            verify(orderService).confirmPayment(ORDER_ID, PAY_METHOD);
+            assertEquals(URI.create("/v1/orders/" + ORDER_ID + "/status"), response.getHeaders().getLocation());
+            verify(checkoutService).confirmPayment(ORDER_ID, PAY_METHOD);
         }
 
         @Test
         @DisplayName("Should propagate BadRequestException when payment method is invalid")
         void confirmOrder_whenInvalidPayMethod_shouldPropagateBadRequest() {
-            when(orderService.confirmPayment(ORDER_ID, PAY_METHOD))
+            when(checkoutService.confirmPayment(ORDER_ID, PAY_METHOD))
                     .thenThrow(new BadRequestException("Invalid payment method"));
 
             BadRequestException ex = assertThrows(
@@ -230,13 +236,13 @@ class OrderControllerTest {
             );
 
             assertEquals("Invalid payment method", ex.getMessage());
-            verify(orderService).confirmPayment(ORDER_ID, PAY_METHOD);
+            verify(checkoutService).confirmPayment(ORDER_ID, PAY_METHOD);
         }
 
         @Test
         @DisplayName("Should propagate NotFoundException when order does not exist")
         void confirmOrder_whenOrderNotFound_shouldPropagateNotFound() {
-            when(orderService.confirmPayment(ORDER_ID, PAY_METHOD))
+            when(checkoutService.confirmPayment(ORDER_ID, PAY_METHOD))
                     .thenThrow(new NotFoundException("Order not found"));
 
             NotFoundException ex = assertThrows(
@@ -245,13 +251,13 @@ class OrderControllerTest {
             );
 
             assertEquals("Order not found", ex.getMessage());
-            verify(orderService).confirmPayment(ORDER_ID, PAY_METHOD);
+            verify(checkoutService).confirmPayment(ORDER_ID, PAY_METHOD);
         }
 
         @Test
         @DisplayName("Should propagate AccessDeniedException when user is not the owner of the order")
         void confirmOrder_whenAccessDenied_shouldPropagateAccessDenied() {
-            when(orderService.confirmPayment(ORDER_ID, PAY_METHOD))
+            when(checkoutService.confirmPayment(ORDER_ID, PAY_METHOD))
                     .thenThrow(new AccessDeniedException("Access denied"));
 
             AccessDeniedException ex = assertThrows(
@@ -260,22 +266,33 @@ class OrderControllerTest {
             );
 
             assertEquals("Access denied", ex.getMessage());
-            verify(orderService).confirmPayment(ORDER_ID, PAY_METHOD);
+            verify(checkoutService).confirmPayment(ORDER_ID, PAY_METHOD);
         }
+    }
+
+    @Nested
+    @DisplayName("getOrderStatus() endpoint tests")
+    class GetOrderStatusTests {
 
         @Test
-        @DisplayName("Should propagate MailSendingException when email cannot be sent")
-        void confirmOrder_whenMailSendingFails_shouldPropagateMailSendingException() {
-            when(orderService.confirmPayment(ORDER_ID, PAY_METHOD))
-                    .thenThrow(new MailSendingException("Failed to send email"));
+        @DisplayName("Should return 200 OK and the order status when access is allowed")
+        void getOrderStatus_whenOk_shouldReturnStatus() {
+            OrderStatusResponseDto serviceResponse = new OrderStatusResponseDto("PAID", LocalDateTime.now());
+            when(orderService.getOrderStatusDto(ORDER_ID)).thenReturn(serviceResponse);
 
-            MailSendingException ex = assertThrows(
-                    MailSendingException.class,
-                    () -> orderController.confirmOrder(ORDER_ID, PAY_METHOD)
-            );
+            ResponseEntity<OrderStatusResponseDto> response = orderController.getOrderStatus(ORDER_ID);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertSame(serviceResponse, response.getBody());
+            verify(orderService).getOrderStatusDto(ORDER_ID);
+        }
+
+        @Test
+        @DisplayName("Should propagate AccessDeniedException when user is not the owner of the order")
+        void getOrderStatus_whenAccessDenied_shouldPropagateAccessDenied() {
+            when(orderService.getOrderStatusDto(ORDER_ID)).thenThrow(new AccessDeniedException("Access denied"));
 
-            assertEquals("Failed to send email", ex.getMessage());
-            verify(orderService).confirmPayment(ORDER_ID, PAY_METHOD);
+            assertThrows(AccessDeniedException.class, () -> orderController.getOrderStatus(ORDER_ID));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+package org.onlineshop.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.category.CategoryRequestDto;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.service.CategoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class ProductControllerConditionalGetTest {
+
+    private static final String IMAGE = "https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void dropDatabase() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("tools")
+                .image(IMAGE)
+                .products(new ArrayList<>())
+                .build());
+        productRepository.save(Product.builder()
+                .name("Rake")
+                .category(category)
+                .description("testDescription")
+                .price(BigDecimal.TEN)
+                .discountPrice(BigDecimal.ZERO)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image(IMAGE)
+                .build());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com", roles = "USER")
+    void testUnchangedListingIsAnsweredWithoutQuery() throws Exception {
+        String eTag = mockMvc.perform(get("/v1/products/getAllProductForUser"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.content[0].productName").value("Rake"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/v1/products/getAllProductForUser").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @WithMockUser(username = "testAdmin@email.com", roles = "ADMIN")
+    void testCatalogChangeInvalidatesETag() throws Exception {
+        String eTag = mockMvc.perform(get("/v1/categories"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/v1/categories").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        categoryService.addCategory(CategoryRequestDto.builder()
+                .categoryName("pots")
+                .image(IMAGE)
+                .build());
+
+        String newETag = mockMvc.perform(get("/v1/categories").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com", roles = "USER")
+    void testETagDependsOnUriAndQuery() throws Exception {
+        String firstPage = mockMvc.perform(get("/v1/products/getAllProductForUser").param("page", "0"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String secondPage = mockMvc.perform(get("/v1/products/getAllProductForUser").param("page", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(firstPage, secondPage);
+
+        mockMvc.perform(get("/v1/products/getAllProductForUser").param("page", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, firstPage))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, secondPage));
+
+        String queryETag = mockMvc.perform(get("/v1/products/getAllProductForUser?page=1&size=20"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/v1/products/getAllProductForUser?size=20&page=1").header(HttpHeaders.IF_NONE_MATCH, queryETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com", roles = "USER")
+    void testErrorResponseHasNoValidators() throws Exception {
+        mockMvc.perform(get("/v1/products/getAllProductForUser").param("page", "first"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+    }
+}
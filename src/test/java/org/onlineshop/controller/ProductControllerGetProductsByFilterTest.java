@@ -0,0 +1,152 @@
+package org.onlineshop.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class ProductControllerGetProductsByFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void dropDatabase() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category phones = saveCategory("phones");
+        Category tools = saveCategory("tools");
+
+        saveProduct("Smart phone", phones, 300, 10);
+        saveProduct("Phone case", phones, 20, 5);
+        saveProduct("Old phone", phones, 200, 0);
+        saveProduct("Phone stand", phones, 700, 15);
+        saveProduct("Phone drill", tools, 300, 10);
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com", roles = "USER")
+    void testAllCriteriaAreAppliedTogether() throws Exception {
+        mockMvc.perform(get("/v1/products/filter")
+                        .param("category", "phones")
+                        .param("minPrice", "100")
+                        .param("maxPrice", "500")
+                        .param("discounted", "true")
+                        .param("name", "PHONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].productName").value("Smart phone"));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com", roles = "USER")
+    void testPageIsSortedByRequestedField() throws Exception {
+        mockMvc.perform(get("/v1/products/filter")
+                        .param("category", "phones")
+                        .param("sort", "price")
+                        .param("direction", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(4))
+                .andExpect(jsonPath("$.content[0].productName").value("Phone stand"))
+                .andExpect(jsonPath("$.content[3].productName").value("Phone case"));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com", roles = "USER")
+    void testCreatedDateRangeIsApplied() throws Exception {
+        String tomorrow = LocalDateTime.now().plusDays(1).withNano(0).toString();
+
+        mockMvc.perform(get("/v1/products/filter")
+                        .param("createdFrom", tomorrow))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com", roles = "USER")
+    void testKeysetPagingWithFilter() throws Exception {
+        mockMvc.perform(get("/v1/products/filter/cursor")
+                        .param("category", "phones")
+                        .param("discounted", "false")
+                        .param("sort", "price")
+                        .param("direction", "asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.content[0].productName").value("Old phone"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com", roles = "USER")
+    void testReversedDateRangeIsRejected() throws Exception {
+        mockMvc.perform(get("/v1/products/filter")
+                        .param("createdFrom", "2025-02-01T00:00:00")
+                        .param("createdTo", "2025-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser@email.com", roles = "USER")
+    void testNegativePriceIsRejected() throws Exception {
+        mockMvc.perform(get("/v1/products/filter")
+                        .param("minPrice", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Category saveCategory(String name) {
+        return categoryRepository.save(Category.builder()
+                .categoryName(name)
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+    }
+
+    private void saveProduct(String name, Category category, int price, int discount) {
+        productRepository.save(Product.builder()
+                .name(name)
+                .category(category)
+                .description("testDescription")
+                .price(BigDecimal.valueOf(price))
+                .discountPrice(BigDecimal.valueOf(discount))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image("https://drive.google.com/file/" + name.hashCode())
+                .build());
+    }
+}
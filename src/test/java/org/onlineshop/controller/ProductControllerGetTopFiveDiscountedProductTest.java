@@ -1,5 +1,7 @@
 package org.onlineshop.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -9,6 +11,7 @@ import org.onlineshop.dto.product.ProductResponseForUserDto;
 import org.onlineshop.exception.NotFoundException;
 import org.onlineshop.service.ProductService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
@@ -26,8 +29,10 @@ class ProductControllerGetTopFiveDiscountedProductTest {
     @InjectMocks
     private ProductController productController;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Test
-    void getTopFiveDiscountedProductsOfTheDayIfRoleUserAdminManagerAndDateBaseNotEmpty() {
+    void getTopFiveDiscountedProductsOfTheDayIfRoleUserAdminManagerAndDateBaseNotEmpty() throws Exception {
         List<ProductResponseForUserDto> mockProducts = List.of(
                 createProductDto("TestProductOne", new BigDecimal("90")),
                 createProductDto("TestProductTwo", new BigDecimal("80")),
@@ -36,29 +41,31 @@ class ProductControllerGetTopFiveDiscountedProductTest {
                 createProductDto("TestProductFive", new BigDecimal("40"))
         );
 
-        when(productService.getTopFiveDiscountedProductsOfTheDay()).thenReturn(mockProducts);
+        when(productService.getTopFiveDiscountedProductsOfTheDayJson()).thenReturn(objectMapper.writeValueAsBytes(mockProducts));
 
-        ResponseEntity<List<ProductResponseForUserDto>> result = productController.getTopFiveDiscountedProductsOfTheDay();
+        ResponseEntity<byte[]> result = productController.getTopFiveDiscountedProductsOfTheDay();
 
         assertNotNull(result);
         assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, result.getHeaders().getContentType());
         assertNotNull(result.getBody());
-        assertEquals(5, result.getBody().size());
-        assertEquals(new BigDecimal("90"), result.getBody().get(0).getProductDiscountPrice());
-        assertEquals(new BigDecimal("80"), result.getBody().get(1).getProductDiscountPrice());
-        assertEquals(new BigDecimal("70"), result.getBody().get(2).getProductDiscountPrice());
-        assertEquals(new BigDecimal("50"), result.getBody().get(3).getProductDiscountPrice());
-        assertEquals(new BigDecimal("40"), result.getBody().get(4).getProductDiscountPrice());
-        verify(productService, times(1)).getTopFiveDiscountedProductsOfTheDay();
+        JsonNode body = objectMapper.readTree(result.getBody());
+        assertEquals(5, body.size());
+        assertEquals(new BigDecimal("90"), body.get(0).get("productDiscountPrice").decimalValue());
+        assertEquals(new BigDecimal("80"), body.get(1).get("productDiscountPrice").decimalValue());
+        assertEquals(new BigDecimal("70"), body.get(2).get("productDiscountPrice").decimalValue());
+        assertEquals(new BigDecimal("50"), body.get(3).get("productDiscountPrice").decimalValue());
+        assertEquals(new BigDecimal("40"), body.get(4).get("productDiscountPrice").decimalValue());
+        verify(productService, times(1)).getTopFiveDiscountedProductsOfTheDayJson();
     }
 
     @Test
     void getTopFiveDiscountedProductsOfTheDayIfRoleUserAdminManagerAndDateBaseEmpty() {
-        when(productService.getTopFiveDiscountedProductsOfTheDay())
+        when(productService.getTopFiveDiscountedProductsOfTheDayJson())
                 .thenThrow(new NotFoundException("No discounted products found"));
 
         assertThrows(NotFoundException.class, () -> productController.getTopFiveDiscountedProductsOfTheDay());
-        verify(productService, times(1)).getTopFiveDiscountedProductsOfTheDay();
+        verify(productService, times(1)).getTopFiveDiscountedProductsOfTheDayJson();
     }
 
     @Test
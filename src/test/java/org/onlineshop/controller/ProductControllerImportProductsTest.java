@@ -0,0 +1,126 @@
+package org.onlineshop.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class ProductControllerImportProductsTest {
+
+    private static final String IMAGE = "https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void dropDatabase() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository.save(Category.builder()
+                .categoryName("tools")
+                .image(IMAGE)
+                .products(new ArrayList<>())
+                .build());
+    }
+
+    @Test
+    @WithMockUser(username = "testAdmin@email.com", roles = "ADMIN")
+    void testCsvImportReportsRejectedRowsByLine() throws Exception {
+        String csv = """
+                productName,productDescription,productCategory,productPrice,productDiscountPrice,productStock,image
+                Garden rake,"Steel rake, wooden handle",tools,25.50,0,7,%1$s
+                Hose,,TOOLS,12,10,,%1$s
+                Shovel,Spade,unknown,30,0,,%1$s
+                Pruner,Sharp,tools,abc,0,,%1$s
+                Trimmer,"Cordless,tools,40,0,,%1$s
+                GARDEN RAKE,,Tools,20,0,3,%1$s
+                Hand saw,,tools,15,150,,%1$s
+                """.formatted(IMAGE);
+
+        mockMvc.perform(post("/v1/products/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(7))
+                .andExpect(jsonPath("$.importedRows").value(2))
+                .andExpect(jsonPath("$.failedRows").value(5))
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[0].message").value("Category with name: unknown not found"))
+                .andExpect(jsonPath("$.errors[1].line").value(5))
+                .andExpect(jsonPath("$.errors[1].message").value("Invalid number in productPrice: abc"))
+                .andExpect(jsonPath("$.errors[2].line").value(6))
+                .andExpect(jsonPath("$.errors[3].line").value(8))
+                .andExpect(jsonPath("$.errors[3].message").value("Discount price cannot be greater than 100%"))
+                .andExpect(jsonPath("$.errors[4].line").value(7))
+                .andExpect(jsonPath("$.errors[4].message").value("Product with name 'GARDEN RAKE' already exists in category 'tools'"))
+                .andExpect(jsonPath("$.errorsTruncated").value(false));
+
+        assertEquals(2, productRepository.count());
+        Product rake = productRepository.findByNameContainingIgnoreCase("rake", PageRequest.of(0, 1)).getContent().get(0);
+        assertEquals("Steel rake, wooden handle", rake.getDescription());
+        assertEquals(7, rake.getStock());
+    }
+
+    @Test
+    @WithMockUser(username = "testAdmin@email.com", roles = "ADMIN")
+    void testNdjsonImportSkipsDuplicates() throws Exception {
+        String row = "{\"productName\":\"Garden rake\",\"productDescription\":\"Rake\",\"productCategory\":\"tools\","
+                + "\"productPrice\":25,\"productDiscountPrice\":5,\"image\":\"" + IMAGE + "\"}";
+        String ndjson = row + "\n" + row + "\n{not json}\n";
+
+        mockMvc.perform(post("/v1/products/import")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(3))
+                .andExpect(jsonPath("$.importedRows").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[1].line").value(2))
+                .andExpect(jsonPath("$.errors[1].message").value("Product with name 'Garden rake' already exists in category 'tools'"));
+
+        assertEquals(1, productRepository.count());
+    }
+
+    @Test
+    @WithMockUser(username = "testAdmin@email.com", roles = "ADMIN")
+    void testCsvWithoutRequiredColumnsIsRejected() throws Exception {
+        mockMvc.perform(post("/v1/products/import")
+                        .contentType("text/csv")
+                        .content("productName,productPrice\nRake,10\n"))
+                .andExpect(status().isBadRequest());
+    }
+}
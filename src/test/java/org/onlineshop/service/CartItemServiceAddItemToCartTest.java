@@ -20,10 +20,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
-import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -101,33 +101,8 @@ class CartItemServiceAddItemToCartTest {
 
     @Test
     void addItemToCartReturnsCorrectDto() {
-        Product product = new Product();
-        product.setId(5);
-        product.setName("Test Product");
-        product.setPrice(new BigDecimal("100.0"));
-
-        CartItem existingItem = CartItem.builder()
-                .product(product)
-                .quantity(2)
-                .build();
-        Cart cart = new Cart();
-        cart.setCartItems(new HashSet<>(Set.of(existingItem)));
-        cart.getCartItems().add(existingItem);
-
-        User user = new User();
-        user.setCart(cart);
-        when(userService.getCurrentUser()).thenReturn(user);
-        when(productService.getProductById(5)).thenReturn(Optional.of(product));
-        when(cartItemRepository.save(any(CartItem.class))).thenAnswer(i -> i.getArgument(0));
-        when(cartItemConverter.toSimpleDto(any(CartItem.class))).thenAnswer(i -> {
-            CartItem item = i.getArgument(0);
-            CartItemSimpleResponseDto dto = new CartItemSimpleResponseDto();
-            dto.setQuantity(item.getQuantity());
-            if (item.getProduct() != null) {
-                dto.setProductName(item.getProduct().getName());
-            }
-            return dto;
-        });
+        when(userService.getCurrentUserEmail()).thenReturn("test@email.com");
+        when(cartItemRepository.addToCart("test@email.com", 5, 3)).thenReturn(Optional.of(addedCartItem("Test Product", 5)));
 
         CartItemRequestDto request = new CartItemRequestDto(5, 3);
         CartItemSimpleResponseDto response = cartItemService.addItemToCart(request);
@@ -135,10 +110,21 @@ class CartItemServiceAddItemToCartTest {
         assertEquals("Quantity should be 5", 5, response.getQuantity());
         org.junit.jupiter.api.Assertions.assertEquals("Test Product", response.getProductName(), "Product name should match");
 
-        verify(userService, times(2)).getCurrentUser();
-        verify(productService, times(1)).getProductById(5);
-        verify(cartItemRepository, times(1)).save(existingItem);
-        verify(cartItemConverter, times(1)).toSimpleDto(existingItem);
+        verify(userService, never()).getCurrentUser();
+        verify(productService, never()).getProductById(any());
+        verify(cartItemRepository, times(1)).addToCart("test@email.com", 5, 3);
+        verify(cartItemRepository, never()).save(any(CartItem.class));
+    }
+
+    @Test
+    void addItemToCartThrowsIfUserHasNoCart() {
+        when(userService.getCurrentUserEmail()).thenReturn("test@email.com");
+        when(cartItemRepository.addToCart("test@email.com", 5, 1)).thenReturn(Optional.empty());
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> cartItemService.addItemToCart(new CartItemRequestDto(5, 1)));
+
+        assertEquals("Cart is empty", "Cart is empty", exception.getMessage());
     }
 
     @Test
@@ -176,11 +162,27 @@ class CartItemServiceAddItemToCartTest {
     void addItemToCartThrowsIfProductNotFound() {
         CartItemRequestDto request = new CartItemRequestDto(9999, 2);
 
-        when(productService.getProductById(9999)).thenReturn(Optional.empty());
+        when(userService.getCurrentUserEmail()).thenReturn("test@email.com");
+        when(cartItemRepository.addToCart("test@email.com", 9999, 2))
+                .thenThrow(new DataIntegrityViolationException("fk_cart_items_product"));
 
         BadRequestException exception = assertThrows(BadRequestException.class,
                 () -> cartItemService.addItemToCart(request));
 
         assertEquals("Product with ID: 9999 not found", exception.getMessage(), "Product with ID: 9999 not found");
     }
-}
\ No newline at end of file
+
+    private static CartItemRepository.AddedCartItem addedCartItem(String productName, Integer quantity) {
+        return new CartItemRepository.AddedCartItem() {
+            @Override
+            public String getProductName() {
+                return productName;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
@@ -0,0 +1,166 @@
+package org.onlineshop.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.cartItem.CartItemRequestDto;
+import org.onlineshop.dto.cartItem.CartItemSimpleResponseDto;
+import org.onlineshop.entity.Cart;
+import org.onlineshop.entity.CartItem;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.entity.User;
+import org.onlineshop.exception.BadRequestException;
+import org.onlineshop.repository.CartItemRepository;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class CartItemServiceAddItemToCartUpsertTest {
+
+    private static final String EMAIL = "cartUser@email.com";
+    private static final int CLICKS_PER_TAB = 50;
+
+    @Autowired
+    private CartItemService cartItemService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .username("cartUser")
+                .email(EMAIL)
+                .hashPassword("$2a$10$WiAt7dmC1vLIxjY9/9n7P.I5RQU1MKKSOI1Dy1pNLPPIts7K5RJR2")
+                .phoneNumber("+494949494949")
+                .status(User.Status.CONFIRMED)
+                .role(User.Role.USER)
+                .build();
+        user.setCart(Cart.builder().user(user).cartItems(new HashSet<>()).build());
+        userRepository.save(user);
+
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("testCategory")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+        product = productRepository.save(Product.builder()
+                .name("Hot Product")
+                .category(category)
+                .description("testDescription")
+                .price(BigDecimal.TEN)
+                .image("https://drive.google.com/file/hot")
+                .build());
+
+        authenticate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        cartItemRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void testAddInsertsThenIncrementsWithOneStatement() {
+        cartItemService.addItemToCart(new CartItemRequestDto(product.getId(), 2));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        CartItemSimpleResponseDto response = cartItemService.addItemToCart(new CartItemRequestDto(product.getId(), 3));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("Hot Product", response.getProductName());
+        assertEquals(5, response.getQuantity());
+        List<CartItem> cartItems = cartItemRepository.findAll();
+        assertEquals(1, cartItems.size());
+        assertEquals(5, cartItems.get(0).getQuantity());
+    }
+
+    @Test
+    void testDoubleClicksFromTwoTabsAddUp() throws Exception {
+        ExecutorService tabs = Executors.newFixedThreadPool(2);
+        CyclicBarrier click = new CyclicBarrier(2);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int tab = 0; tab < 2; tab++) {
+                results.add(tabs.submit(() -> {
+                    authenticate();
+                    for (int i = 0; i < CLICKS_PER_TAB; i++) {
+                        click.await(10, TimeUnit.SECONDS);
+                        cartItemService.addItemToCart(new CartItemRequestDto(product.getId(), 1));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            tabs.shutdownNow();
+        }
+
+        List<CartItem> cartItems = cartItemRepository.findAll();
+        assertEquals(1, cartItems.size());
+        assertEquals(2 * CLICKS_PER_TAB, cartItems.get(0).getQuantity());
+    }
+
+    @Test
+    void testAddUnknownProductThrows() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> cartItemService.addItemToCart(new CartItemRequestDto(product.getId() + 1000, 1)));
+
+        assertEquals("Product with ID: " + (product.getId() + 1000) + " not found", exception.getMessage());
+        assertEquals(0, cartItemRepository.count());
+    }
+
+    private static void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+    }
+}
@@ -0,0 +1,211 @@
+package org.onlineshop.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.cart.CartResponseDto;
+import org.onlineshop.dto.cartItem.CartItemBatchRequestDto;
+import org.onlineshop.dto.cartItem.CartItemOperationDto;
+import org.onlineshop.dto.cartItem.CartItemRequestDto;
+import org.onlineshop.dto.cartItem.CartItemSimpleResponseDto;
+import org.onlineshop.entity.Cart;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.entity.User;
+import org.onlineshop.exception.BadRequestException;
+import org.onlineshop.exception.NotFoundException;
+import org.onlineshop.repository.CartItemRepository;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class CartItemServiceApplyOperationsTest {
+
+    private static final String EMAIL = "batchUser@email.com";
+
+    @Autowired
+    private CartItemService cartItemService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Product apple;
+    private Product banana;
+    private Product cherry;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .username("batchUser")
+                .email(EMAIL)
+                .hashPassword("$2a$10$WiAt7dmC1vLIxjY9/9n7P.I5RQU1MKKSOI1Dy1pNLPPIts7K5RJR2")
+                .phoneNumber("+496969696969")
+                .status(User.Status.CONFIRMED)
+                .role(User.Role.USER)
+                .build();
+        user.setCart(Cart.builder().user(user).cartItems(new HashSet<>()).build());
+        userRepository.save(user);
+
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("testCategory")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+        apple = productRepository.save(product("Apple", category, BigDecimal.TEN, BigDecimal.ZERO));
+        banana = productRepository.save(product("Banana", category, BigDecimal.valueOf(20), BigDecimal.valueOf(50)));
+        cherry = productRepository.save(product("Cherry", category, BigDecimal.ONE, BigDecimal.ZERO));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+        cartItemService.addItemToCart(new CartItemRequestDto(apple.getId(), 2));
+        cartItemService.addItemToCart(new CartItemRequestDto(cherry.getId(), 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        cartItemRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void testOperationsAreAppliedInOrderWithFewStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CartResponseDto response = cartItemService.applyOperations(batch(
+                operation(CartItemOperationDto.Type.ADD, banana, 3),
+                operation(CartItemOperationDto.Type.UPDATE, apple, 5),
+                operation(CartItemOperationDto.Type.ADD, banana, 1),
+                operation(CartItemOperationDto.Type.REMOVE, cherry, null),
+                operation(CartItemOperationDto.Type.ADD, apple, 2)));
+
+        assertTrue(statistics.getPrepareStatementCount() <= 5);
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(Map.of("Apple", 7, "Banana", 4), quantitiesByName(response.getCartSympleItems()));
+        assertEquals(0, new BigDecimal("110.00").compareTo(response.getTotalPrice()));
+        assertEquals(Map.of(apple.getId(), 7, banana.getId(), 4), storedQuantities());
+    }
+
+    @Test
+    void testRemoveThenAddReplacesQuantity() {
+        CartResponseDto response = cartItemService.applyOperations(batch(
+                operation(CartItemOperationDto.Type.REMOVE, apple, null),
+                operation(CartItemOperationDto.Type.ADD, apple, 4)));
+
+        assertEquals(Map.of("Apple", 4, "Cherry", 1), quantitiesByName(response.getCartSympleItems()));
+        assertEquals(Map.of(apple.getId(), 4, cherry.getId(), 1), storedQuantities());
+    }
+
+    @Test
+    void testFailingOperationRollsBackAll() {
+        NotFoundException exception = assertThrows(NotFoundException.class, () ->
+                cartItemService.applyOperations(batch(
+                        operation(CartItemOperationDto.Type.ADD, apple, 1),
+                        operation(CartItemOperationDto.Type.REMOVE, cherry, null),
+                        operation(CartItemOperationDto.Type.UPDATE, cherry, 3))));
+
+        assertEquals("Product with ID: " + cherry.getId() + " not found in users cart", exception.getMessage());
+        assertEquals(Map.of(apple.getId(), 2, cherry.getId(), 1), storedQuantities());
+    }
+
+    @Test
+    void testAddUnknownProductThrows() {
+        CartItemOperationDto operation = CartItemOperationDto.builder()
+                .type(CartItemOperationDto.Type.ADD)
+                .productId(cherry.getId() + 1000)
+                .quantity(1)
+                .build();
+
+        assertThrows(BadRequestException.class, () -> cartItemService.applyOperations(batch(operation)));
+        assertEquals(Map.of(apple.getId(), 2, cherry.getId(), 1), storedQuantities());
+    }
+
+    @Test
+    void testAddWithoutQuantityThrows() {
+        assertThrows(BadRequestException.class, () ->
+                cartItemService.applyOperations(batch(operation(CartItemOperationDto.Type.ADD, banana, null))));
+    }
+
+    private static Product product(String name, Category category, BigDecimal price, BigDecimal discountPrice) {
+        return Product.builder()
+                .name(name)
+                .category(category)
+                .description("testDescription")
+                .price(price)
+                .discountPrice(discountPrice)
+                .image("https://drive.google.com/file/" + name)
+                .build();
+    }
+
+    private static CartItemOperationDto operation(CartItemOperationDto.Type type, Product product, Integer quantity) {
+        return CartItemOperationDto.builder()
+                .type(type)
+                .productId(product.getId())
+                .quantity(quantity)
+                .build();
+    }
+
+    private static CartItemBatchRequestDto batch(CartItemOperationDto... operations) {
+        return new CartItemBatchRequestDto(List.of(operations));
+    }
+
+    private static Map<String, Integer> quantitiesByName(List<CartItemSimpleResponseDto> cartItems) {
+        return cartItems.stream().collect(Collectors.toMap(CartItemSimpleResponseDto::getProductName,
+                CartItemSimpleResponseDto::getQuantity));
+    }
+
+    private Map<Integer, Integer> storedQuantities() {
+        return jdbcTemplate.query("SELECT product_id, quantity FROM cart_items", rs -> {
+            Map<Integer, Integer> quantities = new HashMap<>();
+            while (rs.next()) {
+                quantities.put(rs.getInt(1), rs.getInt(2));
+            }
+            return quantities;
+        });
+    }
+}
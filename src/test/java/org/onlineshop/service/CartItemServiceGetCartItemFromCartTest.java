@@ -3,8 +3,6 @@ package org.onlineshop.service;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.onlineshop.dto.cartItem.CartItemRequestDto;
-import org.onlineshop.dto.cartItem.CartItemSimpleResponseDto;
 import org.onlineshop.entity.Cart;
 import org.onlineshop.entity.CartItem;
 import org.onlineshop.entity.Product;
@@ -25,7 +23,6 @@ import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.util.AssertionErrors.assertEquals;
 
@@ -112,62 +109,18 @@ class CartItemServiceGetCartItemFromCartTest {
         user.setCart(cart);
 
         when(userService.getCurrentUser()).thenReturn(user);
-        when(productService.getProductById(1)).thenReturn(Optional.of(product));
-        when(cartItemRepository.save(any(CartItem.class))).thenAnswer(i -> i.getArgument(0));
-        when(cartItemConverter.toSimpleDto(any(CartItem.class)))
-                .thenAnswer(i -> {
-                    CartItem item = i.getArgument(0);
-                    CartItemSimpleResponseDto dto = new CartItemSimpleResponseDto();
-                    dto.setQuantity(item.getQuantity());
-                    return dto;
-                });
-
-        CartItemRequestDto request = new CartItemRequestDto(1, 3);
-        CartItemSimpleResponseDto response = cartItemService.addItemToCart(request);
-
-        // Проверяем, что количество увеличилось на 3
-        assertEquals("Quantity should be 5", 5, response.getQuantity());
-
-        verify(userService, times(2)).getCurrentUser();
-        verify(productService, times(1)).getProductById(1);
-        verify(cartItemRepository, times(1)).save(existingItem);
-        verify(cartItemConverter, times(1)).toSimpleDto(existingItem);
-    }
 
-    @Test
-    void getCartItemFromCartIfProductNotIcCartThenCreatesNewCartItem() {
-        Product product = new Product();
-        product.setId(3);
+        Optional<CartItem> result = cartItemService.getCartItemFromCart(1);
 
-        Cart cart = new Cart();
-        cart.setCartItems(new HashSet<>());
+        assertEquals("Cart item should be found", Optional.of(existingItem), result);
+        verify(userService, times(1)).getCurrentUser();
+    }
 
-        User user = new User();
-        user.setCart(cart);
+    @Test
+    void getCartItemFromCartIfProductNotInCart() {
+        Optional<CartItem> result = cartItemService.getCartItemFromCart(3);
 
-        when(userService.getCurrentUser()).thenReturn(user);
-        when(productService.getProductById(3)).thenReturn(Optional.of(product));
-        when(cartItemRepository.save(any(CartItem.class))).thenAnswer(i -> i.getArgument(0));
-        when(cartItemConverter.toSimpleDto(any(CartItem.class))).thenAnswer(i -> {
-            CartItem item = i.getArgument(0);
-            CartItemSimpleResponseDto dto = new CartItemSimpleResponseDto();
-            dto.setQuantity(item.getQuantity());
-            return dto;
-        });
-
-        CartItemRequestDto request = new CartItemRequestDto(3, 4);
-        CartItemSimpleResponseDto response = cartItemService.addItemToCart(request);
-
-        assertEquals("Quantity should be 4", 4, response.getQuantity());
-        assertEquals("Cart should contain 1 item", 1, user.getCart().getCartItems().size());
-
-        CartItem addedItem = user.getCart().getCartItems().iterator().next();
-        assertEquals("Product id should match", 3, addedItem.getProduct().getId());
-        assertEquals("Quantity should match request", 4, addedItem.getQuantity());
-
-        verify(userService, times(2)).getCurrentUser();
-        verify(productService, times(2)).getProductById(3);
-        verify(cartItemRepository, times(1)).save(addedItem);
-        verify(cartItemConverter, times(1)).toSimpleDto(addedItem);
+        assertEquals("Cart item should not be found", Optional.empty(), result);
+        verify(userService, times(1)).getCurrentUser();
     }
-}
\ No newline at end of file
+}
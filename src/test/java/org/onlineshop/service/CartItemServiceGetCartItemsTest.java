@@ -7,6 +7,7 @@ import org.onlineshop.entity.Cart;
 import org.onlineshop.entity.CartItem;
 import org.onlineshop.entity.Product;
 
+import org.onlineshop.service.cache.CartWriteBuffer;
 import org.onlineshop.service.converter.CartItemConverter;
 
 import java.util.HashSet;
@@ -29,7 +30,7 @@ class CartItemServiceGetCartItemsTest {
         cartService = mock(CartService.class);
         cartItemConverter = mock(CartItemConverter.class);
 
-        cartItemService = new CartItemService(null, null, cartItemConverter, cartService, null);
+        cartItemService = new CartItemService(null, null, cartItemConverter, cartService, null, mock(CartWriteBuffer.class), null);
 
         testCart = new Cart();
 
@@ -12,6 +12,7 @@ import org.onlineshop.entity.CartItem;
 import org.onlineshop.entity.Product;
 import org.onlineshop.exception.NotFoundException;
 import org.onlineshop.repository.CartItemRepository;
+import org.onlineshop.service.cache.CartWriteBuffer;
 import org.onlineshop.service.converter.CartItemConverter;
 
 import java.math.BigDecimal;
@@ -40,6 +41,9 @@ class CartItemServiceRemoveFromCartTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private CartWriteBuffer cartWriteBuffer;
+
     @InjectMocks
     private CartItemService cartItemService;
 
@@ -0,0 +1,163 @@
+package org.onlineshop.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.cart.CartSummaryDto;
+import org.onlineshop.dto.cartItem.CartItemRequestDto;
+import org.onlineshop.dto.cartItem.CartItemUpdateDto;
+import org.onlineshop.entity.Cart;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.entity.User;
+import org.onlineshop.repository.CartItemRepository;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml", properties = {
+        "retry.optimistic-lock.max-attempts=50",
+        "retry.optimistic-lock.initial-backoff=1ms",
+        "retry.optimistic-lock.max-backoff=20ms"
+})
+class CartItemServiceUpdateItemInCartStressTest {
+
+    private static final String EMAIL = "stressUser@email.com";
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 10;
+
+    @Autowired
+    private CartItemService cartItemService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .username("stressUser")
+                .email(EMAIL)
+                .hashPassword("$2a$10$WiAt7dmC1vLIxjY9/9n7P.I5RQU1MKKSOI1Dy1pNLPPIts7K5RJR2")
+                .phoneNumber("+498989898989")
+                .status(User.Status.CONFIRMED)
+                .role(User.Role.USER)
+                .build();
+        user.setCart(Cart.builder().user(user).cartItems(new HashSet<>()).build());
+        userRepository.save(user);
+
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("testCategory")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+        product = productRepository.save(Product.builder()
+                .name("Apple")
+                .category(category)
+                .description("testDescription")
+                .price(BigDecimal.TEN)
+                .discountPrice(BigDecimal.ZERO)
+                .image("https://drive.google.com/file/Apple")
+                .build());
+
+        authenticate();
+        cartItemService.addItemToCart(new CartItemRequestDto(product.getId(), 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        cartItemRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentUpdatesOfOneCartItemAreRetried() throws Exception {
+        double conflictsBefore = conflicts();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int firstQuantity = thread * UPDATES_PER_THREAD + 1;
+            results.add(executor.submit(() -> {
+                authenticate();
+                start.await();
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    cartItemService.updateItemInCart(new CartItemUpdateDto(product.getId(), firstQuantity + i));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertTrue(conflicts() > conflictsBefore);
+        Integer quantity = jdbcTemplate.queryForObject(
+                "SELECT quantity FROM cart_items WHERE product_id = ?", Integer.class, product.getId());
+        CartSummaryDto summary = cartService.getCartSummary();
+        assertEquals(quantity, summary.getItemCount());
+        assertEquals(0, BigDecimal.TEN.multiply(BigDecimal.valueOf(quantity)).compareTo(summary.getSubtotal()));
+    }
+
+    private double conflicts() {
+        return meterRegistry.find("optimistic.lock.conflicts")
+                .tag("operation", "CartItemService.updateItemInCart")
+                .counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    private static void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+    }
+}
@@ -79,6 +79,7 @@ class CartItemServiceUpdateItemInCartTest {
         p1.setId(1);
 
         existingCartItem = new CartItem();
+        existingCartItem.setCart(testCart);
         existingCartItem.setProduct(p1);
         existingCartItem.setQuantity(5);
 
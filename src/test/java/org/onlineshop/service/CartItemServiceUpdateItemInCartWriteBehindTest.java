@@ -0,0 +1,168 @@
+package org.onlineshop.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.cartItem.CartItemFullResponseDto;
+import org.onlineshop.dto.cartItem.CartItemRequestDto;
+import org.onlineshop.dto.cartItem.CartItemUpdateDto;
+import org.onlineshop.entity.Cart;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.entity.User;
+import org.onlineshop.exception.NotFoundException;
+import org.onlineshop.repository.CartItemRepository;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.OrderRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.repository.UserRepository;
+import org.onlineshop.service.cache.CartWriteBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml",
+        properties = {"cart.write-behind.enabled=true", "cart.write-behind.flush-interval=PT1H"})
+class CartItemServiceUpdateItemInCartWriteBehindTest {
+
+    private static final String EMAIL = "bufferUser@email.com";
+
+    @Autowired
+    private CartItemService cartItemService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartWriteBuffer cartWriteBuffer;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .username("bufferUser")
+                .email(EMAIL)
+                .hashPassword("$2a$10$WiAt7dmC1vLIxjY9/9n7P.I5RQU1MKKSOI1Dy1pNLPPIts7K5RJR2")
+                .phoneNumber("+495959595959")
+                .status(User.Status.CONFIRMED)
+                .role(User.Role.USER)
+                .build();
+        user.setCart(Cart.builder().user(user).cartItems(new HashSet<>()).build());
+        userRepository.save(user);
+
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("testCategory")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+        product = productRepository.save(Product.builder()
+                .name("Buffered Product")
+                .category(category)
+                .description("testDescription")
+                .price(BigDecimal.TEN)
+                .discountPrice(BigDecimal.ZERO)
+                .image("https://drive.google.com/file/buffered")
+                .build());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartWriteBuffer.flushAll();
+        SecurityContextHolder.clearContext();
+        orderRepository.deleteAll();
+        cartItemRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void testBurstOfChangesIsCoalescedUntilFlush() {
+        assertEquals(2, cartItemService.addItemToCart(new CartItemRequestDto(product.getId(), 2)).getQuantity());
+        assertEquals(5, cartItemService.updateItemInCart(new CartItemUpdateDto(product.getId(), 5)).getQuantity());
+        assertEquals(8, cartItemService.addItemToCart(new CartItemRequestDto(product.getId(), 3)).getQuantity());
+
+        assertEquals(0, storedRows());
+        assertEquals(1, cartWriteBuffer.pendingCount());
+        Set<CartItemFullResponseDto> cartItems = cartItemService.getCartItems();
+        assertEquals(1, cartItems.size());
+        assertEquals(8, cartItems.iterator().next().getQuantity());
+
+        assertEquals(1, cartWriteBuffer.flushAll());
+
+        assertEquals(0, cartWriteBuffer.pendingCount());
+        assertEquals(1, storedRows());
+        assertEquals(8, cartItemRepository.findAll().get(0).getQuantity());
+        assertEquals(9, cartItemService.addItemToCart(new CartItemRequestDto(product.getId(), 1)).getQuantity());
+    }
+
+    @Test
+    void testUpdateOfProductNotInCartThrows() {
+        assertThrows(NotFoundException.class,
+                () -> cartItemService.updateItemInCart(new CartItemUpdateDto(product.getId(), 5)));
+        assertEquals(0, cartWriteBuffer.pendingCount());
+    }
+
+    @Test
+    void testTransferCartToOrderWritesBufferFirst() {
+        cartItemService.addItemToCart(new CartItemRequestDto(product.getId(), 4));
+
+        orderService.transferCartToOrder();
+
+        assertEquals(0, cartWriteBuffer.pendingCount());
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT SUM(quantity) FROM order_items", Integer.class));
+    }
+
+    @Test
+    void testRemoveWritesBufferFirst() {
+        cartItemService.addItemToCart(new CartItemRequestDto(product.getId(), 4));
+
+        assertEquals(4, cartItemService.removeItemFromCart(product.getId()).getQuantity());
+
+        assertEquals(0, cartWriteBuffer.pendingCount());
+        assertEquals(0, storedRows());
+    }
+
+    private int storedRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cart_items", Integer.class);
+    }
+}
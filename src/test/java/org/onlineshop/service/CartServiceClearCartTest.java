@@ -10,6 +10,7 @@ import org.onlineshop.entity.Cart;
 import org.onlineshop.entity.CartItem;
 import org.onlineshop.entity.User;
 import org.onlineshop.repository.CartRepository;
+import org.onlineshop.service.cache.CartWriteBuffer;
 import org.onlineshop.service.converter.CartItemConverter;
 import org.onlineshop.service.interfaces.UserServiceInterface;
 
@@ -31,6 +32,9 @@ class CartServiceClearCartTest {
     @Mock
     private CartRepository cartRepository;
 
+    @Mock
+    private CartWriteBuffer cartWriteBuffer;
+
     @InjectMocks
     private CartService cartService;
 
@@ -55,6 +59,7 @@ class CartServiceClearCartTest {
         cartItemsTest.add(new CartItem());
 
         cartTest = Cart.builder()
+                .cartId(1)
                 .user(userTest)
                 .cartItems(cartItemsTest)
                 .build();
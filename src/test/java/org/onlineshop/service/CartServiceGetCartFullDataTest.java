@@ -15,6 +15,7 @@ import org.onlineshop.entity.CartItem;
 import org.onlineshop.entity.Product;
 import org.onlineshop.entity.User;
 import org.onlineshop.repository.CartRepository;
+import org.onlineshop.service.cache.CartWriteBuffer;
 import org.onlineshop.service.converter.CartItemConverter;
 import org.onlineshop.service.util.PriceCalculator;
 
@@ -40,6 +41,9 @@ class CartServiceGetCartFullDataTest {
     @Mock
     private PriceCalculator priceCalculator;
 
+    @Mock
+    private CartWriteBuffer cartWriteBuffer;
+
     @InjectMocks
     private CartService cartService;
 
@@ -0,0 +1,213 @@
+package org.onlineshop.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.cart.CartSummaryDto;
+import org.onlineshop.dto.cartItem.CartItemBatchRequestDto;
+import org.onlineshop.dto.cartItem.CartItemOperationDto;
+import org.onlineshop.dto.cartItem.CartItemRequestDto;
+import org.onlineshop.dto.cartItem.CartItemUpdateDto;
+import org.onlineshop.dto.product.ProductBulkDiscountRequestDto;
+import org.onlineshop.dto.product.ProductUpdateDto;
+import org.onlineshop.entity.Cart;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.entity.User;
+import org.onlineshop.repository.CartItemRepository;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class CartServiceGetCartSummaryTest {
+
+    private static final String EMAIL = "summaryUser@email.com";
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartItemService cartItemService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Product apple;
+    private Product banana;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .username("summaryUser")
+                .email(EMAIL)
+                .hashPassword("$2a$10$WiAt7dmC1vLIxjY9/9n7P.I5RQU1MKKSOI1Dy1pNLPPIts7K5RJR2")
+                .phoneNumber("+497979797979")
+                .status(User.Status.CONFIRMED)
+                .role(User.Role.USER)
+                .build();
+        user.setCart(Cart.builder().user(user).cartItems(new HashSet<>()).build());
+        userRepository.save(user);
+
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("testCategory")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+        apple = productRepository.save(product("Apple", category, BigDecimal.TEN, BigDecimal.ZERO));
+        banana = productRepository.save(product("Banana", category, BigDecimal.valueOf(20), BigDecimal.valueOf(50)));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        cartItemRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void testEmptyCartHasZeroSummary() {
+        assertSummary(0, "0", "0");
+    }
+
+    @Test
+    void testSummaryFollowsItemChanges() {
+        cartItemService.addItemToCart(new CartItemRequestDto(apple.getId(), 2));
+        cartItemService.addItemToCart(new CartItemRequestDto(banana.getId(), 1));
+        cartItemService.addItemToCart(new CartItemRequestDto(apple.getId(), 1));
+        assertSummary(4, "50.00", "40.00");
+
+        cartItemService.updateItemInCart(new CartItemUpdateDto(banana.getId(), 3));
+        assertSummary(6, "90.00", "60.00");
+
+        cartItemService.removeItemFromCart(apple.getId());
+        assertSummary(3, "60.00", "30.00");
+    }
+
+    @Test
+    void testSummaryFollowsBatchOperations() {
+        cartItemService.addItemToCart(new CartItemRequestDto(apple.getId(), 2));
+
+        cartItemService.applyOperations(new CartItemBatchRequestDto(List.of(
+                operation(CartItemOperationDto.Type.ADD, banana, 2),
+                operation(CartItemOperationDto.Type.UPDATE, apple, 5),
+                operation(CartItemOperationDto.Type.ADD, apple, 1))));
+
+        assertSummary(8, "100.00", "80.00");
+    }
+
+    @Test
+    void testSummaryIsRecalculatedWhenPriceOrDiscountChanges() {
+        cartItemService.addItemToCart(new CartItemRequestDto(apple.getId(), 2));
+        cartItemService.addItemToCart(new CartItemRequestDto(banana.getId(), 1));
+
+        productService.setDiscountPrice(apple.getId(), BigDecimal.valueOf(10));
+        assertSummary(3, "40.00", "28.00");
+
+        productService.updateProduct(banana.getId(), ProductUpdateDto.builder()
+                .productPrice(BigDecimal.valueOf(30))
+                .build());
+        assertSummary(3, "50.00", "33.00");
+    }
+
+    @Test
+    void testSummaryIsRecalculatedAfterBulkDiscount() {
+        cartItemService.addItemToCart(new CartItemRequestDto(apple.getId(), 2));
+        cartItemService.addItemToCart(new CartItemRequestDto(banana.getId(), 1));
+
+        productService.setDiscountPriceInBulk(ProductBulkDiscountRequestDto.builder()
+                .discountPrice(BigDecimal.valueOf(10))
+                .category("testCategory")
+                .maxPrice(BigDecimal.TEN)
+                .build());
+
+        assertSummary(3, "40.00", "28.00");
+    }
+
+    @Test
+    void testClearCartResetsSummary() {
+        cartItemService.addItemToCart(new CartItemRequestDto(apple.getId(), 2));
+
+        cartService.clearCart();
+
+        assertSummary(0, "0", "0");
+    }
+
+    @Test
+    void testSummaryIsReadWithOneStatementWithoutLoadingItems() {
+        cartItemService.addItemToCart(new CartItemRequestDto(apple.getId(), 2));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        cartService.getCartSummary();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private void assertSummary(int itemCount, String subtotal, String discountedTotal) {
+        CartSummaryDto summary = cartService.getCartSummary();
+        assertEquals(itemCount, summary.getItemCount());
+        assertEquals(0, new BigDecimal(subtotal).compareTo(summary.getSubtotal()));
+        assertEquals(0, new BigDecimal(discountedTotal).compareTo(summary.getDiscountedTotal()));
+    }
+
+    private static Product product(String name, Category category, BigDecimal price, BigDecimal discountPrice) {
+        return Product.builder()
+                .name(name)
+                .category(category)
+                .description("testDescription")
+                .price(price)
+                .discountPrice(discountPrice)
+                .image("https://drive.google.com/file/" + name)
+                .build();
+    }
+
+    private static CartItemOperationDto operation(CartItemOperationDto.Type type, Product product, Integer quantity) {
+        return CartItemOperationDto.builder()
+                .type(type)
+                .productId(product.getId())
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -1,19 +1,29 @@
 package org.onlineshop.service;
 
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.validation.ValidatorFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
 import org.onlineshop.exception.BadRequestException;
 import org.onlineshop.exception.NotFoundException;
 import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 @SpringBootTest
@@ -21,14 +31,27 @@ import static org.junit.jupiter.api.Assertions.*;
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @TestPropertySource(locations = "classpath:application-test.yml")
 class CategoryServiceDeleteCategoryTest {
+
+    private static final int PRODUCT_COUNT = 50_000;
+
     @Autowired
     private CategoryRepository categoryRepository;
 
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @AfterEach
     void dropDatabase() {
+        jdbcTemplate.update("DELETE FROM products");
         categoryRepository.deleteAll();
     }
 
@@ -49,6 +72,43 @@ class CategoryServiceDeleteCategoryTest {
         assertEquals(0, categoryRepository.findAll().size());
     }
 
+    @Test
+    void testDeleteCategoryMovesProductsToOtherWithOneUpdate() {
+        Category other = categoryRepository.save(Category.builder()
+                .categoryName("Other")
+                .image("https://drive.google.com/file/other")
+                .products(new ArrayList<>())
+                .build());
+        Category large = categoryRepository.save(Category.builder()
+                .categoryName("largeCategory")
+                .image("https://drive.google.com/file/large")
+                .products(new ArrayList<>())
+                .build());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(PRODUCT_COUNT);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            rows.add(new Object[]{"Product" + i, "testDescription", BigDecimal.TEN, BigDecimal.ZERO,
+                    "https://drive.google.com/file/" + i, large.getCategoryId(), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products " +
+                "(name, description, price, discount_price, image, category_id, created_at, updated_at, version) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        categoryService.deleteCategory(large.getCategoryId());
+
+        // a handful of statements however many products are moved: category loads, the UPDATE, the DELETE
+        // and the top-five refresh after commit
+        assertTrue(statistics.getPrepareStatementCount() < 10);
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Product.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertFalse(categoryRepository.findById(large.getCategoryId()).isPresent());
+        assertEquals(PRODUCT_COUNT, productRepository.countByCategory(other));
+    }
+
     @Test
     void testDeleteCategoryIfProductNotFound() {
         Exception exception = assertThrows(NotFoundException.class, () -> categoryService.deleteCategory(100000));
@@ -1,11 +1,16 @@
 package org.onlineshop.service;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.onlineshop.dto.category.CategoryResponseDto;
 import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
 import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -14,6 +19,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -30,8 +36,15 @@ class CategoryServiceGetAllCategoriesTest {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @AfterEach
     void dropDatabase() {
+        productRepository.deleteAll();
         categoryRepository.deleteAll();
     }
 
@@ -64,4 +77,36 @@ class CategoryServiceGetAllCategoriesTest {
         assertEquals(2, result.getTotalElements());
         assertEquals(CategoryResponseDto.class, firstCategory.getClass());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllCategoriesWithProductCountsFromOneQuery() {
+        Category categoryOne = categoryRepository.findAll().stream()
+                .filter(category -> category.getCategoryName().equals("testCategoryOne"))
+                .findFirst()
+                .orElseThrow();
+        for (int i = 0; i < 3; i++) {
+            productRepository.save(Product.builder()
+                    .name("Product" + i)
+                    .category(categoryOne)
+                    .description("testDescription")
+                    .price(BigDecimal.TEN)
+                    .discountPrice(BigDecimal.valueOf(i * 10))
+                    .image("https://drive.google.com/file/" + i)
+                    .build());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Page<CategoryResponseDto> result = categoryService.getAllCategories(PageRequest.of(0, 10));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        CategoryResponseDto first = result.getContent().get(0);
+        CategoryResponseDto second = result.getContent().get(1);
+        assertEquals("testCategoryOne", first.getCategoryName());
+        assertEquals(3, first.getProductCount());
+        assertEquals(2, first.getDiscountedProductCount());
+        assertEquals("testCategoryTwo", second.getCategoryName());
+        assertEquals(0, second.getProductCount());
+        assertEquals(0, second.getDiscountedProductCount());
+    }
+}
@@ -1,12 +1,17 @@
 package org.onlineshop.service;
 
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.validation.ValidatorFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.category.CategoryUpdateDto;
 import org.onlineshop.entity.Category;
 import org.onlineshop.exception.BadRequestException;
 import org.onlineshop.exception.NotFoundException;
 import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.service.cache.CategoryNameIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -14,6 +19,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
 import java.util.ArrayList;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -30,6 +36,12 @@ class CategoryServiceGetCategoryByNameTest {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoryNameIndex categoryNameIndex;
+
     @AfterEach
     void dropDatabase() {
         categoryRepository.deleteAll();
@@ -65,4 +77,63 @@ class CategoryServiceGetCategoryByNameTest {
         String messageException = "Category with name: testNameNotFound not found";
         assertEquals(messageException, exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRepeatedLookupIsServedFromIndexAndSecondLevelCache() {
+        categoryRepository.save(Category.builder()
+                .categoryName("cachedCategory")
+                .image("https://drive.google.com/cached")
+                .products(new ArrayList<>())
+                .build());
+        categoryService.getCategoryByName("cachedCategory");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Category result = categoryService.getCategoryByName("cachedCategory");
+
+        assertEquals("cachedCategory", result.getCategoryName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getNaturalIdCacheHitCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void testLookupIgnoresCaseAndSurroundingWhitespace() {
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("GardenTools")
+                .image("https://drive.google.com/garden")
+                .products(new ArrayList<>())
+                .build());
+
+        assertEquals(category.getCategoryId(), categoryService.getCategoryByName(" gardentools ").getCategoryId());
+    }
+
+    @Test
+    void testIndexFollowsCommittedChanges() {
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("indexed")
+                .image("https://drive.google.com/indexed")
+                .products(new ArrayList<>())
+                .build());
+        assertEquals(Optional.of(category.getCategoryId()), categoryNameIndex.findId("INDEXED"));
+
+        categoryRepository.delete(category);
+
+        assertEquals(Optional.empty(), categoryNameIndex.findId("indexed"));
+    }
+
+    @Test
+    void testRenamedCategoryIsNotFoundByOldName() {
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("oldName")
+                .image("https://drive.google.com/old")
+                .products(new ArrayList<>())
+                .build());
+        categoryService.getCategoryByName("oldName");
+
+        categoryService.updateCategory(category.getCategoryId(), CategoryUpdateDto.builder().categoryName("newName").build());
+
+        assertEquals(category.getCategoryId(), categoryService.getCategoryByName("newName").getCategoryId());
+        assertThrows(NotFoundException.class, () -> categoryService.getCategoryByName("oldName"));
+    }
+}
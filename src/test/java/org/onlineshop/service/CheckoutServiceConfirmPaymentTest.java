@@ -0,0 +1,122 @@
+package org.onlineshop.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.config.CheckoutConfig;
+import org.onlineshop.dto.order.OrderResponseDto;
+import org.onlineshop.dto.order.OrderStatusResponseDto;
+import org.onlineshop.entity.Order;
+import org.onlineshop.exception.BadRequestException;
+import org.onlineshop.repository.OrderRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CheckoutServiceConfirmPaymentTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final CountDownLatch mailServerResponds = new CountDownLatch(1);
+    private CheckoutService checkoutService;
+
+    @BeforeEach
+    void setUp() {
+        CheckoutConfig config = new CheckoutConfig();
+        config.setNotifyThreads(1);
+        config.setNotifyQueueCapacity(1);
+        checkoutService = new CheckoutService(orderService, orderRepository, config, mock(PlatformTransactionManager.class));
+
+        doAnswer(invocation -> mailServerResponds.await(10, TimeUnit.SECONDS))
+                .when(orderService).processOrderPayment(any());
+        when(orderService.confirmPayment(any(), eq("CARD"))).thenAnswer(invocation -> OrderResponseDto.builder()
+                .orderId(invocation.getArgument(0))
+                .status(Order.Status.PROCESSING.name())
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        mailServerResponds.countDown();
+        checkoutService.shutdown();
+    }
+
+    @Test
+    void confirmPayment_returnsBeforeEmailIsSent() {
+        OrderStatusResponseDto status = checkoutService.confirmPayment(1, "CARD");
+
+        assertEquals("PROCESSING", status.getStatus());
+        verify(orderService).confirmPayment(1, "CARD");
+        verify(orderService, timeout(5000)).processOrderPayment(1);
+        assertEquals(1, checkoutService.pendingNotifications());
+
+        mailServerResponds.countDown();
+        await(() -> checkoutService.pendingNotifications() == 0);
+    }
+
+    @Test
+    void confirmPayment_whenValidationFails_shouldNotQueueNotification() {
+        when(orderService.confirmPayment(1, "CARD")).thenThrow(new BadRequestException("Not pending"));
+
+        assertThrows(BadRequestException.class, () -> checkoutService.confirmPayment(1, "CARD"));
+
+        verify(orderService, never()).processOrderPayment(any());
+        assertEquals(0, checkoutService.pendingNotifications());
+    }
+
+    @Test
+    void submitNotification_whenAlreadyQueued_shouldNotQueueTwice() {
+        checkoutService.confirmPayment(1, "CARD");
+        checkoutService.submitNotification(1);
+
+        mailServerResponds.countDown();
+        await(() -> checkoutService.pendingNotifications() == 0);
+        verify(orderService, times(1)).processOrderPayment(1);
+    }
+
+    @Test
+    void submitNotification_whenQueueIsFull_shouldLeaveOrderForRecovery() {
+        checkoutService.confirmPayment(1, "CARD");
+        verify(orderService, timeout(5000)).processOrderPayment(1);
+        checkoutService.confirmPayment(2, "CARD");
+
+        OrderStatusResponseDto status = checkoutService.confirmPayment(3, "CARD");
+
+        assertEquals("PROCESSING", status.getStatus());
+        assertFalse(checkoutService.submitNotification(3));
+        assertEquals(2, checkoutService.pendingNotifications());
+    }
+
+    @Test
+    void recoverStalledCheckouts_shouldQueueClaimedOrdersOnly() {
+        mailServerResponds.countDown();
+        when(orderRepository.findStalledOrders(eq(Order.Status.PROCESSING), any(), any(Pageable.class)))
+                .thenReturn(List.of(4, 5));
+        when(orderRepository.touchStalledOrder(eq(4), eq(Order.Status.PROCESSING), any(), any())).thenReturn(1);
+        when(orderRepository.touchStalledOrder(eq(5), eq(Order.Status.PROCESSING), any(), any())).thenReturn(0);
+
+        assertEquals(1, checkoutService.recoverStalledCheckouts());
+
+        verify(orderService, timeout(5000)).processOrderPayment(4);
+        verify(orderService, never()).processOrderPayment(5);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -2,7 +2,6 @@ package org.onlineshop.service;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.onlineshop.dto.order.OrderResponseDto;
 import org.onlineshop.entity.Order;
@@ -11,7 +10,6 @@ import org.onlineshop.entity.Product;
 import org.onlineshop.entity.User;
 import org.onlineshop.exception.BadRequestException;
 import org.onlineshop.exception.NotFoundException;
-import org.onlineshop.service.util.PdfOrderGenerator;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.math.BigDecimal;
@@ -174,7 +172,7 @@ class OrderServiceAccessAndPaymentBaseTest extends OrderServiceBaseTest {
     }
 
     @Test
-    void confirmPayment_whenOk_shouldSetStatusPaidAndSendEmail() {
+    void confirmPayment_whenOk_shouldSetStatusProcessingWithoutSendingEmail() {
         Integer orderId = 10;
         Order order = createOrderWithItems(userRegular, Order.Status.PENDING_PAYMENT);
 
@@ -186,19 +184,13 @@ class OrderServiceAccessAndPaymentBaseTest extends OrderServiceBaseTest {
         OrderResponseDto dto = new OrderResponseDto();
         when(orderConverter.toDto(order)).thenReturn(dto);
 
-        byte[] pdfBytes = "dummy".getBytes();
+        OrderResponseDto result = orderService.confirmPayment(orderId, "CARD");
 
-        try (MockedStatic<PdfOrderGenerator> mockedStatic = mockStatic(PdfOrderGenerator.class)) {
-            mockedStatic.when(() -> PdfOrderGenerator.generatePdfOrder(order))
-                    .thenReturn(pdfBytes);
+        assertSame(dto, result);
+        assertEquals(Order.Status.PROCESSING, order.getStatus());
 
-            OrderResponseDto result = orderService.confirmPayment(orderId, "CARD");
-
-            assertSame(dto, result);
-            assertEquals(Order.Status.PAID, order.getStatus());
-
-            verify(orderRepository, times(2)).save(order);
-            verify(cartService).clearCart();
-        }
+        verify(orderRepository, times(1)).save(order);
+        verify(cartService).clearCart();
+        verifyNoInteractions(mailUtil);
     }
-}
\ No newline at end of file
+}
@@ -33,6 +33,9 @@ abstract class OrderServiceBaseTest {
     @Mock
     protected MailUtil mailUtil;
 
+    @Mock
+    protected StockReservationService stockReservationService;
+
     @Spy
     @InjectMocks
     protected OrderService orderService;
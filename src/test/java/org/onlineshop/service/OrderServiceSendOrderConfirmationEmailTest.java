@@ -14,6 +14,7 @@ import org.onlineshop.service.util.PdfOrderGenerator;
 
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -90,8 +91,9 @@ class OrderServiceSendOrderConfirmationEmailTest {
 
             orderService.sendOrderConfirmationEmail(orderId);
 
-            verify(mailUtil, times(3))
+            verify(mailUtil, times(1))
                     .sendOrderPaidEmail(any(), any(), any());
+            assertEquals(Order.Status.PENDING_PAYMENT, order.getStatus());
         }
     }
 }
@@ -12,12 +12,14 @@ import org.onlineshop.exception.BadRequestException;
 import org.onlineshop.repository.CartRepository;
 import org.onlineshop.repository.OrderRepository;
 import org.onlineshop.repository.UserRepository;
+import org.onlineshop.service.cache.CartWriteBuffer;
 import org.onlineshop.service.converter.CartItemConverter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -44,6 +46,12 @@ class OrderServiceTransferCartToOrderTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private CartWriteBuffer cartWriteBuffer;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -128,6 +136,7 @@ class OrderServiceTransferCartToOrderTest {
         verify(userService, atLeastOnce()).getCurrentUser();
         verify(cartService, times(1)).getCurrentCart();
         verify(cartItemConverter, times(1)).cartItemToOrderItem(cartItemTest);
+        verify(stockReservationService, times(1)).reserve(List.of(orderItemTest));
         verify(orderRepository, times(2)).save(any(Order.class));
         verify(userService, times(1)).saveUser(userTest);
     }
@@ -250,6 +259,22 @@ class OrderServiceTransferCartToOrderTest {
 
         assertThrows(BadRequestException.class, () -> orderService.transferCartToOrder());
 
+        verify(stockReservationService, never()).reserve(any());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(userService, never()).saveUser(any(User.class));
+    }
+
+    @Test
+    void testTransferCartToOrderWhenStockIsShort() {
+        when(cartService.getCurrentCart()).thenReturn(cartTest);
+        when(userService.getCurrentUser()).thenReturn(userTest);
+        when(cartItemConverter.cartItemToOrderItem(cartItemTest)).thenReturn(orderItemTest);
+        when(orderRepository.findByUserAndStatus(userTest, Order.Status.PENDING_PAYMENT)).thenReturn(null);
+        doThrow(new BadRequestException("Not enough stock for products: testProduct"))
+                .when(stockReservationService).reserve(any());
+
+        assertThrows(BadRequestException.class, () -> orderService.transferCartToOrder());
+
         verify(orderRepository, never()).save(any(Order.class));
         verify(userService, never()).saveUser(any(User.class));
     }
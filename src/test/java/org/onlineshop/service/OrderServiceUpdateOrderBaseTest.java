@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -107,6 +108,22 @@ class OrderServiceUpdateOrderBaseTest extends OrderServiceBaseTest {
 
         assertEquals(Order.Status.CANCELLED, order.getStatus());
         verify(orderRepository).save(order);
+        verify(stockReservationService, never()).release(any());
+    }
+
+    @Test
+    void cancelOrder_whenStockReserved_shouldReleaseStockOnce() {
+        Integer orderId = 11;
+        Order order = Order.builder().orderId(orderId).status(Order.Status.PENDING_PAYMENT).stockReserved(true).build();
+
+        doReturn(true).when(orderService).isAccessToOrderAllowed(orderId);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+        orderService.cancelOrder(orderId);
+
+        assertEquals(Order.Status.CANCELLED, order.getStatus());
+        assertFalse(order.isStockReserved());
+        verify(stockReservationService).release(order.getOrderItems());
     }
 
     @Test
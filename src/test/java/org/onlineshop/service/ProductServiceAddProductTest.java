@@ -8,7 +8,9 @@ import org.junit.jupiter.api.Test;
 import org.onlineshop.dto.product.ProductRequestDto;
 import org.onlineshop.dto.product.ProductResponseDto;
 import org.onlineshop.entity.Category;
+import org.onlineshop.entity.OrderItem;
 import org.onlineshop.entity.Product;
+import org.onlineshop.exception.BadRequestException;
 import org.onlineshop.exception.NotFoundException;
 import org.onlineshop.exception.UrlValidationError;
 import org.onlineshop.exception.UrlValidationException;
@@ -19,10 +21,12 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,6 +48,12 @@ class ProductServiceAddProductTest {
     @Autowired
     private ValidatorFactory validatorFactory;
 
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
 
     @AfterEach
     void dropDatabase() {
@@ -96,6 +106,27 @@ class ProductServiceAddProductTest {
 
     }
 
+    @Test
+    void testAddProductWithStockLimitsReservations() {
+        ProductRequestDto requestDto = ProductRequestDto.builder()
+                .productName("StockedProduct")
+                .productCategory("testCategory")
+                .image("https://drive.google.com/test")
+                .productDescription("TestProductText")
+                .productPrice(BigDecimal.valueOf(100))
+                .productDiscountPrice(BigDecimal.ZERO)
+                .productStock(3)
+                .build();
+
+        ProductResponseDto savedProduct = productService.addProduct(requestDto);
+        assertEquals(3, savedProduct.getProductStock());
+        assertEquals(3, productRepository.findById(savedProduct.getProductId()).orElseThrow().getStock());
+
+        reserve(savedProduct.getProductId(), 2);
+        assertThrows(BadRequestException.class, () -> reserve(savedProduct.getProductId(), 2));
+        assertEquals(1, productRepository.findById(savedProduct.getProductId()).orElseThrow().getStock());
+    }
+
     @Test
     void testAddProductIfCategoryNotFound() {
 
@@ -258,4 +289,14 @@ class ProductServiceAddProductTest {
         );
     }
 
-}
\ No newline at end of file
+    private void reserve(Integer productId, int quantity) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Product product = productRepository.findById(productId).orElseThrow();
+            stockReservationService.reserve(List.of(OrderItem.builder()
+                    .product(product)
+                    .quantity(quantity)
+                    .priceAtPurchase(product.getPrice())
+                    .build()));
+        });
+    }
+}
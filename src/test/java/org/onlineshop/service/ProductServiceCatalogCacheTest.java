@@ -0,0 +1,161 @@
+package org.onlineshop.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.product.ProductBulkDiscountRequestDto;
+import org.onlineshop.dto.product.ProductRequestDto;
+import org.onlineshop.dto.product.ProductResponseDto;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.OrderItem;
+import org.onlineshop.entity.Product;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.service.cache.ProductCatalogCache;
+import org.onlineshop.service.cache.ProductCatalogChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the catalog listings with the catalog cache enabled and checks that committed changes evict them.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml", properties = "catalog.cache.enabled=true")
+class ProductServiceCatalogCacheTest {
+
+    private static final String IMAGE = "https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductCatalogCache catalogCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Pageable pageable = PageRequest.of(0, 20);
+    private Product rake;
+
+    @AfterEach
+    void dropDatabase() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        catalogCache.onCatalogChanged(ProductCatalogChangedEvent.all());
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category tools = categoryRepository.save(Category.builder()
+                .categoryName("Tools")
+                .image(IMAGE)
+                .products(new ArrayList<>())
+                .build());
+        rake = productRepository.save(Product.builder()
+                .name("Rake")
+                .category(tools)
+                .description("testDescription")
+                .price(BigDecimal.TEN)
+                .discountPrice(BigDecimal.ZERO)
+                .stock(5)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image(IMAGE)
+                .build());
+    }
+
+    @Test
+    void testCachedListingIsServedWithoutReload() {
+        assertEquals(1, productService.getProductsByCategory("tools", pageable).getTotalElements());
+
+        productRepository.save(Product.builder()
+                .name("Hoe")
+                .category(rake.getCategory())
+                .description("testDescription")
+                .price(BigDecimal.TEN)
+                .discountPrice(BigDecimal.ZERO)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image(IMAGE)
+                .build());
+
+        assertEquals(1, productService.getProductsByCategory("TOOLS", pageable).getTotalElements());
+    }
+
+    @Test
+    void testProductChangeEvictsCategoryListingCachedUnderAnyCase() {
+        assertEquals(1, productService.getProductsByCategory("TOOLS", pageable).getTotalElements());
+        assertEquals(1, productService.getProductsByCategory("tools", pageable).getTotalElements());
+
+        productService.addProduct(ProductRequestDto.builder()
+                .productName("Hoe")
+                .productDescription("testDescription")
+                .productCategory("tools")
+                .productPrice(BigDecimal.TEN)
+                .productDiscountPrice(BigDecimal.ZERO)
+                .image(IMAGE)
+                .build());
+
+        assertEquals(2, productService.getProductsByCategory("TOOLS", pageable).getTotalElements());
+        assertEquals(2, productService.getProductsByCategory("tools", pageable).getTotalElements());
+    }
+
+    @Test
+    void testBulkDiscountEvictsCategoryAndDiscountListings() {
+        assertEquals(0, productService.getProductsByDiscount(pageable).getTotalElements());
+        assertEquals(0, BigDecimal.ZERO.compareTo(productDto(productService.getProductsByCategory("TOOLS", pageable))
+                .getProductDiscountPrice()));
+
+        productService.setDiscountPriceInBulk(ProductBulkDiscountRequestDto.builder()
+                .discountPrice(BigDecimal.valueOf(15))
+                .category("tools")
+                .build());
+
+        assertEquals(1, productService.getProductsByDiscount(pageable).getTotalElements());
+        assertEquals(0, BigDecimal.valueOf(15).compareTo(productDto(productService.getProductsByCategory("TOOLS", pageable))
+                .getProductDiscountPrice()));
+    }
+
+    @Test
+    void testStockReservationEvictsCategoryListing() {
+        assertEquals(5, productDto(productService.getProductsByCategory("tools", pageable)).getProductStock());
+
+        transactionTemplate.executeWithoutResult(status -> stockReservationService.reserve(List.of(OrderItem.builder()
+                .product(rake)
+                .quantity(2)
+                .priceAtPurchase(rake.getPrice())
+                .build())));
+
+        assertEquals(3, productDto(productService.getProductsByCategory("tools", pageable)).getProductStock());
+    }
+
+    private static ProductResponseDto productDto(Page<ProductResponseDto> page) {
+        assertEquals(1, page.getTotalElements());
+        return page.getContent().get(0);
+    }
+}
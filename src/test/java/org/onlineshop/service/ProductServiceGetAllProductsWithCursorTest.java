@@ -0,0 +1,142 @@
+package org.onlineshop.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.product.ProductCursorPageDto;
+import org.onlineshop.dto.product.ProductResponseDto;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.exception.BadRequestException;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class ProductServiceGetAllProductsWithCursorTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @AfterEach
+    void dropDatabase() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category category = Category.builder()
+                .categoryName("testCategory")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build();
+
+        categoryRepository.save(category);
+
+        int[] prices = {50, 10, 30, 10, 30, 70, 10};
+        LocalDateTime createdAt = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < prices.length; i++) {
+            productRepository.save(Product.builder()
+                    .name("TestProduct" + i)
+                    .category(category)
+                    .description("testDescription")
+                    .price(BigDecimal.valueOf(prices[i]))
+                    .discountPrice(BigDecimal.ZERO)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .image("https://drive.google.com/file/" + i)
+                    .build());
+        }
+    }
+
+    @Test
+    void testWalksAllPagesByPriceWithoutGapsOrDuplicates() {
+        List<ProductResponseDto> collected = readAllPages("price", Sort.Direction.ASC);
+
+        List<ProductResponseDto> expected = new ArrayList<>(collected);
+        expected.sort(Comparator.comparing(ProductResponseDto::getProductPrice)
+                .thenComparing(ProductResponseDto::getProductId));
+
+        assertEquals(7, collected.size());
+        assertEquals(7, collected.stream().map(ProductResponseDto::getProductId).distinct().count());
+        assertEquals(expected, collected);
+    }
+
+    @Test
+    void testWalksAllPagesByEqualCreateDateDescending() {
+        List<ProductResponseDto> collected = readAllPages("createdAt", Sort.Direction.DESC);
+
+        List<Integer> ids = collected.stream().map(ProductResponseDto::getProductId).toList();
+        List<Integer> expected = ids.stream().sorted(Comparator.reverseOrder()).toList();
+
+        assertEquals(7, ids.size());
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    void testLastPageHasNoNextCursor() {
+        ProductCursorPageDto<ProductResponseDto> page =
+                productService.getAllProductsWithCursor(null, 10, "id", Sort.Direction.ASC);
+
+        assertEquals(7, page.getSize());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testCursorWithDifferentSortIsRejected() {
+        ProductCursorPageDto<ProductResponseDto> page =
+                productService.getAllProductsWithCursor(null, 3, "price", Sort.Direction.ASC);
+
+        assertThrows(BadRequestException.class, () ->
+                productService.getAllProductsWithCursor(page.getNextCursor(), 3, "createdAt", Sort.Direction.ASC));
+    }
+
+    @Test
+    void testMalformedCursorIsRejected() {
+        assertThrows(BadRequestException.class, () ->
+                productService.getAllProductsWithCursor("not-a-cursor", 3, "price", Sort.Direction.ASC));
+    }
+
+    @Test
+    void testUnsupportedSortFieldIsRejected() {
+        assertThrows(BadRequestException.class, () ->
+                productService.getAllProductsWithCursor(null, 3, "name", Sort.Direction.ASC));
+    }
+
+    private List<ProductResponseDto> readAllPages(String sortField, Sort.Direction direction) {
+        List<ProductResponseDto> collected = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProductCursorPageDto<ProductResponseDto> page =
+                    productService.getAllProductsWithCursor(cursor, 3, sortField, direction);
+            assertTrue(page.getSize() <= 3);
+            collected.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return collected;
+    }
+}
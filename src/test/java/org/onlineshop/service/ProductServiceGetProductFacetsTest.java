@@ -0,0 +1,132 @@
+package org.onlineshop.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.product.PriceBucketFacetDto;
+import org.onlineshop.dto.product.ProductFacetsDto;
+import org.onlineshop.dto.product.ProductFilterRequestDto;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.exception.NotFoundException;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class ProductServiceGetProductFacetsTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void dropDatabase() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category tools = saveCategory("tools");
+        Category pots = saveCategory("pots");
+
+        saveProduct("Rake", tools, 20, 15);
+        saveProduct("Shovel", tools, 40, 0);
+        saveProduct("Mower", tools, 600, 50);
+        saveProduct("Clay pot", pots, 10, 0);
+    }
+
+    @Test
+    void testFacetsAreCountedInOneQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ProductFacetsDto facets = productService.getProductFacets(new ProductFilterRequestDto());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(4, facets.getTotalProducts());
+        assertEquals(2, facets.getDiscountedProducts());
+
+        assertEquals(2, facets.getCategories().size());
+        assertEquals("pots", facets.getCategories().get(0).getCategoryName());
+        assertEquals(1, facets.getCategories().get(0).getProducts());
+        assertEquals("tools", facets.getCategories().get(1).getCategoryName());
+        assertEquals(3, facets.getCategories().get(1).getProducts());
+
+        List<PriceBucketFacetDto> buckets = facets.getPriceBuckets();
+        assertEquals(6, buckets.size());
+        assertEquals(List.of(2L, 1L, 0L, 0L, 0L, 1L), buckets.stream().map(PriceBucketFacetDto::getProducts).toList());
+        assertEquals(0, BigDecimal.valueOf(25).compareTo(buckets.get(0).getToPrice()));
+        assertNull(buckets.get(5).getToPrice());
+    }
+
+    @Test
+    void testFacetsRespectFilter() {
+        ProductFacetsDto facets = productService.getProductFacets(ProductFilterRequestDto.builder()
+                .category("tools")
+                .maxPrice(BigDecimal.valueOf(100))
+                .build());
+
+        assertEquals(2, facets.getTotalProducts());
+        assertEquals(1, facets.getDiscountedProducts());
+        assertEquals(1, facets.getCategories().size());
+        assertEquals(List.of(1L, 1L, 0L, 0L, 0L, 0L),
+                facets.getPriceBuckets().stream().map(PriceBucketFacetDto::getProducts).toList());
+    }
+
+    @Test
+    void testUnknownCategoryIsNotFound() {
+        ProductFilterRequestDto filter = ProductFilterRequestDto.builder().category("unknown").build();
+
+        assertThrows(NotFoundException.class, () -> productService.getProductFacets(filter));
+    }
+
+    private Category saveCategory(String name) {
+        return categoryRepository.save(Category.builder()
+                .categoryName(name)
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+    }
+
+    private void saveProduct(String name, Category category, int price, int discountPrice) {
+        productRepository.save(Product.builder()
+                .name(name)
+                .category(category)
+                .description("testDescription")
+                .price(BigDecimal.valueOf(price))
+                .discountPrice(BigDecimal.valueOf(discountPrice))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image("https://drive.google.com/file/" + name.hashCode())
+                .build());
+    }
+}
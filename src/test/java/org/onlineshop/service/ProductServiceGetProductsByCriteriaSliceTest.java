@@ -0,0 +1,124 @@
+package org.onlineshop.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.product.ProductResponseDto;
+import org.onlineshop.dto.product.ProductSliceDto;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class ProductServiceGetProductsByCriteriaSliceTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void dropDatabase() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("testCategory")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+
+        for (int i = 1; i <= 5; i++) {
+            productRepository.save(Product.builder()
+                    .name("Product" + i)
+                    .category(category)
+                    .description("testDescription")
+                    .price(BigDecimal.valueOf(i * 10))
+                    .discountPrice(BigDecimal.valueOf(i))
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .image("https://drive.google.com/file/" + i)
+                    .build());
+        }
+    }
+
+    @Test
+    void testSliceIsLoadedWithoutCountQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ProductSliceDto<ProductResponseDto> first = productService.getProductsByCriteriaSlice("discount", "",
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "price")), false);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, first.getSize());
+        assertEquals("Product1", first.getContent().get(0).getProductName());
+        assertTrue(first.isHasNext());
+        assertNull(first.getApproximateTotal());
+
+        ProductSliceDto<ProductResponseDto> last = productService.getProductsByCriteriaSlice("discount", "",
+                PageRequest.of(2, 2, Sort.by(Sort.Direction.ASC, "price")), false);
+
+        assertEquals(1, last.getSize());
+        assertFalse(last.isHasNext());
+    }
+
+    @Test
+    void testApproximateTotalIsCountedOnceAndCached() {
+        PageRequest pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "price"));
+        ProductSliceDto<ProductResponseDto> first = productService.getProductsByCriteriaSlice("price", "15-45", pageable, true);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ProductSliceDto<ProductResponseDto> second = productService.getProductsByCriteriaSlice("price", "45-15",
+                pageable.next(), true);
+
+        assertEquals(3, first.getApproximateTotal());
+        assertEquals(3, second.getApproximateTotal());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, second.getSize());
+        assertFalse(second.isHasNext());
+    }
+
+    @Test
+    void testNameSearchSliceIsRankedByRelevance() {
+        ProductSliceDto<ProductResponseDto> result = productService.getProductsByCriteriaSlice("name", "product3",
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name")), true);
+
+        assertEquals("Product3", result.getContent().get(0).getProductName());
+        assertEquals(result.getSize(), result.getApproximateTotal());
+    }
+}
@@ -0,0 +1,117 @@
+package org.onlineshop.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.product.ProductCursorPageDto;
+import org.onlineshop.dto.product.ProductResponseDto;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class ProductServiceGetProductsByCriteriaWithCursorTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @AfterEach
+    void dropDatabase() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category tools = categoryRepository.save(Category.builder()
+                .categoryName("tools")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+        Category pots = categoryRepository.save(Category.builder()
+                .categoryName("pots")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+
+        for (int i = 0; i < 5; i++) {
+            saveProduct("ToolProduct" + i, tools, BigDecimal.valueOf(100 + i * 50));
+            saveProduct("PotProduct" + i, pots, BigDecimal.valueOf(100 + i * 50));
+        }
+    }
+
+    @Test
+    void testCategoryCriteriaReturnsOnlyCategoryProducts() {
+        List<ProductResponseDto> collected = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProductCursorPageDto<ProductResponseDto> page = productService.getProductsByCriteriaWithCursor(
+                    "category", "tools", cursor, 2, "id", Sort.Direction.ASC);
+            collected.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(5, collected.size());
+        assertTrue(collected.stream().allMatch(product -> product.getProductCategory().equals("tools")));
+    }
+
+    @Test
+    void testPriceCriteriaPagesByPriceDescending() {
+        ProductCursorPageDto<ProductResponseDto> first = productService.getProductsByCriteriaWithCursor(
+                "price", "150-250", null, 4, "price", Sort.Direction.DESC);
+        ProductCursorPageDto<ProductResponseDto> second = productService.getProductsByCriteriaWithCursor(
+                "price", "150-250", first.getNextCursor(), 4, "price", Sort.Direction.DESC);
+
+        assertTrue(first.isHasNext());
+        assertEquals(4, first.getSize());
+        assertEquals(0, BigDecimal.valueOf(250).compareTo(first.getContent().get(0).getProductPrice()));
+        assertEquals(2, second.getSize());
+        assertFalse(second.isHasNext());
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(second.getContent().get(1).getProductPrice()));
+    }
+
+    @Test
+    void testNameCriteriaIsCaseInsensitive() {
+        ProductCursorPageDto<ProductResponseDto> page = productService.getProductsByCriteriaWithCursor(
+                "name", "potproduct", null, 20, "id", Sort.Direction.ASC);
+
+        assertEquals(5, page.getSize());
+        assertNull(page.getNextCursor());
+    }
+
+    private void saveProduct(String name, Category category, BigDecimal price) {
+        productRepository.save(Product.builder()
+                .name(name)
+                .category(category)
+                .description("testDescription")
+                .price(price)
+                .discountPrice(BigDecimal.ZERO)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image("https://drive.google.com/file/" + name)
+                .build());
+    }
+}
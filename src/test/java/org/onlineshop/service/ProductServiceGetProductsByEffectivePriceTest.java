@@ -0,0 +1,128 @@
+package org.onlineshop.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.product.ProductCursorPageDto;
+import org.onlineshop.dto.product.ProductFilterRequestDto;
+import org.onlineshop.dto.product.ProductResponseDto;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class ProductServiceGetProductsByEffectivePriceTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Product rake;
+
+    @AfterEach
+    void dropDatabase() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("tools")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+
+        rake = saveProduct("Rake", category, "100.00", "50");
+        saveProduct("Shovel", category, "60.00", "0");
+        saveProduct("Mower", category, "80.00", "12.5");
+    }
+
+    @Test
+    void testEffectivePriceIsMaintainedOnWrite() {
+        assertEquals(new BigDecimal("50.00"), rake.getEffectivePrice());
+
+        productService.setDiscountPrice(rake.getId(), BigDecimal.valueOf(10));
+
+        assertEquals(new BigDecimal("90.00"), productRepository.findById(rake.getId()).orElseThrow().getEffectivePrice());
+    }
+
+    @Test
+    void testCriteriaFilterAndSortByEffectivePrice() {
+        Page<ProductResponseDto> page = productService.getProductsByCriteria("effectivePrice", "70-40",
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "effectivePrice")));
+
+        assertEquals(List.of("Rake", "Shovel", "Mower"), page.getContent().stream()
+                .map(ProductResponseDto::getProductName)
+                .toList());
+    }
+
+    @Test
+    void testFilterByEffectivePriceRange() {
+        Page<ProductResponseDto> page = productService.getProductsByFilter(ProductFilterRequestDto.builder()
+                        .minEffectivePrice(BigDecimal.valueOf(55))
+                        .maxEffectivePrice(BigDecimal.valueOf(75))
+                        .build(),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "effectivePrice")));
+
+        assertEquals(List.of("Mower", "Shovel"), page.getContent().stream()
+                .map(ProductResponseDto::getProductName)
+                .toList());
+    }
+
+    @Test
+    void testCursorPagesByEffectivePrice() {
+        ProductCursorPageDto<ProductResponseDto> first = productService.getAllProductsWithCursor(null, 2,
+                "effectivePrice", Sort.Direction.ASC);
+
+        assertTrue(first.isHasNext());
+        assertEquals("Rake", first.getContent().get(0).getProductName());
+        assertEquals("Shovel", first.getContent().get(1).getProductName());
+
+        ProductCursorPageDto<ProductResponseDto> second = productService.getAllProductsWithCursor(first.getNextCursor(), 2,
+                "effectivePrice", Sort.Direction.ASC);
+
+        assertFalse(second.isHasNext());
+        assertEquals(1, second.getSize());
+        assertEquals("Mower", second.getContent().get(0).getProductName());
+    }
+
+    private Product saveProduct(String name, Category category, String price, String discountPrice) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .category(category)
+                .description("testDescription")
+                .price(new BigDecimal(price))
+                .discountPrice(new BigDecimal(discountPrice))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image("https://drive.google.com/file/" + name.hashCode())
+                .build());
+    }
+}
@@ -0,0 +1,102 @@
+package org.onlineshop.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.product.ProductResponseDto;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class ProductServiceGetProductsByPartOfNameTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @AfterEach
+    void dropDatabase() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("testCategory")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+
+        saveProduct("Garden secateurs", category);
+        saveProduct("Secateur holster", category);
+        saveProduct("Flower pot", category);
+        saveProduct("100% peat soil", category);
+    }
+
+    @Test
+    void testFindsNamesWithTypo() {
+        Page<ProductResponseDto> result = productService.getProductsByPartOfNameIgnoreCase("gardne secateurs",
+                PageRequest.of(0, 10));
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Garden secateurs", result.getContent().get(0).getProductName());
+    }
+
+    @Test
+    void testSubstringMatchesAreRankedFirst() {
+        Page<ProductResponseDto> result = productService.getProductsByPartOfNameIgnoreCase("secateurs",
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name")));
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals("Garden secateurs", result.getContent().get(0).getProductName());
+        assertEquals("Secateur holster", result.getContent().get(1).getProductName());
+    }
+
+    @Test
+    void testWildcardCharactersAreMatchedLiterally() {
+        Page<ProductResponseDto> result = productService.getProductsByPartOfNameIgnoreCase("%",
+                PageRequest.of(0, 10));
+
+        assertEquals(1, result.getTotalElements());
+        assertTrue(result.getContent().get(0).getProductName().contains("%"));
+    }
+
+    private void saveProduct(String name, Category category) {
+        productRepository.save(Product.builder()
+                .name(name)
+                .category(category)
+                .description("testDescription")
+                .price(BigDecimal.valueOf(10))
+                .discountPrice(BigDecimal.ZERO)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image("https://drive.google.com/file/" + name.hashCode())
+                .build());
+    }
+}
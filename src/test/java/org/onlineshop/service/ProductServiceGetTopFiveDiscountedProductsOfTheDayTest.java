@@ -1,5 +1,8 @@
 package org.onlineshop.service;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.onlineshop.dto.product.ProductResponseForUserDto;
@@ -8,6 +11,7 @@ import org.onlineshop.entity.Product;
 import org.onlineshop.exception.NotFoundException;
 import org.onlineshop.repository.CategoryRepository;
 import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.service.cache.TopDiscountedProductsSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -35,10 +39,17 @@ class ProductServiceGetTopFiveDiscountedProductsOfTheDayTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private TopDiscountedProductsSnapshot topDiscountedProducts;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @AfterEach
     void dropDatabase() {
         productRepository.deleteAll();
         categoryRepository.deleteAll();
+        topDiscountedProducts.refresh();
     }
 
     @Test
@@ -128,6 +139,7 @@ class ProductServiceGetTopFiveDiscountedProductsOfTheDayTest {
                 .build();
 
         productRepository.save(productTestSix);
+        topDiscountedProducts.refresh();
 
         List<ProductResponseForUserDto> result = productService.getTopFiveDiscountedProductsOfTheDay();
         ProductResponseForUserDto firstProduct = result.get(0);
@@ -212,8 +224,44 @@ class ProductServiceGetTopFiveDiscountedProductsOfTheDayTest {
                 .build();
 
         productRepository.save(productTestFive);
+        topDiscountedProducts.refresh();
 
         Exception exception = assertThrows(NotFoundException.class, () -> productService.getTopFiveDiscountedProductsOfTheDay());
         assertEquals("No discounted products found", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSnapshotIsServedWithoutDatabaseAccessAndRefreshedOnDiscountChange() {
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("testCategory")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+
+        Product product = productRepository.save(Product.builder()
+                .name("TestProductFirst")
+                .category(category)
+                .description("testDescription")
+                .price(BigDecimal.valueOf(100))
+                .discountPrice(BigDecimal.valueOf(0))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image("https://drive.google.com/file/first")
+                .build());
+
+        productService.setDiscountPrice(product.getId(), BigDecimal.valueOf(25));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<ProductResponseForUserDto> result = productService.getTopFiveDiscountedProductsOfTheDay();
+
+        assertEquals(1, result.size());
+        assertEquals(0, new BigDecimal("25").compareTo(result.get(0).getProductDiscountPrice()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertThrows(UnsupportedOperationException.class, () -> result.add(result.get(0)));
+
+        result.get(0).setProductDiscountPrice(BigDecimal.valueOf(99));
+        assertEquals(0, new BigDecimal("25").compareTo(
+                productService.getTopFiveDiscountedProductsOfTheDay().get(0).getProductDiscountPrice()));
+    }
+}
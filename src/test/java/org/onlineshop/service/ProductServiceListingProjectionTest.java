@@ -0,0 +1,148 @@
+package org.onlineshop.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.product.ProductResponseDto;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.service.converter.ProductConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the entity-based listing (load products, convert, touch the lazy category)
+ * with the constructor-expression projection used by the listing endpoints.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+@Slf4j
+class ProductServiceListingProjectionTest {
+
+    private static final int CATEGORY_COUNT = 10;
+    private static final int PRODUCT_COUNT = 60;
+    private static final int RUNS = 50;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductConverter productConverter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
+
+    @AfterEach
+    void dropDatabase() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<Category> categories = new ArrayList<>();
+        for (int c = 0; c < CATEGORY_COUNT; c++) {
+            categories.add(categoryRepository.save(Category.builder()
+                    .categoryName("category" + c)
+                    .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                    .products(new ArrayList<>())
+                    .build()));
+        }
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            productRepository.save(Product.builder()
+                    .name("product" + i)
+                    .category(categories.get(i % CATEGORY_COUNT))
+                    .description("description ".repeat(30))
+                    .price(BigDecimal.valueOf(10 + i))
+                    .discountPrice(i % 2 == 0 ? BigDecimal.valueOf(5) : null)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .image("https://drive.google.com/file/" + i)
+                    .build());
+        }
+    }
+
+    @Test
+    void testProjectionReturnsSameContentAsEntityConversion() {
+        Page<ProductResponseDto> expected = entityListing();
+        Page<ProductResponseDto> actual = productService.getAllProducts(pageable);
+
+        assertEquals(expected.getTotalElements(), actual.getTotalElements());
+        assertEquals(expected.getContent(), actual.getContent());
+    }
+
+    @Test
+    void testProjectionUsesTwoStatementsPerPage() {
+        long entityStatements = countStatements(this::entityListing);
+        long projectionStatements = countStatements(() -> productService.getAllProducts(pageable));
+        long entityAllocated = allocatedBytesPerRun(this::entityListing);
+        long projectionAllocated = allocatedBytesPerRun(() -> productService.getAllProducts(pageable));
+
+        log.info("page of {} over {} categories: entity {} statements / {} bytes, projection {} statements / {} bytes",
+                pageable.getPageSize(), CATEGORY_COUNT, entityStatements, entityAllocated, projectionStatements, projectionAllocated);
+
+        assertEquals(2, projectionStatements);
+        assertEquals(2 + CATEGORY_COUNT, entityStatements);
+        assertTrue(projectionAllocated < entityAllocated);
+    }
+
+    private Page<ProductResponseDto> entityListing() {
+        return transactionTemplate.execute(status -> productRepository.findAll(pageable).map(productConverter::toDto));
+    }
+
+    private long countStatements(Supplier<?> listing) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        listing.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long allocatedBytesPerRun(Supplier<?> listing) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < RUNS; i++) {
+            listing.get();
+        }
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < RUNS; i++) {
+            listing.get();
+        }
+        return (threadBean.getCurrentThreadAllocatedBytes() - before) / RUNS;
+    }
+}
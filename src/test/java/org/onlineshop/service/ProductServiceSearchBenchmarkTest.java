@@ -0,0 +1,136 @@
+package org.onlineshop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.onlineshop.entity.Category;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.service.util.ProductSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the old {@code LIKE '%x%'} product search query with the trigram-indexed search query on a large catalog.
+ * Both sides are timed at the repository, without loading listing rows, so only the search itself is compared.
+ * Disabled by default; run with {@code mvn test -Dtest=ProductServiceSearchBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class ProductServiceSearchBenchmarkTest {
+
+    private static final int PRODUCT_COUNT = 200_000;
+    private static final int ITERATIONS = 50;
+    private static final String[] WORDS = {"garden", "flower", "seed", "pot", "soil", "hose", "rake", "shovel",
+            "lamp", "bench", "fence", "tool", "glove", "spray", "trimmer", "pruner", "bucket", "compost"};
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ter", "son", "va", "ri", "pel", "du", "gor",
+            "an", "bel", "tra", "ex", "os", "fin", "ul", "ne", "zor", "quo"};
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void fillCatalog() {
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("benchmark")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(PRODUCT_COUNT);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            String name = brandName(random) + " " + WORDS[random.nextInt(WORDS.length)];
+            rows.add(new Object[]{name, random.nextInt(1000) + 1, category.getCategoryId(), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (name, price, discount_price, category_id, created_at, updated_at, version) " +
+                "VALUES (?, ?, 0, ?, ?, ?, 0)", rows);
+        jdbcTemplate.execute("ANALYZE products");
+    }
+
+    @AfterAll
+    void dropCatalog() {
+        jdbcTemplate.update("DELETE FROM products");
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void compareSearchLatency() {
+        Pageable likePageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "name"));
+        Pageable rankedPageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "name_match", "relevance")
+                .and(Sort.by(Sort.Direction.ASC, "name")));
+        String brand = jdbcTemplate.queryForObject("SELECT split_part(name, ' ', 1) FROM products ORDER BY id OFFSET 12345 LIMIT 1",
+                String.class);
+        String typo = brand.substring(0, brand.length() - 2) + brand.charAt(brand.length() - 1) + brand.charAt(brand.length() - 2);
+        for (String query : List.of(brand, typo, "compost")) {
+            String pattern = ProductSpecifications.containsPattern(query);
+            double before = medianMillis(() -> productRepository.findByNameContainingIgnoreCase(query, likePageable));
+            double after = medianMillis(() -> productRepository.searchIdsByName(pattern, query, rankedPageable));
+            log.info("search '{}' over {} products: LIKE %x% median {} ms, trigram median {} ms",
+                    query, PRODUCT_COUNT, String.format("%.2f", before), String.format("%.2f", after));
+        }
+
+        assertFalse(productRepository.searchIdsByName(ProductSpecifications.containsPattern(typo), typo, rankedPageable)
+                .isEmpty());
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN SELECT * FROM products p WHERE LOWER(p.name) LIKE ? OR ? <% LOWER(p.name)",
+                String.class, "%" + brand + "%", brand);
+        plan.forEach(line -> log.info(line));
+        assertTrue(plan.stream().anyMatch(line -> line.contains("idx_products_name_trgm")));
+    }
+
+    private String brandName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 3;
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return name.toString();
+    }
+
+    private double medianMillis(Supplier<?> search) {
+        for (int i = 0; i < 5; i++) {
+            search.get();
+        }
+        double[] timings = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            search.get();
+            timings[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(timings);
+        return timings[ITERATIONS / 2];
+    }
+}
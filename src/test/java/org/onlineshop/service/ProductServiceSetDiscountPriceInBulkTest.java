@@ -0,0 +1,146 @@
+package org.onlineshop.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.dto.product.ProductBulkDiscountRequestDto;
+import org.onlineshop.dto.product.ProductBulkDiscountResponseDto;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Product;
+import org.onlineshop.exception.BadRequestException;
+import org.onlineshop.exception.NotFoundException;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+class ProductServiceSetDiscountPriceInBulkTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Product cheapTool;
+    private Product expensiveTool;
+    private Product pot;
+
+    @AfterEach
+    void dropDatabase() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category tools = saveCategory("tools");
+        Category pots = saveCategory("pots");
+
+        cheapTool = saveProduct("Rake", tools, 20);
+        expensiveTool = saveProduct("Mower", tools, 300);
+        pot = saveProduct("Clay pot", pots, 15);
+    }
+
+    @Test
+    void testCategoryDiscountIsAppliedWithoutLoadingProducts() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        productService.getProductById(cheapTool.getId());
+        categoryService.getCategoryByName("tools");
+        statistics.clear();
+
+        ProductBulkDiscountResponseDto result = productService.setDiscountPriceInBulk(ProductBulkDiscountRequestDto.builder()
+                .discountPrice(BigDecimal.valueOf(15))
+                .category("tools")
+                .build());
+
+        assertEquals(2, result.getUpdatedProducts());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        Product updated = productService.getProductById(cheapTool.getId()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(15).compareTo(updated.getDiscountPrice()));
+        assertEquals(cheapTool.getVersion() + 1, updated.getVersion());
+        assertEquals(0, BigDecimal.ZERO.compareTo(productRepository.findById(pot.getId()).orElseThrow().getDiscountPrice()));
+    }
+
+    @Test
+    void testSelectorsAreCombined() {
+        ProductBulkDiscountResponseDto result = productService.setDiscountPriceInBulk(ProductBulkDiscountRequestDto.builder()
+                .discountPrice(BigDecimal.valueOf(10))
+                .minPrice(BigDecimal.valueOf(10))
+                .maxPrice(BigDecimal.valueOf(100))
+                .productIds(List.of(cheapTool.getId(), expensiveTool.getId()))
+                .build());
+
+        assertEquals(1, result.getUpdatedProducts());
+        assertEquals(0, BigDecimal.valueOf(10).compareTo(productRepository.findById(cheapTool.getId()).orElseThrow().getDiscountPrice()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(productRepository.findById(expensiveTool.getId()).orElseThrow().getDiscountPrice()));
+    }
+
+    @Test
+    void testRequestWithoutSelectorIsRejected() {
+        ProductBulkDiscountRequestDto request = ProductBulkDiscountRequestDto.builder()
+                .discountPrice(BigDecimal.valueOf(10))
+                .build();
+
+        assertThrows(BadRequestException.class, () -> productService.setDiscountPriceInBulk(request));
+    }
+
+    @Test
+    void testUnknownCategoryIsNotFound() {
+        ProductBulkDiscountRequestDto request = ProductBulkDiscountRequestDto.builder()
+                .discountPrice(BigDecimal.valueOf(10))
+                .category("unknown")
+                .build();
+
+        assertThrows(NotFoundException.class, () -> productService.setDiscountPriceInBulk(request));
+    }
+
+    private Category saveCategory(String name) {
+        return categoryRepository.save(Category.builder()
+                .categoryName(name)
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+    }
+
+    private Product saveProduct(String name, Category category, int price) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .category(category)
+                .description("testDescription")
+                .price(BigDecimal.valueOf(price))
+                .discountPrice(BigDecimal.ZERO)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image("https://drive.google.com/file/" + name.hashCode())
+                .build());
+    }
+}
@@ -1,5 +1,6 @@
 package org.onlineshop.service;
 
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.validation.ValidatorFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -21,7 +22,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -41,6 +44,9 @@ class ProductServiceUpdateProductTest {
     @Autowired
     private ValidatorFactory validatorFactory;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @AfterEach
     void dropDatabase() {
         productRepository.deleteAll();
@@ -388,4 +394,52 @@ class ProductServiceUpdateProductTest {
         assertEquals(messageException, exception.getMessage());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateProductStockEvictsOnlyThatProduct() {
+        Category categoryFirst = Category.builder()
+                .categoryName("testCategoryFirst")
+                .image("https://drive.google.com/file/first")
+                .products(new ArrayList<>())
+                .build();
+
+        categoryRepository.save(categoryFirst);
+
+        Product productTest = productRepository.save(Product.builder()
+                .name("testProduct")
+                .category(categoryFirst)
+                .description("testDescription")
+                .price(BigDecimal.valueOf(100))
+                .discountPrice(BigDecimal.valueOf(10))
+                .stock(5)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image("https://drive.google.com/file/first")
+                .build());
+
+        Product otherProduct = productRepository.save(Product.builder()
+                .name("otherProduct")
+                .category(categoryFirst)
+                .description("testDescription")
+                .price(BigDecimal.valueOf(100))
+                .discountPrice(BigDecimal.valueOf(10))
+                .stock(5)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image("https://drive.google.com/file/first")
+                .build());
+
+        productRepository.findById(otherProduct.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, otherProduct.getId()));
+
+        ProductUpdateDto updateDto = ProductUpdateDto.builder()
+                .productStock(12)
+                .build();
+
+        ProductResponseDto updatedProduct = productService.updateProduct(productTest.getId(), updateDto);
+        assertEquals(12, updatedProduct.getProductStock());
+        assertFalse(entityManagerFactory.getCache().contains(Product.class, productTest.getId()));
+        assertEquals(12, productRepository.findById(productTest.getId()).orElseThrow().getStock());
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, otherProduct.getId()));
+    }
+}
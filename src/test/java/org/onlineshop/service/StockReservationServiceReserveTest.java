@@ -0,0 +1,224 @@
+package org.onlineshop.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.entity.Category;
+import org.onlineshop.entity.Order;
+import org.onlineshop.entity.OrderItem;
+import org.onlineshop.entity.Product;
+import org.onlineshop.entity.User;
+import org.onlineshop.exception.BadRequestException;
+import org.onlineshop.repository.CategoryRepository;
+import org.onlineshop.repository.OrderRepository;
+import org.onlineshop.repository.ProductRepository;
+import org.onlineshop.repository.UserRepository;
+import org.onlineshop.service.cache.ProductCatalogChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml")
+@RecordApplicationEvents
+class StockReservationServiceReserveTest {
+
+    private static final int STOCK = 50;
+    private static final int CHECKOUTS = 300;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private Product hotProduct;
+    private Product untrackedProduct;
+
+    @AfterEach
+    void dropDatabase() {
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+                .categoryName("testCategory")
+                .image("https://drive.google.com/file/d/1y03Ct0ABP1X8O6NFvK6FdqiMacYpLeTs/view?usp=drive_link")
+                .products(new ArrayList<>())
+                .build());
+
+        hotProduct = productRepository.save(product("HotProduct", category, STOCK));
+        untrackedProduct = productRepository.save(product("Untracked", category, null));
+    }
+
+    @Test
+    void testParallelCheckoutsNeverOversell() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> checkouts = new ArrayList<>();
+        try {
+            for (int i = 0; i < CHECKOUTS; i++) {
+                checkouts.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        transactionTemplate.executeWithoutResult(status ->
+                                stockReservationService.reserve(List.of(item(hotProduct, 1), item(untrackedProduct, 2))));
+                        reserved.incrementAndGet();
+                    } catch (BadRequestException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> checkout : checkouts) {
+                checkout.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(STOCK, reserved.get());
+        assertEquals(CHECKOUTS - STOCK, rejected.get());
+        assertEquals(0, productRepository.findById(hotProduct.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void testShortLineRollsBackWholeReservation() {
+        Product scarce = productRepository.save(product("Scarce", hotProduct.getCategory(), 1));
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                transactionTemplate.executeWithoutResult(status ->
+                        stockReservationService.reserve(List.of(item(hotProduct, 5), item(scarce, 2)))));
+
+        assertEquals("Not enough stock for products: Scarce", exception.getMessage());
+        assertEquals(STOCK, productRepository.findById(hotProduct.getId()).orElseThrow().getStock());
+        assertEquals(1, productRepository.findById(scarce.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void testStockChangePublishesCatalogEvent() {
+        transactionTemplate.executeWithoutResult(status ->
+                stockReservationService.reserve(List.of(item(hotProduct, 2))));
+        transactionTemplate.executeWithoutResult(status ->
+                stockReservationService.release(List.of(item(hotProduct, 2))));
+
+        List<ProductCatalogChangedEvent> events = applicationEvents.stream(ProductCatalogChangedEvent.class).toList();
+        assertEquals(2, events.size());
+        events.forEach(event -> {
+            assertEquals(Set.of("testCategory"), event.getCategoryNames());
+            assertFalse(event.isDiscountAffected());
+        });
+    }
+
+    @Test
+    void testExpiredReservationIsCancelledAndReleased() {
+        User user = userRepository.save(User.builder()
+                .username("stockUser")
+                .email("stockUser@email.com")
+                .hashPassword("$2a$10$WiAt7dmC1vLIxjY9/9n7P.I5RQU1MKKSOI1Dy1pNLPPIts7K5RJR2")
+                .phoneNumber("+493131313131")
+                .status(User.Status.CONFIRMED)
+                .role(User.Role.USER)
+                .build());
+
+        Integer orderId = transactionTemplate.execute(status -> {
+            Order order = Order.builder()
+                    .user(user)
+                    .status(Order.Status.PENDING_PAYMENT)
+                    .deliveryMethod(Order.DeliveryMethod.PICKUP)
+                    .stockReserved(true)
+                    .build();
+            OrderItem orderItem = item(hotProduct, 3);
+            orderItem.setOrder(order);
+            order.getOrderItems().add(orderItem);
+            stockReservationService.reserve(order.getOrderItems());
+            return orderRepository.save(order).getOrderId();
+        });
+        assertEquals(STOCK - 3, productRepository.findById(hotProduct.getId()).orElseThrow().getStock());
+
+        assertEquals(0, stockReservationService.expireReservations());
+
+        jdbcTemplate.update("UPDATE orders SET updated_at = ? WHERE order_id = ?",
+                LocalDateTime.now().minusDays(1), orderId);
+
+        assertEquals(1, stockReservationService.expireReservations());
+        assertEquals(0, stockReservationService.expireReservations());
+
+        Order expired = orderRepository.findById(orderId).orElseThrow();
+        assertEquals(Order.Status.CANCELLED, expired.getStatus());
+        assertFalse(expired.isStockReserved());
+        assertEquals(STOCK, productRepository.findById(hotProduct.getId()).orElseThrow().getStock());
+    }
+
+    private static Product product(String name, Category category, Integer stock) {
+        return Product.builder()
+                .name(name)
+                .category(category)
+                .description("testDescription")
+                .price(BigDecimal.TEN)
+                .discountPrice(BigDecimal.ZERO)
+                .stock(stock)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .image("https://drive.google.com/file/" + name)
+                .build();
+    }
+
+    private static OrderItem item(Product product, int quantity) {
+        return OrderItem.builder()
+                .product(product)
+                .quantity(quantity)
+                .priceAtPurchase(product.getPrice())
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package org.onlineshop.service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.config.CatalogCacheConfig;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductCatalogCacheTest {
+
+    private ProductCatalogCache catalogCache;
+    private SimpleMeterRegistry meterRegistry;
+    private final Pageable pageable = PageRequest.of(0, 20);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        catalogCache = new ProductCatalogCache(new CatalogCacheConfig(), meterRegistry);
+    }
+
+    @Test
+    void testGetLoadsOnceAndServesRepeatedReadsFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        catalogCache.get(ProductCatalogCache.Region.ALL, null, pageable, loads::incrementAndGet);
+        Integer second = catalogCache.get(ProductCatalogCache.Region.ALL, null, pageable, loads::incrementAndGet);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testDifferentPagesAreCachedSeparately() {
+        AtomicInteger loads = new AtomicInteger();
+
+        catalogCache.get(ProductCatalogCache.Region.ALL, null, pageable, loads::incrementAndGet);
+        catalogCache.get(ProductCatalogCache.Region.ALL, null, PageRequest.of(1, 20), loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testCategoryChangeEvictsOnlyAffectedCategory() {
+        AtomicInteger loads = new AtomicInteger();
+        catalogCache.get(ProductCatalogCache.Region.CATEGORY, "Tools", pageable, loads::incrementAndGet);
+        catalogCache.get(ProductCatalogCache.Region.CATEGORY, "Pots", pageable, loads::incrementAndGet);
+        catalogCache.get(ProductCatalogCache.Region.DISCOUNT, null, pageable, loads::incrementAndGet);
+        catalogCache.get(ProductCatalogCache.Region.ALL, null, pageable, loads::incrementAndGet);
+
+        catalogCache.onCatalogChanged(ProductCatalogChangedEvent.of(false, "Tools"));
+
+        catalogCache.get(ProductCatalogCache.Region.CATEGORY, "Tools", pageable, loads::incrementAndGet);
+        catalogCache.get(ProductCatalogCache.Region.CATEGORY, "Pots", pageable, loads::incrementAndGet);
+        catalogCache.get(ProductCatalogCache.Region.DISCOUNT, null, pageable, loads::incrementAndGet);
+        catalogCache.get(ProductCatalogCache.Region.ALL, null, pageable, loads::incrementAndGet);
+
+        assertEquals(6, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.invalidations").tag("region", "CATEGORY").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.invalidations").tag("region", "ALL").counter().count());
+    }
+
+    @Test
+    void testCategoryNamesAreComparedIgnoringCase() {
+        AtomicInteger loads = new AtomicInteger();
+        catalogCache.get(ProductCatalogCache.Region.CATEGORY, "TOOLS", pageable, loads::incrementAndGet);
+        catalogCache.get(ProductCatalogCache.Region.CATEGORY, " tools ", pageable, loads::incrementAndGet);
+
+        catalogCache.onCatalogChanged(ProductCatalogChangedEvent.of(false, "Tools"));
+
+        catalogCache.get(ProductCatalogCache.Region.CATEGORY, "tools", pageable, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testDiscountChangeEvictsDiscountListings() {
+        AtomicInteger loads = new AtomicInteger();
+        catalogCache.get(ProductCatalogCache.Region.DISCOUNT, null, pageable, loads::incrementAndGet);
+
+        catalogCache.onCatalogChanged(ProductCatalogChangedEvent.of(true, "Tools"));
+
+        catalogCache.get(ProductCatalogCache.Region.DISCOUNT, null, pageable, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testFullReloadEvictsEverything() {
+        AtomicInteger loads = new AtomicInteger();
+        catalogCache.get(ProductCatalogCache.Region.CATEGORY, "Pots", pageable, loads::incrementAndGet);
+        catalogCache.get(ProductCatalogCache.Region.DISCOUNT, null, pageable, loads::incrementAndGet);
+
+        catalogCache.onCatalogChanged(ProductCatalogChangedEvent.all());
+
+        catalogCache.get(ProductCatalogCache.Region.CATEGORY, "Pots", pageable, loads::incrementAndGet);
+        catalogCache.get(ProductCatalogCache.Region.DISCOUNT, null, pageable, loads::incrementAndGet);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testDisabledCacheAlwaysCallsLoader() {
+        CatalogCacheConfig config = new CatalogCacheConfig();
+        config.setEnabled(false);
+        ProductCatalogCache disabledCache = new ProductCatalogCache(config, meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+
+        disabledCache.get(ProductCatalogCache.Region.ALL, null, pageable, loads::incrementAndGet);
+        disabledCache.get(ProductCatalogCache.Region.ALL, null, pageable, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testValueLoadedDuringInvalidationIsNotKept() {
+        AtomicInteger loads = new AtomicInteger();
+
+        catalogCache.get(ProductCatalogCache.Region.ALL, null, pageable, () -> {
+            catalogCache.onCatalogChanged(ProductCatalogChangedEvent.of(false, "Tools"));
+            return loads.incrementAndGet();
+        });
+        Integer reloaded = catalogCache.get(ProductCatalogCache.Region.ALL, null, pageable, loads::incrementAndGet);
+
+        assertEquals(2, reloaded);
+    }
+}
@@ -0,0 +1,179 @@
+package org.onlineshop.service.mail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Minimal SMTP server on a local port for tests: it accepts every message, except for recipients matched by
+ * {@link #rejectRecipients}, and keeps what it received in memory. Supports plain SMTP only, no TLS or AUTH.
+ * {@link #setReplyDelay} delays every reply to simulate the round trip to a remote mail server.
+ */
+class LocalSmtpServer implements AutoCloseable {
+
+    record ReceivedMessage(String sender, List<String> recipients, String data) {
+    }
+
+    private final ServerSocket serverSocket;
+    private final List<ReceivedMessage> messages = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private volatile Duration replyDelay = Duration.ZERO;
+    private volatile Predicate<String> rejectedRecipients = recipient -> false;
+
+    LocalSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptConnections, "local-smtp-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<ReceivedMessage> getMessages() {
+        return List.copyOf(messages);
+    }
+
+    /**
+     * @return the number of SMTP sessions opened so far
+     */
+    int getConnections() {
+        return connections.get();
+    }
+
+    void rejectRecipients(Predicate<String> rejectedRecipients) {
+        this.rejectedRecipients = rejectedRecipients;
+    }
+
+    void setReplyDelay(Duration replyDelay) {
+        this.replyDelay = replyDelay;
+    }
+
+    /**
+     * Closes all open SMTP sessions without a reply, as a mail server does when it drops idle connections.
+     */
+    void dropConnections() throws IOException {
+        for (Socket socket : openSockets) {
+            socket.close();
+        }
+    }
+
+    void reset() {
+        messages.clear();
+        connections.set(0);
+        rejectedRecipients = recipient -> false;
+        replyDelay = Duration.ZERO;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                openSockets.add(socket);
+                Thread session = new Thread(() -> serve(socket), "local-smtp-session");
+                session.setDaemon(true);
+                session.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                     StandardCharsets.UTF_8));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost ESMTP test server");
+            String sender = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() < 4 ? line.toUpperCase() : line.substring(0, 4).toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250 8BITMIME");
+                    case "HELO", "NOOP" -> reply(out, "250 OK");
+                    case "MAIL" -> {
+                        sender = address(line);
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        String recipient = address(line);
+                        if (rejectedRecipients.test(recipient)) {
+                            reply(out, "550 Mailbox unavailable: " + recipient);
+                        } else {
+                            recipients.add(recipient);
+                            reply(out, "250 OK");
+                        }
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder();
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+                        }
+                        messages.add(new ReceivedMessage(sender, List.copyOf(recipients), data.toString()));
+                        sender = null;
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RSET" -> {
+                        sender = null;
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // the client went away
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    private static String address(String line) {
+        int start = line.indexOf('<');
+        int end = line.indexOf('>', start);
+        return start < 0 || end < 0 ? "" : line.substring(start + 1, end);
+    }
+
+    private void reply(OutputStream out, String reply) throws IOException {
+        if (!replyDelay.isZero()) {
+            try {
+                Thread.sleep(replyDelay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+        out.write((reply + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
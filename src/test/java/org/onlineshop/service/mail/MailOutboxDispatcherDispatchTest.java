@@ -0,0 +1,206 @@
+package org.onlineshop.service.mail;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.entity.Order;
+import org.onlineshop.entity.OutboxMessage;
+import org.onlineshop.entity.User;
+import org.onlineshop.repository.OutboxMessageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:application-test.yml", properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "spring.mail.properties.mail.smtp.from=shop@localhost",
+        "mail.outbox.batch-size=5",
+        "mail.outbox.max-attempts=2",
+        "mail.outbox.initial-backoff=1ms",
+        "mail.outbox.max-backoff=1ms"
+})
+class MailOutboxDispatcherDispatchTest {
+
+    private static final LocalSmtpServer SMTP_SERVER = startSmtpServer();
+
+    @Autowired
+    private MailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private MailUtil mailUtil;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void smtpProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", SMTP_SERVER::getPort);
+    }
+
+    private static LocalSmtpServer startSmtpServer() {
+        try {
+            return new LocalSmtpServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @AfterAll
+    static void stopSmtpServer() throws IOException {
+        SMTP_SERVER.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        outboxMessageRepository.deleteAll();
+        SMTP_SERVER.reset();
+    }
+
+    private static User user(String email) {
+        return User.builder()
+                .username("outboxUser")
+                .email(email)
+                .build();
+    }
+
+    private void queueConfirmationEmail(String email) {
+        transactionTemplate.executeWithoutResult(status ->
+                mailUtil.sendConfirmationEmail(user(email), "http://localhost/confirm?code=123"));
+    }
+
+    @Test
+    void testDispatchDeliversQueuedEmailsAndMarksThemSent() {
+        Order order = Order.builder()
+                .orderId(42)
+                .deliveryMethod(Order.DeliveryMethod.POST)
+                .deliveryAddress("Dresden")
+                .build();
+        queueConfirmationEmail("confirm@email.com");
+        transactionTemplate.executeWithoutResult(status ->
+                mailUtil.sendOrderPaidEmail(user("paid@email.com"), order, "pdf".getBytes()));
+
+        assertTrue(SMTP_SERVER.getMessages().isEmpty());
+
+        assertEquals(2, dispatcher.dispatch());
+
+        List<LocalSmtpServer.ReceivedMessage> received = SMTP_SERVER.getMessages();
+        assertEquals(2, received.size());
+        LocalSmtpServer.ReceivedMessage confirmation = received.stream()
+                .filter(message -> message.recipients().contains("confirm@email.com"))
+                .findFirst().orElseThrow();
+        assertTrue(confirmation.data().contains("Subject: Code confirmation email"));
+        LocalSmtpServer.ReceivedMessage paid = received.stream()
+                .filter(message -> message.recipients().contains("paid@email.com"))
+                .findFirst().orElseThrow();
+        assertTrue(paid.data().contains("order_42.pdf"));
+
+        List<OutboxMessage> messages = outboxMessageRepository.findAll();
+        assertEquals(2, messages.size());
+        messages.forEach(message -> {
+            assertEquals(OutboxMessage.Status.SENT, message.getStatus());
+            assertEquals(1, message.getAttempts());
+            assertNotNull(message.getSentAt());
+        });
+
+        assertEquals(0, dispatcher.dispatch());
+        assertEquals(2, SMTP_SERVER.getMessages().size());
+    }
+
+    @Test
+    void testEmailIsNotQueuedWhenCallerRollsBack() {
+        transactionTemplate.executeWithoutResult(status -> {
+            mailUtil.sendConfirmationEmail(user("rollback@email.com"), "http://localhost/confirm?code=123");
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxMessageRepository.count());
+        assertEquals(0, dispatcher.dispatch());
+        assertTrue(SMTP_SERVER.getMessages().isEmpty());
+    }
+
+    @Test
+    void testFailedDeliveryIsRetriedAndGivenUpAfterMaxAttempts() throws InterruptedException {
+        SMTP_SERVER.rejectRecipients(recipient -> recipient.startsWith("bounce"));
+        queueConfirmationEmail("bounce@email.com");
+
+        assertEquals(0, dispatcher.dispatch());
+
+        OutboxMessage message = outboxMessageRepository.findAll().get(0);
+        assertEquals(OutboxMessage.Status.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getLastError());
+
+        Thread.sleep(10);
+        assertEquals(0, dispatcher.dispatch());
+
+        message = outboxMessageRepository.findAll().get(0);
+        assertEquals(OutboxMessage.Status.FAILED, message.getStatus());
+        assertEquals(2, message.getAttempts());
+
+        Thread.sleep(10);
+        assertEquals(0, dispatcher.dispatch());
+        assertEquals(2, outboxMessageRepository.findAll().get(0).getAttempts());
+        assertTrue(SMTP_SERVER.getMessages().isEmpty());
+    }
+
+    @Test
+    void testConcurrentDispatchersDeliverEachEmailOnce() throws Exception {
+        int emails = 40;
+        int dispatchers = 4;
+        for (int i = 0; i < emails; i++) {
+            queueConfirmationEmail("user" + i + "@email.com");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(dispatchers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < dispatchers; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return dispatcher.dispatch();
+            }));
+        }
+        start.countDown();
+        int delivered = 0;
+        for (Future<Integer> result : results) {
+            delivered += result.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(emails, delivered);
+        List<LocalSmtpServer.ReceivedMessage> received = SMTP_SERVER.getMessages();
+        assertEquals(emails, received.size());
+        assertEquals(emails, new HashSet<>(received.stream().map(message -> message.recipients().get(0)).toList()).size());
+        assertEquals(emails, outboxMessageRepository.countByStatus(OutboxMessage.Status.SENT));
+    }
+}
@@ -4,21 +4,24 @@ import freemarker.template.Configuration;
 
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
-import jakarta.mail.MessagingException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.onlineshop.entity.OutboxMessage;
 import org.onlineshop.entity.User;
+import org.onlineshop.repository.OutboxMessageRepository;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import jakarta.mail.internet.MimeMessage;
 
 
 import java.io.IOException;
+import java.io.Writer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -35,15 +38,18 @@ class MailUtilCreateConfirmationEmailTest {
     @Mock
     private Template template;
 
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+
     private MailUtil mailUtil;
 
     @BeforeEach
     void setUp() {
-        mailUtil= new MailUtil(mailSender,freeMarkerConfiguration);
+        mailUtil= new MailUtil(mailSender, freeMarkerConfiguration, outboxMessageRepository, null);
     }
 
     @Test
-    void createConfirmationEmailIfOk() throws IOException, TemplateException, MessagingException {
+    void createConfirmationEmailIfOk() throws IOException, TemplateException {
 
         User user = new User();
         user.setUsername("TestUser");
@@ -53,19 +59,21 @@ class MailUtilCreateConfirmationEmailTest {
 
         when(freeMarkerConfiguration.getTemplate("confirm_registration_mail.ftlh")).thenReturn(template);
 
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        doAnswer(invocation -> {
+            Writer writer = invocation.getArgument(1);
+            writer.write(expectedHtml);
+            return null;
+        }).when(template).process(any(), any());
 
         mailUtil.sendConfirmationEmail(user, link);
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender, times(1)).send(messageCaptor.capture());
-
-        MimeMessage sentMessage = messageCaptor.getValue();
-
-        MimeMessageHelper helper = new MimeMessageHelper(sentMessage, "UTF-8");
-        helper.setTo(user.getEmail());
-        helper.setSubject("Code confirmation email");
-        helper.setText(expectedHtml, true);
+        ArgumentCaptor<OutboxMessage> messageCaptor = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxMessageRepository, times(1)).save(messageCaptor.capture());
+
+        OutboxMessage queuedMessage = messageCaptor.getValue();
+        assertEquals(user.getEmail(), queuedMessage.getRecipient());
+        assertEquals("Code confirmation email", queuedMessage.getSubject());
+        assertEquals(expectedHtml, queuedMessage.getBody());
+        assertTrue(queuedMessage.isHtml());
     }
 
 
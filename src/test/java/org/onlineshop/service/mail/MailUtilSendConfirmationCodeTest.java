@@ -2,21 +2,22 @@ package org.onlineshop.service.mail;
 
 import freemarker.template.Configuration;
 import freemarker.template.Template;
-import jakarta.mail.Session;
-import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.onlineshop.entity.OutboxMessage;
 import org.onlineshop.entity.User;
 import org.onlineshop.exception.MailSendingException;
+import org.onlineshop.repository.OutboxMessageRepository;
 import org.springframework.mail.javamail.JavaMailSender;
 
 import java.io.Writer;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -30,15 +31,15 @@ class MailUtilSendConfirmationCodeTest {
     @Mock
     private Configuration freemarkerConfig;
 
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+
     @InjectMocks
     private MailUtil mailUtil;
 
     @Test
     void testSendConfirmationEmail() throws Exception {
 
-        MimeMessage fakeMessage = new MimeMessage((Session) null);
-        when(mailSender.createMimeMessage()).thenReturn(fakeMessage);
-
         Template fakeTemplate = mock(Template.class);
         when(freemarkerConfig.getTemplate(anyString())).thenReturn(fakeTemplate);
 
@@ -57,17 +58,19 @@ class MailUtilSendConfirmationCodeTest {
 
         mailUtil.sendConfirmationEmail(user, link);
 
-        verify(mailSender, times(1)).send(fakeMessage);
+        ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxMessageRepository, times(1)).save(captor.capture());
+        verifyNoInteractions(mailSender);
 
-        String html = (String) fakeMessage.getContent();
-        assert html.contains("https://example.com/confirm?code=123");
+        OutboxMessage message = captor.getValue();
+        assertEquals("test@mail.com", message.getRecipient());
+        assertEquals("Code confirmation email", message.getSubject());
+        assertTrue(message.isHtml());
+        assertTrue(message.getBody().contains("https://example.com/confirm?code=123"));
     }
 
     @Test
     void testSendConfirmationEmailThrowsException() throws Exception {
-        MimeMessage fakeMessage = new MimeMessage((Session) null);
-        when(mailSender.createMimeMessage()).thenReturn(fakeMessage);
-
         MailUtil spyMailUtil = Mockito.spy(mailUtil);
 
         doThrow(new RuntimeException("Template error"))
@@ -84,5 +87,6 @@ class MailUtilSendConfirmationCodeTest {
         assertThrows(MailSendingException.class, () -> {
             spyMailUtil.sendConfirmationEmail(user, link);
         });
+        verifyNoInteractions(outboxMessageRepository);
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package org.onlineshop.service.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.onlineshop.config.MailTransportConfig;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares sending order paid emails one connection per email, as {@link JavaMailSenderImpl#send} does,
+ * with sending them over the pooled sessions of {@link SmtpTransportPool}. Every SMTP reply of the local server
+ * is delayed to simulate the round trip to a remote mail server.
+ * Disabled by default; run with {@code mvn test -Dtest=SmtpTransportPoolBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SmtpTransportPoolBenchmarkTest {
+
+    private static final int MESSAGE_COUNT = 200;
+    private static final Duration REPLY_DELAY = Duration.ofMillis(5);
+
+    @Test
+    void comparePerMessageAndPooledSends() throws Exception {
+        try (LocalSmtpServer smtpServer = new LocalSmtpServer()) {
+            smtpServer.setReplyDelay(REPLY_DELAY);
+            JavaMailSenderImpl mailSender = mailSender(smtpServer.getPort());
+
+            long start = System.nanoTime();
+            for (MimeMessage message : messages(mailSender)) {
+                mailSender.send(message);
+            }
+            report("per message", start, smtpServer);
+
+            for (int poolSize : new int[]{1, 2, 4}) {
+                smtpServer.reset();
+                smtpServer.setReplyDelay(REPLY_DELAY);
+                MailTransportConfig config = new MailTransportConfig();
+                config.setPoolSize(poolSize);
+                SmtpTransportPool pool = new SmtpTransportPool(mailSender, config, new SimpleMeterRegistry());
+                List<MimeMessage> messages = messages(mailSender);
+
+                start = System.nanoTime();
+                assertTrue(pool.send(messages).isEmpty());
+                report("pooled, " + poolSize + " sessions", start, smtpServer);
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static void report(String mode, long startNanos, LocalSmtpServer smtpServer) {
+        long millis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        assertEquals(MESSAGE_COUNT, smtpServer.getMessages().size());
+        log.info("{} emails {}: {} ms, {} emails/s, {} SMTP sessions",
+                MESSAGE_COUNT, mode, millis, MESSAGE_COUNT * 1000L / millis, smtpServer.getConnections());
+    }
+
+    private static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        Properties properties = new Properties();
+        properties.put("mail.smtp.from", "shop@localhost");
+        mailSender.setJavaMailProperties(properties);
+        return mailSender;
+    }
+
+    private static List<MimeMessage> messages(JavaMailSenderImpl mailSender) throws MessagingException {
+        List<MimeMessage> messages = new ArrayList<>(MESSAGE_COUNT);
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setTo("customer" + i + "@email.com");
+            helper.setSubject("Order Payment Confirmation - Order #" + i);
+            helper.setText("Your payment for order #" + i + " has been received.");
+            helper.addAttachment("order_" + i + ".pdf", new ByteArrayResource(new byte[4096]));
+            messages.add(message);
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,122 @@
+package org.onlineshop.service.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onlineshop.config.MailTransportConfig;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmtpTransportPoolSendTest {
+
+    private LocalSmtpServer smtpServer;
+    private JavaMailSenderImpl mailSender;
+    private MailTransportConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private SmtpTransportPool transportPool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtpServer = new LocalSmtpServer();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+        Properties properties = new Properties();
+        properties.put("mail.smtp.from", "shop@localhost");
+        mailSender.setJavaMailProperties(properties);
+        config = new MailTransportConfig();
+        config.setPoolSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (transportPool != null) {
+            transportPool.shutdown();
+        }
+        smtpServer.close();
+    }
+
+    private SmtpTransportPool transportPool() {
+        transportPool = new SmtpTransportPool(mailSender, config, meterRegistry);
+        return transportPool;
+    }
+
+    private List<MimeMessage> messages(String prefix, int count) throws MessagingException {
+        List<MimeMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+            helper.setTo(prefix + i + "@email.com");
+            helper.setSubject("Message " + i);
+            helper.setText("Hello " + i);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    @Test
+    void testBatchesReuseTheSessionsOfThePool() throws Exception {
+        SmtpTransportPool pool = transportPool();
+
+        assertTrue(pool.send(messages("first", 20)).isEmpty());
+        assertTrue(pool.send(messages("second", 20)).isEmpty());
+
+        assertEquals(40, smtpServer.getMessages().size());
+        assertTrue(smtpServer.getConnections() <= 2);
+        assertEquals(40, meterRegistry.get("mail.transport.messages").tag("result", "sent").counter().count());
+        assertEquals(2, meterRegistry.get("mail.transport.batch").timer().count());
+        assertEquals(0, meterRegistry.get("mail.transport.queue.depth").gauge().value());
+    }
+
+    @Test
+    void testRejectedRecipientFailsOnlyItsMessage() throws Exception {
+        smtpServer.rejectRecipients(recipient -> recipient.equals("user3@email.com"));
+        SmtpTransportPool pool = transportPool();
+
+        Map<Integer, Exception> failures = pool.send(messages("user", 6));
+
+        assertEquals(1, failures.size());
+        assertInstanceOf(SendFailedException.class, failures.get(3));
+        assertEquals(5, smtpServer.getMessages().size());
+        assertEquals(1, meterRegistry.get("mail.transport.messages").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void testDroppedSessionsAreReopened() throws Exception {
+        SmtpTransportPool pool = transportPool();
+        assertTrue(pool.send(messages("before", 4)).isEmpty());
+        int connections = smtpServer.getConnections();
+
+        smtpServer.dropConnections();
+
+        assertTrue(pool.send(messages("after", 4)).isEmpty());
+        assertEquals(8, smtpServer.getMessages().size());
+        assertTrue(smtpServer.getConnections() > connections);
+    }
+
+    @Test
+    void testSessionIsReopenedAfterMaxMessages() throws Exception {
+        config.setPoolSize(1);
+        config.setMaxMessagesPerSession(3);
+        SmtpTransportPool pool = transportPool();
+
+        assertTrue(pool.send(messages("user", 7)).isEmpty());
+
+        assertEquals(7, smtpServer.getMessages().size());
+        assertEquals(3, smtpServer.getConnections());
+        assertEquals(3, meterRegistry.get("mail.transport.connections").counter().count());
+    }
+}
@@ -1,14 +1,16 @@
 package org.onlineshop.service.util;
 
-import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.onlineshop.entity.Order;
+import org.onlineshop.entity.OutboxMessage;
 import org.onlineshop.entity.User;
 import org.onlineshop.exception.MailSendingException;
+import org.onlineshop.repository.OutboxMessageRepository;
 import org.onlineshop.service.mail.MailUtil;
 import org.springframework.mail.javamail.JavaMailSender;
 
@@ -23,7 +25,7 @@ class MailUtilSendOrderPaidTest {
     private JavaMailSender mailSender;
 
     @Mock
-    private MimeMessage mimeMessage;
+    private OutboxMessageRepository outboxMessageRepository;
 
     private MailUtil mailUtil;
 
@@ -33,7 +35,7 @@ class MailUtilSendOrderPaidTest {
 
     @BeforeEach
     void setUp() {
-        mailUtil = new MailUtil(mailSender, null);
+        mailUtil = new MailUtil(mailSender, null, outboxMessageRepository, null);
 
         testUser = new User();
         testUser.setUsername("testuser");
@@ -49,12 +51,10 @@ class MailUtilSendOrderPaidTest {
 
     @Test
     void testSendOrderPaidEmailSuccess() {
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         mailUtil.sendOrderPaidEmail(testUser, testOrder, testPdfBytes);
 
-        verify(mailSender).createMimeMessage();
-        verify(mailSender).send(mimeMessage);
+        verify(outboxMessageRepository).save(any(OutboxMessage.class));
+        verifyNoInteractions(mailSender);
     }
 
     @Test
@@ -77,45 +77,46 @@ class MailUtilSendOrderPaidTest {
 
     @Test
     void testSendOrderPaidEmailWhenEmptyPdfBytes() {
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
         byte[] emptyBytes = new byte[0];
 
         mailUtil.sendOrderPaidEmail(testUser, testOrder, emptyBytes);
 
-        verify(mailSender).createMimeMessage();
-        verify(mailSender).send(mimeMessage);
+        verify(outboxMessageRepository).save(any(OutboxMessage.class));
     }
 
     @Test
-    void testSendOrderPaidEmailWhenMailSendingFails() {
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-        doThrow(new RuntimeException("SMTP error")).when(mailSender).send(any(MimeMessage.class));
+    void testSendOrderPaidEmailWhenQueuingFails() {
+        when(outboxMessageRepository.save(any(OutboxMessage.class))).thenThrow(new RuntimeException("DB error"));
 
         MailSendingException exception = assertThrows(MailSendingException.class,
                 () -> mailUtil.sendOrderPaidEmail(testUser, testOrder, testPdfBytes));
 
         assertTrue(exception.getMessage().contains("Error sending order payment email"));
-        assertTrue(exception.getMessage().contains("SMTP error"));
+        assertTrue(exception.getMessage().contains("DB error"));
     }
 
     @Test
     void testSendOrderPaidEmailWhenExistSpecialCharactersInAddress() {
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
         testOrder.setDeliveryAddress("Dresden");
 
         mailUtil.sendOrderPaidEmail(testUser, testOrder, testPdfBytes);
 
-        verify(mailSender).createMimeMessage();
-        verify(mailSender).send(mimeMessage);
+        verify(outboxMessageRepository).save(any(OutboxMessage.class));
     }
 
     @Test
     void testSendOrderPaidEmailVerifyEmailStructure() {
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         mailUtil.sendOrderPaidEmail(testUser, testOrder, testPdfBytes);
 
-        verify(mailSender).createMimeMessage();
-        verify(mailSender).send(mimeMessage);
+        ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxMessageRepository).save(captor.capture());
+        OutboxMessage message = captor.getValue();
+        assertEquals("test@example.com", message.getRecipient());
+        assertEquals("Order Payment Confirmation - Order #12345", message.getSubject());
+        assertTrue(message.getBody().contains("Delivery address: Dresden"));
+        assertFalse(message.isHtml());
+        assertEquals("order_12345.pdf", message.getAttachmentName());
+        assertArrayEquals(testPdfBytes, message.getAttachment());
+        assertEquals(OutboxMessage.Status.PENDING, message.getStatus());
     }
 }
\ No newline at end of file